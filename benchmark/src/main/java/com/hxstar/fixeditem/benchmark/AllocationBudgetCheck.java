@@ -0,0 +1,139 @@
+package com.hxstar.fixeditem.benchmark;
+
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.listener.ItemProtectionListener;
+import com.hxstar.fixeditem.listener.PlayerEventListener;
+import com.hxstar.fixeditem.model.FixedItemData;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryMoveItemEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存分配预算检查
+ * 通过 ThreadMXBean 的线程分配计数测量稳态路径每次调用分配的字节数，
+ * 与 allocation-budgets.properties 中的预算比较，超出任意一项时以非零状态退出，使构建失败。
+ * 事件对象只创建一次并重复传给监听器，测量结果只包含插件自身的分配
+ */
+public class AllocationBudgetCheck {
+
+    private static final int WARMUP_CALLS = 50_000;
+    private static final int MEASURED_CALLS = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!bean.isThreadAllocatedMemorySupported()) {
+            System.out.println("当前虚拟机不支持线程内存分配统计，跳过检查");
+            return;
+        }
+        bean.setThreadAllocatedMemoryEnabled(true);
+
+        Properties budgets = loadBudgets();
+        BenchmarkEnvironment environment = BenchmarkEnvironment.start();
+        List<String> violations = new ArrayList<>();
+
+        try {
+            Map<String, Runnable> paths = createPaths(environment);
+            for (Map.Entry<String, Runnable> entry : paths.entrySet()) {
+                String name = entry.getKey();
+                long bytesPerCall = measure(bean, entry.getValue());
+                long budget = Long.parseLong(budgets.getProperty(name, "0").trim());
+
+                boolean passed = bytesPerCall <= budget;
+                System.out.printf("%-28s %8d B/次  预算 %8d B  %s%n", name, bytesPerCall, budget, passed ? "通过" : "超出");
+                if (!passed) {
+                    violations.add(name);
+                }
+            }
+        } finally {
+            environment.stop();
+        }
+
+        if (!violations.isEmpty()) {
+            System.err.println("以下路径超出内存分配预算: " + violations);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 构建需要检查的稳态路径
+     */
+    private static Map<String, Runnable> createPaths(BenchmarkEnvironment environment) {
+        HxFixedItem plugin = environment.getPlugin();
+        PlayerMock player = environment.getPlayer();
+        ItemProtectionListener protectionListener = new ItemProtectionListener(plugin);
+        PlayerEventListener playerListener = new PlayerEventListener(plugin);
+        FixedItemData itemData = environment.item(BenchmarkEnvironment.MENU_ITEM);
+
+        Map<String, Runnable> paths = new LinkedHashMap<>();
+
+        // 背包已正确时的定时检查
+        paths.put("restore-correct-inventory", () -> plugin.getFixedItemManager().checkAndRestoreItems(player));
+
+        // 漏斗传输普通物品
+        Inventory source = Bukkit.createInventory(null, InventoryType.HOPPER);
+        Inventory destination = Bukkit.createInventory(null, InventoryType.HOPPER);
+        InventoryMoveItemEvent moveEvent = new InventoryMoveItemEvent(source, new ItemStack(Material.COBBLESTONE), destination, true);
+        paths.put("hopper-move-plain", () -> protectionListener.onInventoryMoveItem(moveEvent));
+
+        // 点击主背包中的普通物品（原始槽位 20 对应背包槽位 20，不是固定槽位）
+        player.getInventory().setItem(20, new ItemStack(Material.STONE));
+        InventoryClickEvent clickEvent = new InventoryClickEvent(player.getOpenInventory(),
+                InventoryType.SlotType.CONTAINER, 20, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        paths.put("inventory-click-plain", () -> protectionListener.onInventoryClick(clickEvent));
+
+        // 冷却中右键使用固定物品
+        ItemStack fixedItem = player.getInventory().getItem(itemData.getSlot());
+        plugin.getCooldownManager().setCooldown(player, itemData.getCooldownKey(false), TimeUnit.HOURS.toMillis(1));
+        PlayerInteractEvent interactEvent = new PlayerInteractEvent(player, Action.RIGHT_CLICK_AIR, fixedItem, null, BlockFace.SELF);
+        paths.put("cooldown-rejected-click", () -> playerListener.onPlayerInteract(interactEvent));
+
+        return paths;
+    }
+
+    /**
+     * 预热后测量每次调用分配的字节数
+     */
+    private static long measure(com.sun.management.ThreadMXBean bean, Runnable path) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            path.run();
+        }
+
+        long before = bean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            path.run();
+        }
+        long after = bean.getCurrentThreadAllocatedBytes();
+        return (after - before) / MEASURED_CALLS;
+    }
+
+    private static Properties loadBudgets() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream input = AllocationBudgetCheck.class.getResourceAsStream("/allocation-budgets.properties")) {
+            if (input == null) {
+                throw new IOException("找不到 allocation-budgets.properties");
+            }
+            properties.load(input);
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,110 @@
+package com.hxstar.fixeditem.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.model.FixedItemData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基准测试运行环境
+ * 使用 MockBukkit 启动模拟服务器并加载插件（使用插件自带的默认配置）
+ */
+public class BenchmarkEnvironment {
+
+    // 默认配置中启用的世界
+    public static final String ENABLED_WORLD = "world";
+
+    // 默认配置中的菜单物品（右键有动作与冷却）
+    public static final String MENU_ITEM = "menu";
+
+    private final ServerMock server;
+    private final HxFixedItem plugin;
+    private final WorldMock world;
+    private final List<PlayerMock> players;
+
+    private BenchmarkEnvironment(ServerMock server, HxFixedItem plugin, WorldMock world, List<PlayerMock> players) {
+        this.server = server;
+        this.plugin = plugin;
+        this.world = world;
+        this.players = players;
+    }
+
+    /**
+     * 启动模拟服务器、加载插件并加入一名玩家
+     */
+    public static BenchmarkEnvironment start() {
+        return start(1);
+    }
+
+    /**
+     * 启动模拟服务器、加载插件并加入多名已拿到全部固定物品的玩家
+     *
+     * @param playerCount 玩家数量
+     */
+    public static BenchmarkEnvironment start(int playerCount) {
+        ServerMock server = MockBukkit.mock();
+        WorldMock world = server.addSimpleWorld(ENABLED_WORLD);
+        HxFixedItem plugin = MockBukkit.load(HxFixedItem.class);
+
+        List<PlayerMock> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            PlayerMock player = server.addPlayer("bench" + i);
+            player.teleport(world.getSpawnLocation());
+            players.add(player);
+        }
+
+        // 处理进服队列，并直接补齐所有玩家的固定物品
+        server.getScheduler().performTicks(20L);
+        for (PlayerMock player : players) {
+            plugin.getFixedItemManager().giveFixedItems(player);
+        }
+        return new BenchmarkEnvironment(server, plugin, world, Collections.unmodifiableList(players));
+    }
+
+    /**
+     * 关闭模拟服务器
+     */
+    public void stop() {
+        MockBukkit.unmock();
+    }
+
+    /**
+     * 按ID获取默认配置中的固定物品
+     *
+     * @param itemId 物品ID
+     * @throws IllegalStateException 默认配置中没有该物品
+     */
+    public FixedItemData item(String itemId) {
+        FixedItemData itemData = plugin.getConfigManager().getFixedItemData(itemId);
+        if (itemData == null) {
+            throw new IllegalStateException("默认配置中没有固定物品 " + itemId);
+        }
+        return itemData;
+    }
+
+    public ServerMock getServer() {
+        return server;
+    }
+
+    public HxFixedItem getPlugin() {
+        return plugin;
+    }
+
+    public WorldMock getWorld() {
+        return world;
+    }
+
+    public PlayerMock getPlayer() {
+        return players.get(0);
+    }
+
+    public List<PlayerMock> getPlayers() {
+        return players;
+    }
+}
@@ -0,0 +1,69 @@
+package com.hxstar.fixeditem.benchmark;
+
+import com.hxstar.fixeditem.manager.CooldownManager;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 冷却的查询与设置
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CooldownBenchmark {
+
+    private static final String ACTIVE_KEY = "menu_right";
+    private static final String MISSING_KEY = "menu_left";
+
+    private BenchmarkEnvironment environment;
+    private CooldownManager cooldownManager;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        environment = BenchmarkEnvironment.start();
+        cooldownManager = environment.getPlugin().getCooldownManager();
+        player = environment.getPlayer();
+        cooldownManager.setCooldown(player, ACTIVE_KEY, TimeUnit.HOURS.toMillis(1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.stop();
+    }
+
+    @Benchmark
+    public boolean isOnCooldownHit() {
+        return cooldownManager.isOnCooldown(player, ACTIVE_KEY);
+    }
+
+    @Benchmark
+    public boolean isOnCooldownMiss() {
+        return cooldownManager.isOnCooldown(player, MISSING_KEY);
+    }
+
+    @Benchmark
+    public long getRemainingCooldown() {
+        return cooldownManager.getRemainingCooldown(player, ACTIVE_KEY);
+    }
+
+    @Benchmark
+    public void setCooldown() {
+        cooldownManager.setCooldown(player, ACTIVE_KEY, TimeUnit.HOURS.toMillis(1));
+    }
+}
@@ -0,0 +1,85 @@
+package com.hxstar.fixeditem.benchmark;
+
+import com.hxstar.fixeditem.manager.FixedItemManager;
+import com.hxstar.fixeditem.model.FixedItemData;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 固定物品的创建与识别
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedItemBenchmark {
+
+    private BenchmarkEnvironment environment;
+    private FixedItemManager fixedItemManager;
+    private FixedItemData itemData;
+
+    private ItemStack fixedItem;
+    private ItemStack plainItem;
+    private int[] stamps;
+
+    @Setup
+    public void setup() {
+        environment = BenchmarkEnvironment.start();
+        fixedItemManager = environment.getPlugin().getFixedItemManager();
+        itemData = environment.item(BenchmarkEnvironment.MENU_ITEM);
+
+        fixedItem = fixedItemManager.createFixedItem(itemData, environment.getPlayer());
+        plainItem = new ItemStack(itemData.getMaterial());
+        stamps = new int[1];
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.stop();
+    }
+
+    @Benchmark
+    public ItemStack createFixedItem() {
+        return fixedItemManager.createFixedItem(itemData, environment.getPlayer());
+    }
+
+    @Benchmark
+    public boolean isFixedItemHit() {
+        return fixedItemManager.isFixedItem(fixedItem);
+    }
+
+    @Benchmark
+    public boolean isFixedItemMiss() {
+        return fixedItemManager.isFixedItem(plainItem);
+    }
+
+    @Benchmark
+    public boolean isFixedMaterialMiss() {
+        return fixedItemManager.isFixedMaterial(new ItemStack(Material.DIRT));
+    }
+
+    @Benchmark
+    public String getFixedItemId() {
+        return fixedItemManager.getFixedItemId(fixedItem);
+    }
+
+    @Benchmark
+    public String getFixedItemIdWithStamp() {
+        return fixedItemManager.getFixedItemId(fixedItem, stamps, 0);
+    }
+}
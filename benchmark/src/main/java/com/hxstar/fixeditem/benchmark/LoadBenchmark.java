@@ -0,0 +1,194 @@
+package com.hxstar.fixeditem.benchmark;
+
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.Material;
+import org.bukkit.block.BlockFace;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerItemHeldEvent;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.PluginManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 模拟多名玩家的负载测试
+ * 每次调用代表一个服务器 tick：所有在线玩家各触发一次对应事件，再推进调度器一个 tick。
+ * 结果中的耗时即每 tick 成本，配合 -prof gc 的 gc.alloc.rate.norm 即每 tick 分配量；
+ * 按 players 参数排列即为扩展曲线
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({"50", "100", "200", "400"})
+    public int players;
+
+    private BenchmarkEnvironment environment;
+    private ServerMock server;
+    private PluginManager pluginManager;
+    private List<PlayerMock> playerList;
+    private WorldMock enabledWorld;
+    private WorldMock disabledWorld;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        environment = BenchmarkEnvironment.start(players);
+        server = environment.getServer();
+        pluginManager = server.getPluginManager();
+        playerList = environment.getPlayers();
+        enabledWorld = environment.getWorld();
+        disabledWorld = server.addSimpleWorld("load_disabled");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.stop();
+    }
+
+    /**
+     * 滚动快捷栏
+     */
+    @Benchmark
+    public void hotbarScroll() {
+        int next = tick % 9;
+        int previous = (next + 8) % 9;
+        for (PlayerMock player : playerList) {
+            pluginManager.callEvent(new PlayerItemHeldEvent(player, previous, next));
+            player.getInventory().setHeldItemSlot(next);
+        }
+        advance();
+    }
+
+    /**
+     * 连续点击背包（依次点击所有原始槽位，包含固定槽位）
+     */
+    @Benchmark
+    public void clickSpam() {
+        int rawSlot = tick % 46;
+        for (PlayerMock player : playerList) {
+            player.simulateInventoryClick(player.getOpenInventory(), ClickType.LEFT, rawSlot);
+        }
+        advance();
+    }
+
+    /**
+     * 拖拽物品经过快捷栏（包含固定槽位）
+     */
+    @Benchmark
+    public void drag() {
+        ItemStack cursor = new ItemStack(Material.STONE, 9);
+        for (PlayerMock player : playerList) {
+            InventoryView view = player.getOpenInventory();
+            Map<Integer, ItemStack> slots = Collections.singletonMap(36 + tick % 9, new ItemStack(Material.STONE));
+            pluginManager.callEvent(new InventoryDragEvent(view, null, cursor, false, slots));
+        }
+        advance();
+    }
+
+    /**
+     * 右键使用固定物品（大部分会被冷却拒绝）
+     */
+    @Benchmark
+    public void interact() {
+        for (PlayerMock player : playerList) {
+            ItemStack item = player.getInventory().getItem(4);
+            pluginManager.callEvent(new PlayerInteractEvent(player, Action.RIGHT_CLICK_AIR, item, null, BlockFace.SELF));
+        }
+        advance();
+    }
+
+    /**
+     * 死亡并复活
+     */
+    @Benchmark
+    public void deathAndRespawn() {
+        for (PlayerMock player : playerList) {
+            player.setHealth(0);
+            player.respawn();
+        }
+        server.getScheduler().performTicks(6L);
+        tick++;
+    }
+
+    /**
+     * 在启用与未启用固定物品的世界之间来回切换
+     */
+    @Benchmark
+    public void worldChange() {
+        WorldMock target = tick % 2 == 0 ? disabledWorld : enabledWorld;
+        for (PlayerMock player : playerList) {
+            player.teleport(target.getSpawnLocation());
+        }
+        server.getScheduler().performTicks(6L);
+        tick++;
+    }
+
+    /**
+     * 混合事件：每名玩家按编号轮流触发不同事件
+     */
+    @Benchmark
+    public void mixed() {
+        int next = tick % 9;
+        int previous = (next + 8) % 9;
+        for (int i = 0; i < playerList.size(); i++) {
+            PlayerMock player = playerList.get(i);
+            switch ((i + tick) % 3) {
+                case 0:
+                    pluginManager.callEvent(new PlayerItemHeldEvent(player, previous, next));
+                    break;
+                case 1:
+                    player.simulateInventoryClick(player.getOpenInventory(), ClickType.LEFT, 36 + next);
+                    break;
+                default:
+                    ItemStack item = player.getInventory().getItem(4);
+                    pluginManager.callEvent(new PlayerInteractEvent(player, Action.RIGHT_CLICK_AIR, item, null, BlockFace.SELF));
+                    break;
+            }
+        }
+        advance();
+    }
+
+    /**
+     * 重载配置，并推进到分批刷新完成
+     */
+    @Benchmark
+    public void reload() {
+        environment.getPlugin().reload();
+        while (environment.getPlugin().getRolloutManager().getQueuedPlayerCount() > 0) {
+            server.getScheduler().performOneTick();
+        }
+        tick++;
+    }
+
+    private void advance() {
+        server.getScheduler().performOneTick();
+        tick++;
+    }
+}
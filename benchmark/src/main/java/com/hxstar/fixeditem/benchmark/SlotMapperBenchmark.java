@@ -0,0 +1,66 @@
+package com.hxstar.fixeditem.benchmark;
+
+import com.hxstar.fixeditem.util.SlotMapper;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.InventoryView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 原始槽位到玩家背包槽位的转换（原 convertRawSlotToInventorySlot）
+ * 每次调用遍历界面上的全部原始槽位
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotMapperBenchmark {
+
+    private BenchmarkEnvironment environment;
+    private InventoryView craftingView;
+    private InventoryView chestView;
+
+    @Setup
+    public void setup() {
+        environment = BenchmarkEnvironment.start();
+        craftingView = environment.getPlayer().getOpenInventory();
+        chestView = environment.getPlayer().openInventory(Bukkit.createInventory(null, 54));
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.stop();
+    }
+
+    @Benchmark
+    public int craftingView() {
+        return mapAll(craftingView, 46);
+    }
+
+    @Benchmark
+    public int chestView() {
+        return mapAll(chestView, 90);
+    }
+
+    private static int mapAll(InventoryView view, int rawSlots) {
+        int[] table = SlotMapper.getTable(view);
+        int sum = 0;
+        for (int rawSlot = 0; rawSlot < rawSlots; rawSlot++) {
+            sum += SlotMapper.toPlayerSlot(table, rawSlot);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,80 @@
+package com.hxstar.fixeditem.benchmark;
+
+import com.hxstar.fixeditem.util.ColorUtil;
+import com.hxstar.fixeditem.util.PlaceholderUtil;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 颜色解析与命令模板替换
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextBenchmark {
+
+    private static final String LEGACY_TEXT = "&6✦ &e服务器菜单 &7- &a右键打开";
+    private static final String HEX_TEXT = "&#FFD700✦ &#FFAA00服务器菜单 &7- &#55FF55右键打开";
+    private static final String PLAIN_TEXT = "服务器菜单 Server Menu";
+    private static final String COMMAND = "tp {player} {x} {y} {z} && say {player}({uuid}) in {world}";
+
+    private BenchmarkEnvironment environment;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        environment = BenchmarkEnvironment.start();
+        player = environment.getPlayer();
+    }
+
+    @TearDown
+    public void tearDown() {
+        environment.stop();
+    }
+
+    @Benchmark
+    public String colorizeLegacy() {
+        return ColorUtil.colorize(LEGACY_TEXT);
+    }
+
+    @Benchmark
+    public String colorizeHex() {
+        return ColorUtil.colorize(HEX_TEXT);
+    }
+
+    @Benchmark
+    public String colorizePlain() {
+        return ColorUtil.colorize(PLAIN_TEXT);
+    }
+
+    @Benchmark
+    public String gradient() {
+        return ColorUtil.gradient(PLAIN_TEXT, "FFD700", "FF5555");
+    }
+
+    @Benchmark
+    public String rainbow() {
+        return ColorUtil.rainbow(PLAIN_TEXT);
+    }
+
+    @Benchmark
+    public String commandTemplate() {
+        String command = PlaceholderUtil.applyBuiltinPlaceholders(player, COMMAND);
+        return PlaceholderUtil.parsePlaceholders(player, command);
+    }
+}
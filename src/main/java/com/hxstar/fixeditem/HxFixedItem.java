@@ -3,10 +3,27 @@ package com.hxstar.fixeditem;
 import com.hxstar.fixeditem.command.CommandHandler;
 import com.hxstar.fixeditem.listener.ItemProtectionListener;
 import com.hxstar.fixeditem.listener.PlayerEventListener;
+import com.hxstar.fixeditem.manager.ActionManager;
+import com.hxstar.fixeditem.manager.AnimationManager;
+import com.hxstar.fixeditem.manager.AuditLog;
 import com.hxstar.fixeditem.manager.ConfigManager;
 import com.hxstar.fixeditem.manager.CooldownManager;
+import com.hxstar.fixeditem.manager.DebugJournal;
 import com.hxstar.fixeditem.manager.FixedItemManager;
 import com.hxstar.fixeditem.manager.LanguageManager;
+import com.hxstar.fixeditem.manager.LoreRefreshManager;
+import com.hxstar.fixeditem.manager.MenuManager;
+import com.hxstar.fixeditem.manager.MetricsExporter;
+import com.hxstar.fixeditem.manager.MetricsManager;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
+import com.hxstar.fixeditem.manager.NotificationManager;
+import com.hxstar.fixeditem.manager.OverrideManager;
+import com.hxstar.fixeditem.manager.PlaceholderCache;
+import com.hxstar.fixeditem.manager.PreparationManager;
+import com.hxstar.fixeditem.manager.RolloutManager;
+import com.hxstar.fixeditem.manager.SyncManager;
+import com.hxstar.fixeditem.model.RolloutJob;
+import com.hxstar.fixeditem.util.ColorUtil;
 import com.hxstar.fixeditem.util.PlaceholderUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -24,23 +41,58 @@ public class HxFixedItem extends JavaPlugin {
     private LanguageManager languageManager;
     private FixedItemManager fixedItemManager;
     private CooldownManager cooldownManager;
+    private NotificationManager notificationManager;
+    private PreparationManager preparationManager;
+    private RolloutManager rolloutManager;
+    private MetricsManager metricsManager;
+    private MetricsExporter metricsExporter;
+    private DebugJournal debugJournal;
+    private AuditLog auditLog;
+    private AnimationManager animationManager;
+    private PlaceholderCache placeholderCache;
+    private LoreRefreshManager loreRefreshManager;
+    private OverrideManager overrideManager;
+    private SyncManager syncManager;
+    private ActionManager actionManager;
+    private MenuManager menuManager;
 
     @Override
     public void onEnable() {
         instance = this;
 
         // 初始化管理器
+        this.metricsManager = new MetricsManager(this);
         this.configManager = new ConfigManager(this);
         this.languageManager = new LanguageManager(this);
         this.fixedItemManager = new FixedItemManager(this);
         this.cooldownManager = new CooldownManager(this);
+        this.notificationManager = new NotificationManager(this);
+        this.preparationManager = new PreparationManager(this);
+        this.rolloutManager = new RolloutManager(this);
+        this.metricsExporter = new MetricsExporter(this);
+        this.debugJournal = new DebugJournal(this);
+        this.auditLog = new AuditLog(this);
+        this.animationManager = new AnimationManager(this);
+        this.placeholderCache = new PlaceholderCache(this);
+        this.loreRefreshManager = new LoreRefreshManager(this);
+        this.overrideManager = new OverrideManager(this);
+        this.syncManager = new SyncManager(this);
+        this.actionManager = new ActionManager(this);
+        this.menuManager = new MenuManager(this);
 
         // 加载配置
         configManager.loadConfig();
         languageManager.loadLanguage();
+        notificationManager.reload();
+        metricsManager.reload();
+        debugJournal.start();
+        auditLog.start();
+        overrideManager.start();
+        syncManager.start();
+        menuManager.reload();
 
         // 初始化 PlaceholderAPI
-        PlaceholderUtil.init();
+        PlaceholderUtil.init(metricsManager, placeholderCache);
 
         // 注册监听器
         registerListeners();
@@ -50,11 +102,14 @@ public class HxFixedItem extends JavaPlugin {
 
         // 启动定时检查任务
         startCheckTask();
+        rolloutManager.start();
+        metricsExporter.start();
+        animationManager.start();
+        loreRefreshManager.start();
+        actionManager.start();
 
-        // 给所有在线玩家补充固定物品
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            fixedItemManager.giveFixedItems(player);
-        }
+        // 给所有在线玩家补充固定物品（分批处理）
+        rolloutManager.submit("enable", RolloutJob.Operation.GIVE, null, Bukkit.getOnlinePlayers());
 
         // 输出启动信息
         printStartupMessage();
@@ -64,6 +119,24 @@ public class HxFixedItem extends JavaPlugin {
     public void onDisable() {
         // 取消所有任务
         Bukkit.getScheduler().cancelTasks(this);
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+        if (debugJournal != null) {
+            debugJournal.stop();
+        }
+        if (auditLog != null) {
+            auditLog.stop();
+        }
+        if (syncManager != null) {
+            syncManager.stop();
+        }
+        if (overrideManager != null) {
+            overrideManager.stop();
+        }
+        if (actionManager != null) {
+            actionManager.stop();
+        }
 
         getLogger().info("HxFixedItem 插件已卸载！");
     }
@@ -92,8 +165,13 @@ public class HxFixedItem extends JavaPlugin {
         int interval = configManager.getCheckInterval();
         if (interval > 0) {
             Bukkit.getScheduler().runTaskTimer(this, () -> {
-                for (Player player : Bukkit.getOnlinePlayers()) {
-                    fixedItemManager.checkAndRestoreItems(player);
+                long start = metricsManager.start(Metric.CHECK_TASK);
+                try {
+                    for (Player player : Bukkit.getOnlinePlayers()) {
+                        fixedItemManager.checkAndRestoreItems(player);
+                    }
+                } finally {
+                    metricsManager.stop(Metric.CHECK_TASK, start);
                 }
             }, interval * 20L, interval * 20L);
         }
@@ -123,19 +201,36 @@ public class HxFixedItem extends JavaPlugin {
      * 重载插件
      */
     public void reload() {
-        // 取消所有任务
-        Bukkit.getScheduler().cancelTasks(this);
+        long start = metricsManager.start(Metric.RELOAD);
+        try {
+            // 取消所有任务
+            Bukkit.getScheduler().cancelTasks(this);
 
-        // 重新加载配置
-        configManager.loadConfig();
-        languageManager.loadLanguage();
+            // 重新加载配置
+            ColorUtil.clearCache();
+            placeholderCache.clear();
+            configManager.loadConfig();
+            languageManager.loadLanguage();
+            notificationManager.reload();
+            metricsManager.reload();
+            debugJournal.start();
+            auditLog.start();
+            syncManager.start();
+            menuManager.reload();
+            preparationManager.clear();
 
-        // 重新启动定时检查任务
-        startCheckTask();
+            // 重新启动定时检查任务
+            startCheckTask();
+            rolloutManager.start();
+            metricsExporter.start();
+            animationManager.start();
+            loreRefreshManager.start();
+            actionManager.start();
 
-        // 刷新所有在线玩家的固定物品
-        for (Player player : Bukkit.getOnlinePlayers()) {
-            fixedItemManager.refreshFixedItems(player);
+            // 刷新所有在线玩家的固定物品（分批处理）
+            rolloutManager.submit("reload", RolloutJob.Operation.REFRESH, null, Bukkit.getOnlinePlayers());
+        } finally {
+            metricsManager.stop(Metric.RELOAD, start);
         }
     }
 
@@ -158,4 +253,60 @@ public class HxFixedItem extends JavaPlugin {
     public CooldownManager getCooldownManager() {
         return cooldownManager;
     }
+
+    public NotificationManager getNotificationManager() {
+        return notificationManager;
+    }
+
+    public PreparationManager getPreparationManager() {
+        return preparationManager;
+    }
+
+    public RolloutManager getRolloutManager() {
+        return rolloutManager;
+    }
+
+    public MetricsManager getMetricsManager() {
+        return metricsManager;
+    }
+
+    public MetricsExporter getMetricsExporter() {
+        return metricsExporter;
+    }
+
+    public DebugJournal getDebugJournal() {
+        return debugJournal;
+    }
+
+    public AuditLog getAuditLog() {
+        return auditLog;
+    }
+
+    public AnimationManager getAnimationManager() {
+        return animationManager;
+    }
+
+    public PlaceholderCache getPlaceholderCache() {
+        return placeholderCache;
+    }
+
+    public LoreRefreshManager getLoreRefreshManager() {
+        return loreRefreshManager;
+    }
+
+    public OverrideManager getOverrideManager() {
+        return overrideManager;
+    }
+
+    public SyncManager getSyncManager() {
+        return syncManager;
+    }
+
+    public ActionManager getActionManager() {
+        return actionManager;
+    }
+
+    public MenuManager getMenuManager() {
+        return menuManager;
+    }
 }
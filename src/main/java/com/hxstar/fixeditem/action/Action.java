@@ -0,0 +1,152 @@
+package com.hxstar.fixeditem.action;
+
+import org.bukkit.Sound;
+
+/**
+ * 点击动作
+ * 在加载配置时解析完成，执行时不再解析文本：
+ * - 消息类文本已着色，不含占位符的文本直接发送
+ * - 音效已解析为枚举，标题已拆分为各个部分
+ */
+public final class Action {
+
+    /**
+     * 动作类型
+     */
+    public enum Type {
+        MESSAGE("message"),
+        ACTIONBAR("actionbar"),
+        TITLE("title"),
+        SOUND("sound"),
+        CONSOLE("console"),
+        PLAYER("player"),
+        DELAY("delay"),
+        CLOSE("close"),
+        MENU("menu");
+
+        private final String tag;
+
+        Type(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private final Type type;
+    private final String source;
+
+    // 文本（消息、动作栏、标题、命令）
+    private final String text;
+    private final String subtitle;
+    private final boolean dynamic;
+
+    // 标题时间（tick）
+    private final int fadeIn;
+    private final int stay;
+    private final int fadeOut;
+
+    // 音效
+    private final Sound sound;
+    private final float volume;
+    private final float pitch;
+
+    // 延迟（tick）
+    private final int delay;
+
+    private Action(Type type, String source, String text, String subtitle, int fadeIn, int stay, int fadeOut,
+                   Sound sound, float volume, float pitch, int delay) {
+        this.type = type;
+        this.source = source;
+        this.text = text;
+        this.subtitle = subtitle;
+        this.dynamic = hasPlaceholders(text) || hasPlaceholders(subtitle);
+        this.fadeIn = fadeIn;
+        this.stay = stay;
+        this.fadeOut = fadeOut;
+        this.sound = sound;
+        this.volume = volume;
+        this.pitch = pitch;
+        this.delay = delay;
+    }
+
+    static Action text(Type type, String source, String text) {
+        return new Action(type, source, text, null, 0, 0, 0, null, 0f, 0f, 0);
+    }
+
+    static Action title(String source, String title, String subtitle, int fadeIn, int stay, int fadeOut) {
+        return new Action(Type.TITLE, source, title, subtitle, fadeIn, stay, fadeOut, null, 0f, 0f, 0);
+    }
+
+    static Action sound(String source, Sound sound, float volume, float pitch) {
+        return new Action(Type.SOUND, source, null, null, 0, 0, 0, sound, volume, pitch, 0);
+    }
+
+    static Action delay(String source, int ticks) {
+        return new Action(Type.DELAY, source, null, null, 0, 0, 0, null, 0f, 0f, ticks);
+    }
+
+    static Action close(String source) {
+        return new Action(Type.CLOSE, source, null, null, 0, 0, 0, null, 0f, 0f, 0);
+    }
+
+    private static boolean hasPlaceholders(String text) {
+        return text != null && (text.indexOf('{') >= 0 || text.indexOf('%') >= 0);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * 配置中的原始文本
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getSubtitle() {
+        return subtitle;
+    }
+
+    /**
+     * 文本是否含有占位符（需要在执行时替换）
+     */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    public int getFadeIn() {
+        return fadeIn;
+    }
+
+    public int getStay() {
+        return stay;
+    }
+
+    public int getFadeOut() {
+        return fadeOut;
+    }
+
+    public Sound getSound() {
+        return sound;
+    }
+
+    public float getVolume() {
+        return volume;
+    }
+
+    public float getPitch() {
+        return pitch;
+    }
+
+    public int getDelay() {
+        return delay;
+    }
+}
@@ -0,0 +1,20 @@
+package com.hxstar.fixeditem.action;
+
+import org.bukkit.entity.Player;
+
+/**
+ * 动作处理器
+ * 每种动作类型对应一个处理器，由 ActionManager 按类型查表调用
+ */
+@FunctionalInterface
+public interface ActionHandler {
+
+    /**
+     * 执行动作
+     *
+     * @param player 玩家
+     * @param action 动作
+     * @param text   已替换占位符的文本（没有文本的动作为null）
+     */
+    void handle(Player player, Action action, String text);
+}
@@ -0,0 +1,169 @@
+package com.hxstar.fixeditem.action;
+
+import com.hxstar.fixeditem.action.Action.Type;
+import com.hxstar.fixeditem.util.ColorUtil;
+import org.bukkit.Sound;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * 动作解析器
+ * 每行一个动作，以 [类型] 开头，没有类型标签的行按命令处理：
+ * <pre>
+ * [message] &amp;a欢迎 {player}          发送聊天消息
+ * [actionbar] &amp;e动作栏文本             发送动作栏消息
+ * [title] 主标题;副标题;10;40;10        发送标题（副标题与时间可省略）
+ * [sound] UI_BUTTON_CLICK 1.0 1.2      播放音效（音量与音调可省略）
+ * [console] give {player} diamond 1    以控制台身份执行命令
+ * [player] spawn                       以玩家身份执行命令
+ * [delay:20]                           等待指定 tick 后再执行后续动作
+ * [close]                              关闭玩家打开的界面
+ * [menu] main                          打开插件菜单
+ * </pre>
+ */
+public final class ActionParser {
+
+    private static final Action[] NO_ACTIONS = new Action[0];
+
+    // 标题默认时间（tick）
+    private static final int DEFAULT_FADE_IN = 10;
+    private static final int DEFAULT_STAY = 70;
+    private static final int DEFAULT_FADE_OUT = 20;
+
+    private ActionParser() {
+    }
+
+    /**
+     * 解析动作列表，无效的行输出警告后跳过
+     *
+     * @param lines     配置中的动作列表
+     * @param asConsole 没有类型标签的命令是否以控制台身份执行
+     * @param logger    日志
+     * @param context   出错时提示的位置（如 "固定物品 menu 的右键"）
+     * @return 动作数组
+     */
+    public static Action[] parseAll(List<String> lines, boolean asConsole, Logger logger, String context) {
+        if (lines == null || lines.isEmpty()) {
+            return NO_ACTIONS;
+        }
+        List<Action> actions = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            try {
+                actions.add(parse(line, asConsole));
+            } catch (IllegalArgumentException e) {
+                logger.warning(context + "动作无效: " + line + " (" + e.getMessage() + ")");
+            }
+        }
+        return actions.toArray(NO_ACTIONS);
+    }
+
+    /**
+     * 解析单个动作
+     *
+     * @param line      动作文本
+     * @param asConsole 没有类型标签的命令是否以控制台身份执行
+     * @return 动作
+     * @throws IllegalArgumentException 格式错误
+     */
+    public static Action parse(String line, boolean asConsole) {
+        String trimmed = line.trim();
+        if (!trimmed.startsWith("[")) {
+            return Action.text(asConsole ? Type.CONSOLE : Type.PLAYER, line, stripSlash(trimmed));
+        }
+
+        int end = trimmed.indexOf(']');
+        if (end < 0) {
+            throw new IllegalArgumentException("缺少 ]");
+        }
+        String tag = trimmed.substring(1, end).trim().toLowerCase(Locale.ROOT);
+        String argument = trimmed.substring(end + 1).trim();
+
+        // [delay:N]
+        if (tag.startsWith("delay:")) {
+            int ticks = parseInt(tag.substring(6).trim(), "延迟");
+            if (ticks < 0) {
+                throw new IllegalArgumentException("延迟不能为负数");
+            }
+            return Action.delay(line, ticks);
+        }
+
+        switch (tag) {
+            case "message":
+                return Action.text(Type.MESSAGE, line, ColorUtil.colorize(argument));
+            case "actionbar":
+                return Action.text(Type.ACTIONBAR, line, ColorUtil.colorize(argument));
+            case "title":
+                return parseTitle(line, argument);
+            case "sound":
+                return parseSound(line, argument);
+            case "console":
+                return Action.text(Type.CONSOLE, line, stripSlash(argument));
+            case "player":
+                return Action.text(Type.PLAYER, line, stripSlash(argument));
+            case "close":
+                return Action.close(line);
+            case "menu":
+                if (argument.isEmpty()) {
+                    throw new IllegalArgumentException("缺少菜单ID");
+                }
+                return Action.text(Type.MENU, line, argument);
+            default:
+                throw new IllegalArgumentException("未知的动作类型 " + tag);
+        }
+    }
+
+    /**
+     * [title] 主标题;副标题;淡入;停留;淡出
+     */
+    private static Action parseTitle(String line, String argument) {
+        String[] parts = argument.split(";", -1);
+        String title = ColorUtil.colorize(parts[0]);
+        String subtitle = parts.length > 1 ? ColorUtil.colorize(parts[1]) : "";
+        int fadeIn = parts.length > 2 ? parseInt(parts[2].trim(), "淡入时间") : DEFAULT_FADE_IN;
+        int stay = parts.length > 3 ? parseInt(parts[3].trim(), "停留时间") : DEFAULT_STAY;
+        int fadeOut = parts.length > 4 ? parseInt(parts[4].trim(), "淡出时间") : DEFAULT_FADE_OUT;
+        return Action.title(line, title, subtitle, fadeIn, stay, fadeOut);
+    }
+
+    /**
+     * [sound] 音效 [音量] [音调]
+     */
+    private static Action parseSound(String line, String argument) {
+        String[] parts = argument.split("\\s+");
+        if (parts[0].isEmpty()) {
+            throw new IllegalArgumentException("缺少音效名称");
+        }
+        Sound sound;
+        try {
+            sound = Sound.valueOf(parts[0].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的音效 " + parts[0]);
+        }
+        float volume = parts.length > 1 ? parseFloat(parts[1], "音量") : 1.0f;
+        float pitch = parts.length > 2 ? parseFloat(parts[2], "音调") : 1.0f;
+        return Action.sound(line, sound, volume, pitch);
+    }
+
+    private static String stripSlash(String command) {
+        return command.startsWith("/") ? command.substring(1) : command;
+    }
+
+    private static int parseInt(String text, String name) {
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + "不是整数: " + text);
+        }
+    }
+
+    private static float parseFloat(String text, String name) {
+        try {
+            return Float.parseFloat(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + "不是数字: " + text);
+        }
+    }
+}
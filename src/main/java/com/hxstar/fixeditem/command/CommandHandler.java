@@ -1,8 +1,23 @@
 package com.hxstar.fixeditem.command;
 
 import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.manager.ActionManager;
+import com.hxstar.fixeditem.manager.CooldownManager;
 import com.hxstar.fixeditem.manager.LanguageManager;
+import com.hxstar.fixeditem.manager.MetricsManager;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
+import com.hxstar.fixeditem.manager.OverrideManager;
+import com.hxstar.fixeditem.manager.PlaceholderCache;
+import com.hxstar.fixeditem.manager.SyncManager;
 import com.hxstar.fixeditem.model.FixedItemData;
+import com.hxstar.fixeditem.model.PlayerOverrides;
+import com.hxstar.fixeditem.model.RolloutJob;
+import com.hxstar.fixeditem.model.RolloutJob.Operation;
+import com.hxstar.fixeditem.util.LatencyHistogram;
+import com.hxstar.fixeditem.util.NumberUtil;
+import com.hxstar.fixeditem.util.PlayerSelector;
+import com.hxstar.fixeditem.util.RollingCounter;
+import com.hxstar.fixeditem.util.SlotMapper;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -32,9 +47,23 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        MetricsManager metricsManager = plugin.getMetricsManager();
+        long start = metricsManager.start(Metric.COMMAND);
+        try {
+            dispatch(sender, args);
+        } finally {
+            metricsManager.stop(Metric.COMMAND, start);
+        }
+        return true;
+    }
+
+    /**
+     * 分发子命令
+     */
+    private void dispatch(CommandSender sender, String[] args) {
         if (args.length == 0) {
             sendHelp(sender);
-            return true;
+            return;
         }
 
         String subCommand = args[0].toLowerCase();
@@ -49,6 +78,18 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
             case "give":
                 handleGive(sender, args);
                 break;
+            case "rollout":
+                handleRollout(sender, args);
+                break;
+            case "stats":
+                handleStats(sender, args);
+                break;
+            case "slot":
+                handleSlot(sender, args);
+                break;
+            case "override":
+                handleOverride(sender, args);
+                break;
             case "help":
                 sendHelp(sender);
                 break;
@@ -57,8 +98,6 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
                 sendHelp(sender);
                 break;
         }
-
-        return true;
     }
 
     /**
@@ -94,6 +133,20 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
             return;
         }
 
+        // 选择器：提交为批量任务
+        if (PlayerSelector.isSelector(args[1])) {
+            if (args.length >= 3) {
+                if (plugin.getConfigManager().getFixedItemData(args[2]) == null) {
+                    sender.sendMessage(lang.getPrefixedMessage("command.item-not-found", "{item}", args[2]));
+                    return;
+                }
+                submitSelectorJob(sender, "remove " + args[1] + " " + args[2], args[1], Operation.REMOVE_ITEM, args[2]);
+            } else {
+                submitSelectorJob(sender, "remove " + args[1], args[1], Operation.REMOVE_ALL, null);
+            }
+            return;
+        }
+
         String targetName = args[1];
         Player target = Bukkit.getPlayer(targetName);
 
@@ -137,6 +190,12 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
             return;
         }
 
+        // 选择器：提交为批量任务
+        if (PlayerSelector.isSelector(args[1])) {
+            submitSelectorJob(sender, "give " + args[1], args[1], Operation.GIVE, null);
+            return;
+        }
+
         String targetName = args[1];
         Player target = Bukkit.getPlayer(targetName);
 
@@ -156,6 +215,328 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
         sender.sendMessage(lang.getPrefixedMessage("command.give-success", "{player}", target.getName()));
     }
 
+    /**
+     * 按选择器筛选玩家并提交批量任务
+     *
+     * @param sender    命令发送者
+     * @param label     任务名称
+     * @param selector  选择器
+     * @param operation 操作类型
+     * @param itemId    物品ID（仅 REMOVE_ITEM 使用）
+     */
+    private void submitSelectorJob(CommandSender sender, String label, String selector, Operation operation, String itemId) {
+        List<Player> targets;
+        try {
+            targets = PlayerSelector.select(selector);
+        } catch (IllegalArgumentException e) {
+            sender.sendMessage(lang.getPrefixedMessage("command.invalid-selector", "{error}", e.getMessage()));
+            return;
+        }
+
+        // 给予只对位于启用世界中的玩家生效
+        if (operation == Operation.GIVE) {
+            targets.removeIf(target -> !plugin.getConfigManager().isWorldEnabled(target.getWorld().getName()));
+        }
+        if (targets.isEmpty()) {
+            sender.sendMessage(lang.getPrefixedMessage("command.selector-empty", "{selector}", selector));
+            return;
+        }
+
+        RolloutJob job = plugin.getRolloutManager().submit(label, operation, itemId, targets);
+        sender.sendMessage(lang.getPrefixedMessage("rollout.submitted",
+                "{id}", String.valueOf(job.getId()),
+                "{label}", job.getLabel(),
+                "{total}", String.valueOf(job.getTotal())));
+    }
+
+    /**
+     * 处理分发进度命令
+     * /hxfixeditem rollout [cancel <任务ID>]
+     */
+    private void handleRollout(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("hxfixeditem.admin")) {
+            sender.sendMessage(lang.getPrefixedMessage("command.no-permission"));
+            return;
+        }
+
+        if (args.length >= 2) {
+            if (!args[1].equalsIgnoreCase("cancel") || args.length < 3) {
+                sender.sendMessage(lang.getPrefixedMessage("rollout.usage"));
+                return;
+            }
+            try {
+                int jobId = Integer.parseInt(args[2].startsWith("#") ? args[2].substring(1) : args[2]);
+                if (plugin.getRolloutManager().cancel(jobId)) {
+                    sender.sendMessage(lang.getPrefixedMessage("rollout.cancel-success", "{id}", String.valueOf(jobId)));
+                } else {
+                    sender.sendMessage(lang.getPrefixedMessage("rollout.cancel-failed", "{id}", args[2]));
+                }
+            } catch (NumberFormatException e) {
+                sender.sendMessage(lang.getPrefixedMessage("rollout.cancel-failed", "{id}", args[2]));
+            }
+            return;
+        }
+
+        sender.sendMessage(lang.getMessage("rollout.header"));
+
+        List<RolloutJob> activeJobs = plugin.getRolloutManager().getActiveJobs();
+        boolean hasActive = false;
+        for (RolloutJob job : activeJobs) {
+            // 常驻进服队列空闲时不显示
+            if (job.isPersistent() && job.getPendingCount() == 0) {
+                continue;
+            }
+            sender.sendMessage(formatJob("rollout.active", job));
+            hasActive = true;
+        }
+        if (!hasActive) {
+            sender.sendMessage(lang.getMessage("rollout.empty"));
+        }
+
+        for (RolloutJob job : plugin.getRolloutManager().getFinishedJobs()) {
+            sender.sendMessage(formatJob(job.isCancelled() ? "rollout.cancelled" : "rollout.finished", job));
+        }
+
+        sender.sendMessage(lang.getMessage("rollout.queued",
+                "{count}", String.valueOf(plugin.getRolloutManager().getQueuedPlayerCount())));
+    }
+
+    /**
+     * 格式化分发任务信息
+     */
+    private String formatJob(String key, RolloutJob job) {
+        return lang.getMessage(key,
+                "{id}", String.valueOf(job.getId()),
+                "{label}", job.getLabel(),
+                "{operation}", job.getOperation().name().toLowerCase(),
+                "{done}", String.valueOf(job.getProcessed()),
+                "{total}", String.valueOf(job.getTotal()),
+                "{pending}", String.valueOf(job.getPendingCount()),
+                "{skipped}", String.valueOf(job.getSkipped()),
+                "{elapsed}", NumberUtil.formatSeconds(System.currentTimeMillis() - job.getCreatedAt()));
+    }
+
+    /**
+     * 处理性能统计命令
+     * /hxfixeditem stats [on|off|reset]
+     */
+    private void handleStats(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("hxfixeditem.admin")) {
+            sender.sendMessage(lang.getPrefixedMessage("command.no-permission"));
+            return;
+        }
+
+        MetricsManager metricsManager = plugin.getMetricsManager();
+        if (args.length >= 2) {
+            switch (args[1].toLowerCase()) {
+                case "on":
+                    metricsManager.setEnabled(true);
+                    sender.sendMessage(lang.getPrefixedMessage("stats.enabled"));
+                    return;
+                case "off":
+                    metricsManager.setEnabled(false);
+                    sender.sendMessage(lang.getPrefixedMessage("stats.disabled"));
+                    return;
+                case "reset":
+                    metricsManager.reset();
+                    plugin.getPlaceholderCache().resetStats();
+                    sender.sendMessage(lang.getPrefixedMessage("stats.reset"));
+                    return;
+                default:
+                    sender.sendMessage(lang.getPrefixedMessage("stats.usage"));
+                    return;
+            }
+        }
+
+        sender.sendMessage(lang.getMessage("stats.header"));
+        sender.sendMessage(lang.getMessage(metricsManager.isEnabled() ? "stats.status-on" : "stats.status-off"));
+
+        boolean hasData = false;
+        for (Metric metric : Metric.values()) {
+            LatencyHistogram histogram = metricsManager.getHistogram(metric);
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            String allocation = metricsManager.isTrackingAllocations()
+                    ? NumberUtil.formatBytes(metricsManager.getAverageAllocation(metric))
+                    : "-";
+            sender.sendMessage(lang.getMessage("stats.entry",
+                    "{name}", metric.getDisplayName(),
+                    "{count}", String.valueOf(histogram.getCount()),
+                    "{p50}", NumberUtil.formatNanos(histogram.getPercentile(0.50)),
+                    "{p99}", NumberUtil.formatNanos(histogram.getPercentile(0.99)),
+                    "{max}", NumberUtil.formatNanos(histogram.getMax()),
+                    "{alloc}", allocation));
+            hasData = true;
+        }
+        if (!hasData) {
+            sender.sendMessage(lang.getMessage("stats.empty"));
+        }
+
+        // 槽位写入与提示限流统计
+        RollingCounter writeCounter = plugin.getFixedItemManager().getReconciler().getWriteCounter();
+        sender.sendMessage(lang.getMessage("stats.writes",
+                "{last}", String.valueOf(writeCounter.getLastSecond()),
+                "{average}", String.valueOf(Math.round(writeCounter.getAveragePerSecond())),
+                "{total}", String.valueOf(writeCounter.getTotal())));
+        sender.sendMessage(lang.getMessage("stats.suppressed",
+                "{count}", String.valueOf(plugin.getNotificationManager().getTotalSuppressedCount())));
+
+        // 占位符缓存统计
+        PlaceholderCache placeholderCache = plugin.getPlaceholderCache();
+        sender.sendMessage(lang.getMessage("stats.placeholders",
+                "{hits}", String.valueOf(placeholderCache.getHits()),
+                "{misses}", String.valueOf(placeholderCache.getMisses()),
+                "{rate}", String.valueOf(Math.round(placeholderCache.getHitRate() * 100))));
+
+        // 动作链统计
+        ActionManager actionManager = plugin.getActionManager();
+        sender.sendMessage(lang.getMessage("stats.actions",
+                "{pending}", String.valueOf(actionManager.getPendingCount()),
+                "{completed}", String.valueOf(actionManager.getCompletedCount()),
+                "{cancelled}", String.valueOf(actionManager.getCancelledCount())));
+
+        // 跨服同步统计
+        SyncManager syncManager = plugin.getSyncManager();
+        if (syncManager.isEnabled()) {
+            sender.sendMessage(lang.getMessage("stats.sync",
+                    "{published}", String.valueOf(syncManager.getPublished()),
+                    "{received}", String.valueOf(syncManager.getReceived()),
+                    "{pending}", String.valueOf(syncManager.getPendingCount())));
+        }
+    }
+
+    // 自选槽位命令的冷却键
+    private static final String SLOT_COOLDOWN_KEY = "command:slot";
+
+    /**
+     * 处理自选槽位命令
+     * /hxfixeditem slot <物品ID> <槽位|reset>
+     * 玩家只能选择主背包与快捷栏槽位，每次修改后进入冷却
+     */
+    private void handleSlot(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(lang.getPrefixedMessage("command.player-only"));
+            return;
+        }
+        if (!sender.hasPermission("hxfixeditem.slot")) {
+            sender.sendMessage(lang.getPrefixedMessage("command.no-permission"));
+            return;
+        }
+        if (args.length < 3) {
+            sender.sendMessage(lang.getPrefixedMessage("override.slot-usage"));
+            return;
+        }
+
+        Player player = (Player) sender;
+        String itemId = args[1];
+        FixedItemData itemData = plugin.getConfigManager().getFixedItemData(itemId);
+        if (itemData == null) {
+            sender.sendMessage(lang.getPrefixedMessage("command.item-not-found", "{item}", itemId));
+            return;
+        }
+
+        // 只能调整自己当前拥有的固定物品
+        if (!Arrays.asList(plugin.getFixedItemManager().resolveLayout(player)).contains(itemData)) {
+            sender.sendMessage(lang.getPrefixedMessage("override.not-owned", "{item}", itemId));
+            return;
+        }
+
+        // 每次修改都会写入文件、发送同步并重新同步背包，限制频率
+        CooldownManager cooldownManager = plugin.getCooldownManager();
+        if (cooldownManager.isOnCooldown(player, SLOT_COOLDOWN_KEY)) {
+            plugin.getNotificationManager().sendCooldown(player,
+                    cooldownManager.getRemainingCooldown(player, SLOT_COOLDOWN_KEY));
+            return;
+        }
+        long cooldownMillis = plugin.getConfigManager().getOverridesSlotCooldown() * 1000L;
+
+        OverrideManager overrideManager = plugin.getOverrideManager();
+        if (args[2].equalsIgnoreCase("reset")) {
+            if (cooldownMillis > 0) {
+                cooldownManager.setCooldown(player, SLOT_COOLDOWN_KEY, cooldownMillis);
+            }
+            overrideManager.update(player, current -> current.withSlot(itemId, null));
+            sender.sendMessage(lang.getPrefixedMessage("override.slot-reset", "{item}", itemId));
+            return;
+        }
+
+        int slot;
+        try {
+            slot = Integer.parseInt(args[2]);
+        } catch (NumberFormatException e) {
+            slot = -1;
+        }
+        if (slot < 0 || slot >= SlotMapper.STORAGE_SLOTS) {
+            sender.sendMessage(lang.getPrefixedMessage("override.invalid-slot", "{slot}", args[2]));
+            return;
+        }
+
+        if (cooldownMillis > 0) {
+            cooldownManager.setCooldown(player, SLOT_COOLDOWN_KEY, cooldownMillis);
+        }
+        int chosen = slot;
+        overrideManager.update(player, current -> current.withSlot(itemId, chosen));
+        sender.sendMessage(lang.getPrefixedMessage("override.slot-success",
+                "{item}", itemId,
+                "{slot}", String.valueOf(overrideManager.getSlot(player, itemData))));
+    }
+
+    /**
+     * 处理个性化设置管理命令
+     * /hxfixeditem override <玩家> <extra|hide|show|clear> [物品ID]
+     */
+    private void handleOverride(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("hxfixeditem.admin")) {
+            sender.sendMessage(lang.getPrefixedMessage("command.no-permission"));
+            return;
+        }
+        if (args.length < 3) {
+            sender.sendMessage(lang.getPrefixedMessage("override.usage"));
+            return;
+        }
+
+        Player target = Bukkit.getPlayer(args[1]);
+        if (target == null) {
+            sender.sendMessage(lang.getPrefixedMessage("command.player-not-found", "{player}", args[1]));
+            return;
+        }
+
+        String action = args[2].toLowerCase();
+        OverrideManager overrideManager = plugin.getOverrideManager();
+        if (action.equals("clear")) {
+            overrideManager.update(target, current -> PlayerOverrides.EMPTY);
+            sender.sendMessage(lang.getPrefixedMessage("override.cleared", "{player}", target.getName()));
+            return;
+        }
+
+        if (args.length < 4 || !(action.equals("extra") || action.equals("hide") || action.equals("show"))) {
+            sender.sendMessage(lang.getPrefixedMessage("override.usage"));
+            return;
+        }
+        String itemId = args[3];
+        if (plugin.getConfigManager().getFixedItemData(itemId) == null) {
+            sender.sendMessage(lang.getPrefixedMessage("command.item-not-found", "{item}", itemId));
+            return;
+        }
+
+        switch (action) {
+            case "extra":
+                overrideManager.update(target, current -> current.withExtra(itemId, true).withHidden(itemId, false));
+                break;
+            case "hide":
+                overrideManager.update(target, current -> current.withHidden(itemId, true).withExtra(itemId, false));
+                break;
+            default:
+                overrideManager.update(target, current -> current.withHidden(itemId, false).withExtra(itemId, false));
+                break;
+        }
+        sender.sendMessage(lang.getPrefixedMessage("override.updated",
+                "{player}", target.getName(),
+                "{item}", itemId,
+                "{action}", action));
+    }
+
     /**
      * 发送帮助信息
      */
@@ -167,6 +548,10 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
                 lang.getMessage("help.reload"),
                 lang.getMessage("help.remove"),
                 lang.getMessage("help.give"),
+                lang.getMessage("help.rollout"),
+                lang.getMessage("help.stats"),
+                lang.getMessage("help.slot"),
+                lang.getMessage("help.override"),
                 lang.getMessage("help.help"),
                 "",
                 lang.getMessage("help.footer")
@@ -182,23 +567,55 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
 
         if (!sender.hasPermission("hxfixeditem.admin")) {
+            // 普通玩家只能调整自己的槽位
+            if (sender.hasPermission("hxfixeditem.slot")) {
+                if (args.length == 1) {
+                    completions.add("slot");
+                    return filterCompletions(completions, args[0]);
+                }
+                if (args[0].equalsIgnoreCase("slot")) {
+                    return completeSlot(args);
+                }
+            }
             return completions;
         }
 
         if (args.length == 1) {
             // 子命令补全
-            completions.addAll(Arrays.asList("reload", "remove", "give", "help"));
+            completions.addAll(Arrays.asList("reload", "remove", "give", "rollout", "stats", "slot", "override", "help"));
             return filterCompletions(completions, args[0]);
         }
 
+        if (args[0].equalsIgnoreCase("slot")) {
+            return completeSlot(args);
+        }
+
         if (args.length == 2) {
             String subCommand = args[0].toLowerCase();
 
+            if (subCommand.equals("override")) {
+                completions.addAll(Bukkit.getOnlinePlayers().stream()
+                        .map(Player::getName)
+                        .collect(Collectors.toList()));
+                return filterCompletions(completions, args[1]);
+            }
+
             if (subCommand.equals("remove") || subCommand.equals("give")) {
-                // 玩家名补全
+                // 玩家名与选择器补全
                 completions.addAll(Bukkit.getOnlinePlayers().stream()
                         .map(Player::getName)
                         .collect(Collectors.toList()));
+                completions.addAll(PlayerSelector.SUGGESTIONS);
+                return filterCompletions(completions, args[1]);
+            }
+
+            if (subCommand.equals("rollout")) {
+                completions.add("cancel");
+                return filterCompletions(completions, args[1]);
+            }
+
+            if (subCommand.equals("stats")) {
+                completions.addAll(Arrays.asList("on", "off", "reset"));
                 return filterCompletions(completions, args[1]);
             }
         }
@@ -212,11 +629,47 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
                 completions.addAll(fixedItems.keySet());
                 return filterCompletions(completions, args[2]);
             }
+
+            if (subCommand.equals("override")) {
+                completions.addAll(Arrays.asList("extra", "hide", "show", "clear"));
+                return filterCompletions(completions, args[2]);
+            }
+
+            if (subCommand.equals("rollout") && args[1].equalsIgnoreCase("cancel")) {
+                // 可取消的任务ID补全
+                for (RolloutJob job : plugin.getRolloutManager().getActiveJobs()) {
+                    if (!job.isPersistent()) {
+                        completions.add(String.valueOf(job.getId()));
+                    }
+                }
+                return filterCompletions(completions, args[2]);
+            }
+        }
+
+        if (args.length == 4 && args[0].equalsIgnoreCase("override") && !args[2].equalsIgnoreCase("clear")) {
+            completions.addAll(plugin.getConfigManager().getFixedItems().keySet());
+            return filterCompletions(completions, args[3]);
         }
 
         return completions;
     }
 
+    /**
+     * 自选槽位命令补全
+     */
+    private List<String> completeSlot(String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 2) {
+            completions.addAll(plugin.getConfigManager().getFixedItems().keySet());
+            return filterCompletions(completions, args[1]);
+        }
+        if (args.length == 3) {
+            completions.add("reset");
+            return filterCompletions(completions, args[2]);
+        }
+        return completions;
+    }
+
     /**
      * 过滤补全建议
      */
@@ -1,8 +1,18 @@
 package com.hxstar.fixeditem.listener;
 
 import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.manager.AuditLog;
 import com.hxstar.fixeditem.manager.FixedItemManager;
+import com.hxstar.fixeditem.manager.MenuManager;
+import com.hxstar.fixeditem.manager.MetricsManager;
+import com.hxstar.fixeditem.manager.MetricsManager.CancelReason;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
+import com.hxstar.fixeditem.manager.NotificationManager;
+import com.hxstar.fixeditem.manager.NotificationManager.Notice;
+import com.hxstar.fixeditem.manager.RolloutManager;
+import com.hxstar.fixeditem.menu.MenuHolder;
 import com.hxstar.fixeditem.model.FixedItemData;
+import com.hxstar.fixeditem.util.SlotMapper;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -25,15 +35,38 @@ import java.util.List;
  * 物品保护监听器
  * 负责处理固定物品的各种保护机制
  * 包括：禁止丢弃、禁止移动、死亡不掉落、禁止存入容器等
+ * 插件菜单打开时禁止一切物品移动，点击菜单按钮交给菜单管理器处理
  */
 public class ItemProtectionListener implements Listener {
 
     private final HxFixedItem plugin;
     private final FixedItemManager fixedItemManager;
+    private final NotificationManager notificationManager;
+    private final RolloutManager rolloutManager;
+    private final MetricsManager metricsManager;
+    private final AuditLog auditLog;
+    private final MenuManager menuManager;
 
     public ItemProtectionListener(HxFixedItem plugin) {
         this.plugin = plugin;
         this.fixedItemManager = plugin.getFixedItemManager();
+        this.notificationManager = plugin.getNotificationManager();
+        this.rolloutManager = plugin.getRolloutManager();
+        this.metricsManager = plugin.getMetricsManager();
+        this.auditLog = plugin.getAuditLog();
+        this.menuManager = plugin.getMenuManager();
+    }
+
+    /**
+     * 统计被拦截的操作并写入审计日志
+     *
+     * @param reason   拦截原因
+     * @param player   玩家
+     * @param itemData 涉及的固定物品，无法确定时为null
+     */
+    private void countCancel(CancelReason reason, Player player, FixedItemData itemData) {
+        metricsManager.countCancel(reason);
+        auditLog.recordCancel(player, itemData, reason);
     }
 
     /**
@@ -41,23 +74,28 @@ public class ItemProtectionListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlayerDropItem(PlayerDropItemEvent event) {
-        ItemStack item = event.getItemDrop().getItemStack();
+        long start = metricsManager.start(Metric.DROP_ITEM);
+        try {
+            ItemStack item = event.getItemDrop().getItemStack();
 
-        if (fixedItemManager.isFixedItem(item)) {
-            FixedItemData data = fixedItemManager.getFixedItemData(item);
-            if (data != null && data.isPreventDrop()) {
-                event.setCancelled(true);
+            if (fixedItemManager.isFixedItem(item)) {
+                FixedItemData data = fixedItemManager.getFixedItemData(item);
+                if (data != null && data.isPreventDrop()) {
+                    Player player = event.getPlayer();
+                    event.setCancelled(true);
+                    countCancel(CancelReason.DROP, player, data);
 
-                // 发送提示消息
-                Player player = event.getPlayer();
-                String message = plugin.getLanguageManager().getPrefixedMessage("protection.cannot-drop");
-                player.sendMessage(message);
+                    // 发送提示消息
+                    notificationManager.send(player, Notice.CANNOT_DROP);
 
-                // 确保物品返回正确槽位
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    fixedItemManager.checkAndRestoreItems(player);
-                }, 1L);
+                    // 确保物品返回正确槽位
+                    Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                        fixedItemManager.checkAndRestoreItems(player);
+                    }, 1L);
+                }
             }
+        } finally {
+            metricsManager.stop(Metric.DROP_ITEM, start);
         }
     }
 
@@ -66,104 +104,135 @@ public class ItemProtectionListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onInventoryClick(InventoryClickEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) {
-            return;
-        }
-
-        Player player = (Player) event.getWhoClicked();
-        Inventory clickedInventory = event.getClickedInventory();
-
-        // 检查玩家所在世界是否启用
-        if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
-            return;
-        }
+        long start = metricsManager.start(Metric.INVENTORY_CLICK);
+        try {
+            if (!(event.getWhoClicked() instanceof Player)) {
+                return;
+            }
 
-        ItemStack currentItem = event.getCurrentItem();
-        ItemStack cursorItem = event.getCursor();
-        int slot = event.getSlot();
-        int rawSlot = event.getRawSlot();
+            Player player = (Player) event.getWhoClicked();
 
-        // 检查点击的物品是否为固定物品
-        if (fixedItemManager.isFixedItem(currentItem)) {
-            FixedItemData data = fixedItemManager.getFixedItemData(currentItem);
-            if (data != null && data.isPreventMove()) {
-                // 禁止任何操作
+            // 插件菜单：取消所有点击，点击菜单内的按钮时执行动作
+            MenuHolder menu = menuManager.getOpenMenu(player, event.getView().getTopInventory());
+            if (menu != null) {
                 event.setCancelled(true);
-                String message = plugin.getLanguageManager().getPrefixedMessage("protection.cannot-move");
-                player.sendMessage(message);
+                int menuSlot = event.getRawSlot();
+                if (menuSlot >= 0 && menuSlot < menu.getMenu().getSize()) {
+                    menuManager.click(player, menu, menuSlot, event.isRightClick());
+                }
                 return;
             }
-        }
 
-        // 检查光标上的物品是否为固定物品（防止Shift点击后拿着固定物品）
-        if (fixedItemManager.isFixedItem(cursorItem)) {
-            FixedItemData data = fixedItemManager.getFixedItemData(cursorItem);
-            if (data != null && data.isPreventMove()) {
-                event.setCancelled(true);
+            Inventory clickedInventory = event.getClickedInventory();
+
+            // 检查玩家所在世界是否启用
+            if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
                 return;
             }
-        }
 
-        // 检查是否尝试将物品放入固定槽位
-        if (clickedInventory != null && clickedInventory.equals(player.getInventory())) {
-            if (fixedItemManager.isFixedSlot(slot)) {
-                FixedItemData slotData = plugin.getConfigManager().getFixedItemBySlot(slot);
-                if (slotData != null && slotData.isPreventMove()) {
-                    // 只允许固定物品在这个槽位
-                    if (!fixedItemManager.isFixedItem(cursorItem)) {
-                        // 如果光标上有物品且不是固定物品，取消操作
-                        if (cursorItem != null && cursorItem.getType() != Material.AIR) {
-                            event.setCancelled(true);
-                            return;
+            // 还在分发队列中的玩家优先处理
+            rolloutManager.expedite(player);
+
+            ItemStack currentItem = event.getCurrentItem();
+            ItemStack cursorItem = event.getCursor();
+            int slot = event.getSlot();
+            int rawSlot = event.getRawSlot();
+
+            // 检查点击的物品是否为固定物品
+            if (fixedItemManager.isFixedItem(currentItem)) {
+                FixedItemData data = fixedItemManager.getFixedItemData(currentItem);
+                if (data != null && data.isPreventMove()) {
+                    // 禁止任何操作
+                    event.setCancelled(true);
+                    countCancel(CancelReason.MOVE, player, data);
+                    notificationManager.send(player, Notice.CANNOT_MOVE);
+                    return;
+                }
+            }
+
+            // 检查光标上的物品是否为固定物品（防止Shift点击后拿着固定物品）
+            if (fixedItemManager.isFixedItem(cursorItem)) {
+                FixedItemData data = fixedItemManager.getFixedItemData(cursorItem);
+                if (data != null && data.isPreventMove()) {
+                    event.setCancelled(true);
+                    countCancel(CancelReason.MOVE, player, data);
+                    return;
+                }
+            }
+
+            // 检查是否尝试将物品放入固定槽位
+            if (clickedInventory != null && clickedInventory.equals(player.getInventory())) {
+                if (fixedItemManager.isFixedSlot(player, slot)) {
+                    FixedItemData slotData = fixedItemManager.getFixedItemBySlot(player, slot);
+                    if (slotData != null && slotData.isPreventMove()) {
+                        // 只允许固定物品在这个槽位
+                        if (!fixedItemManager.isFixedItem(cursorItem)) {
+                            // 如果光标上有物品且不是固定物品，取消操作
+                            if (cursorItem != null && cursorItem.getType() != Material.AIR) {
+                                event.setCancelled(true);
+                                countCancel(CancelReason.MOVE, player, slotData);
+                                return;
+                            }
                         }
                     }
                 }
             }
-        }
 
-        // 检查Shift点击 - 防止将固定物品移动到其他容器
-        if (event.isShiftClick() && fixedItemManager.isFixedItem(currentItem)) {
-            FixedItemData data = fixedItemManager.getFixedItemData(currentItem);
-            if (data != null && (data.isPreventMove() || data.isPreventContainer())) {
-                event.setCancelled(true);
-                String message = plugin.getLanguageManager().getPrefixedMessage("protection.cannot-move");
-                player.sendMessage(message);
-                return;
+            // 检查Shift点击 - 防止将固定物品移动到其他容器
+            if (event.isShiftClick() && fixedItemManager.isFixedItem(currentItem)) {
+                FixedItemData data = fixedItemManager.getFixedItemData(currentItem);
+                if (data != null && (data.isPreventMove() || data.isPreventContainer())) {
+                    event.setCancelled(true);
+                    countCancel(CancelReason.MOVE, player, data);
+                    notificationManager.send(player, Notice.CANNOT_MOVE);
+                    return;
+                }
             }
-        }
 
-        // 检查数字键切换 - 防止通过数字键移动固定物品
-        if (event.getClick() == ClickType.NUMBER_KEY) {
-            int hotbarSlot = event.getHotbarButton();
-            ItemStack hotbarItem = player.getInventory().getItem(hotbarSlot);
+            // 检查数字键切换 - 防止通过数字键移动固定物品
+            if (event.getClick() == ClickType.NUMBER_KEY) {
+                int hotbarSlot = event.getHotbarButton();
+                ItemStack hotbarItem = player.getInventory().getItem(hotbarSlot);
+
+                // 检查热键槽位的物品是否为固定物品
+                if (fixedItemManager.isFixedItem(hotbarItem)) {
+                    FixedItemData data = fixedItemManager.getFixedItemData(hotbarItem);
+                    if (data != null && data.isPreventMove()) {
+                        event.setCancelled(true);
+                        countCancel(CancelReason.MOVE, player, data);
+                        return;
+                    }
+                }
 
-            // 检查热键槽位的物品是否为固定物品
-            if (fixedItemManager.isFixedItem(hotbarItem)) {
-                FixedItemData data = fixedItemManager.getFixedItemData(hotbarItem);
-                if (data != null && data.isPreventMove()) {
+                // 检查是否尝试将物品放入固定槽位
+                if (fixedItemManager.isFixedSlot(player, hotbarSlot)) {
                     event.setCancelled(true);
+                    countCancel(CancelReason.MOVE, player, fixedItemManager.getFixedItemBySlot(player, hotbarSlot));
                     return;
                 }
             }
 
-            // 检查是否尝试将物品放入固定槽位
-            if (fixedItemManager.isFixedSlot(hotbarSlot)) {
+            // 检查背包内F键切换 - 防止与固定的副手槽位交换
+            if (event.getClick() == ClickType.SWAP_OFFHAND && fixedItemManager.isFixedSlot(player, SlotMapper.OFF_HAND_SLOT)) {
                 event.setCancelled(true);
+                countCancel(CancelReason.SWAP_HAND, player, fixedItemManager.getFixedItemBySlot(player, SlotMapper.OFF_HAND_SLOT));
                 return;
             }
-        }
 
-        // 防止将固定物品放入容器（如箱子）
-        if (clickedInventory != null && !clickedInventory.equals(player.getInventory())) {
-            if (fixedItemManager.isFixedItem(cursorItem)) {
-                FixedItemData data = fixedItemManager.getFixedItemData(cursorItem);
-                if (data != null && data.isPreventContainer()) {
-                    event.setCancelled(true);
-                    String message = plugin.getLanguageManager().getPrefixedMessage("protection.cannot-container");
-                    player.sendMessage(message);
-                    return;
+            // 防止将固定物品放入容器（如箱子）
+            if (clickedInventory != null && !clickedInventory.equals(player.getInventory())) {
+                if (fixedItemManager.isFixedItem(cursorItem)) {
+                    FixedItemData data = fixedItemManager.getFixedItemData(cursorItem);
+                    if (data != null && data.isPreventContainer()) {
+                        event.setCancelled(true);
+                        countCancel(CancelReason.CONTAINER, player, data);
+                        notificationManager.send(player, Notice.CANNOT_CONTAINER);
+                        return;
+                    }
                 }
             }
+        } finally {
+            metricsManager.stop(Metric.INVENTORY_CLICK, start);
         }
     }
 
@@ -172,52 +241,50 @@ public class ItemProtectionListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onInventoryDrag(InventoryDragEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) {
-            return;
-        }
-
-        Player player = (Player) event.getWhoClicked();
-
-        // 检查被拖拽的物品是否为固定物品
-        ItemStack draggedItem = event.getOldCursor();
-        if (fixedItemManager.isFixedItem(draggedItem)) {
-            FixedItemData data = fixedItemManager.getFixedItemData(draggedItem);
-            if (data != null && data.isPreventMove()) {
-                event.setCancelled(true);
+        long start = metricsManager.start(Metric.INVENTORY_DRAG);
+        try {
+            if (!(event.getWhoClicked() instanceof Player)) {
                 return;
             }
-        }
 
-        // 检查拖拽是否涉及固定槽位
-        for (int slot : event.getRawSlots()) {
-            // 转换为玩家背包槽位
-            int inventorySlot = convertRawSlotToInventorySlot(event.getView(), slot);
-            if (inventorySlot >= 0 && fixedItemManager.isFixedSlot(inventorySlot)) {
-                event.setCancelled(true);
-                return;
-            }
-        }
-    }
+            Player player = (Player) event.getWhoClicked();
 
-    /**
-     * 转换原始槽位到背包槽位
-     */
-    private int convertRawSlotToInventorySlot(org.bukkit.inventory.InventoryView view, int rawSlot) {
-        if (view.getTopInventory() != null && rawSlot < view.getTopInventory().getSize()) {
-            return -1; // 在上方容器中
-        }
+            // 插件菜单：禁止拖入菜单
+            MenuHolder menu = menuManager.getOpenMenu(player, event.getView().getTopInventory());
+            if (menu != null) {
+                for (int rawSlot : event.getRawSlots()) {
+                    if (rawSlot < menu.getMenu().getSize()) {
+                        event.setCancelled(true);
+                        return;
+                    }
+                }
+            }
 
-        int topSize = view.getTopInventory() != null ? view.getTopInventory().getSize() : 0;
-        int adjustedSlot = rawSlot - topSize;
+            // 检查被拖拽的物品是否为固定物品
+            ItemStack draggedItem = event.getOldCursor();
+            if (fixedItemManager.isFixedItem(draggedItem)) {
+                FixedItemData data = fixedItemManager.getFixedItemData(draggedItem);
+                if (data != null && data.isPreventMove()) {
+                    event.setCancelled(true);
+                    countCancel(CancelReason.DRAG, player, data);
+                    return;
+                }
+            }
 
-        // 玩家背包布局：9-35 是主背包，0-8 是快捷栏
-        if (adjustedSlot >= 0 && adjustedSlot < 27) {
-            return adjustedSlot + 9; // 主背包
-        } else if (adjustedSlot >= 27 && adjustedSlot < 36) {
-            return adjustedSlot - 27; // 快捷栏
+            // 检查拖拽是否涉及固定槽位（每个事件只查一次映射表）
+            int[] slotTable = SlotMapper.getTable(event.getView());
+            for (int slot : event.getRawSlots()) {
+                // 转换为玩家背包槽位
+                int inventorySlot = SlotMapper.toPlayerSlot(slotTable, slot);
+                if (inventorySlot >= 0 && fixedItemManager.isFixedSlot(player, inventorySlot)) {
+                    event.setCancelled(true);
+                    countCancel(CancelReason.DRAG, player, fixedItemManager.getFixedItemBySlot(player, inventorySlot));
+                    return;
+                }
+            }
+        } finally {
+            metricsManager.stop(Metric.INVENTORY_DRAG, start);
         }
-
-        return -1;
     }
 
     /**
@@ -225,34 +292,39 @@ public class ItemProtectionListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onPlayerDeath(PlayerDeathEvent event) {
-        Player player = event.getEntity();
-
-        // 检查玩家所在世界是否启用
-        if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
-            return;
-        }
+        long start = metricsManager.start(Metric.PLAYER_DEATH);
+        try {
+            Player player = event.getEntity();
 
-        List<ItemStack> drops = event.getDrops();
-        List<ItemStack> fixedItemsToKeep = new ArrayList<>();
+            // 检查玩家所在世界是否启用
+            if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
+                return;
+            }
 
-        // 遍历掉落物，移除固定物品
-        Iterator<ItemStack> iterator = drops.iterator();
-        while (iterator.hasNext()) {
-            ItemStack item = iterator.next();
-            if (fixedItemManager.isFixedItem(item)) {
-                FixedItemData data = fixedItemManager.getFixedItemData(item);
-                if (data != null && data.isPreventDeath()) {
-                    iterator.remove();
-                    fixedItemsToKeep.add(item);
+            List<ItemStack> drops = event.getDrops();
+            List<ItemStack> fixedItemsToKeep = new ArrayList<>();
+
+            // 遍历掉落物，移除固定物品
+            Iterator<ItemStack> iterator = drops.iterator();
+            while (iterator.hasNext()) {
+                ItemStack item = iterator.next();
+                if (fixedItemManager.isFixedItem(item)) {
+                    FixedItemData data = fixedItemManager.getFixedItemData(item);
+                    if (data != null && data.isPreventDeath()) {
+                        iterator.remove();
+                        fixedItemsToKeep.add(item);
+                    }
                 }
             }
-        }
 
-        // 在玩家复活后恢复固定物品
-        if (!fixedItemsToKeep.isEmpty()) {
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                fixedItemManager.giveFixedItems(player);
-            }, 1L);
+            // 在玩家复活后恢复固定物品
+            if (!fixedItemsToKeep.isEmpty()) {
+                Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                    fixedItemManager.giveFixedItems(player);
+                }, 1L);
+            }
+        } finally {
+            metricsManager.stop(Metric.PLAYER_DEATH, start);
         }
     }
 
@@ -261,40 +333,54 @@ public class ItemProtectionListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlayerSwapHandItems(PlayerSwapHandItemsEvent event) {
-        Player player = event.getPlayer();
+        long start = metricsManager.start(Metric.SWAP_HAND);
+        try {
+            Player player = event.getPlayer();
 
-        // 检查玩家所在世界是否启用
-        if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
-            return;
-        }
+            // 检查玩家所在世界是否启用
+            if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
+                return;
+            }
 
-        ItemStack mainHandItem = event.getMainHandItem();
-        ItemStack offHandItem = event.getOffHandItem();
+            ItemStack mainHandItem = event.getMainHandItem();
+            ItemStack offHandItem = event.getOffHandItem();
 
-        // 检查主手物品
-        if (fixedItemManager.isFixedItem(mainHandItem)) {
-            FixedItemData data = fixedItemManager.getFixedItemData(mainHandItem);
-            if (data != null && data.isPreventMove()) {
-                event.setCancelled(true);
-                String message = plugin.getLanguageManager().getPrefixedMessage("protection.cannot-move");
-                player.sendMessage(message);
-                return;
+            // 检查主手物品
+            if (fixedItemManager.isFixedItem(mainHandItem)) {
+                FixedItemData data = fixedItemManager.getFixedItemData(mainHandItem);
+                if (data != null && data.isPreventMove()) {
+                    event.setCancelled(true);
+                    countCancel(CancelReason.SWAP_HAND, player, data);
+                    notificationManager.send(player, Notice.CANNOT_MOVE);
+                    return;
+                }
             }
-        }
 
-        // 检查副手物品
-        if (fixedItemManager.isFixedItem(offHandItem)) {
-            FixedItemData data = fixedItemManager.getFixedItemData(offHandItem);
-            if (data != null && data.isPreventMove()) {
+            // 检查副手物品
+            if (fixedItemManager.isFixedItem(offHandItem)) {
+                FixedItemData data = fixedItemManager.getFixedItemData(offHandItem);
+                if (data != null && data.isPreventMove()) {
+                    event.setCancelled(true);
+                    countCancel(CancelReason.SWAP_HAND, player, data);
+                    return;
+                }
+            }
+
+            // 检查主手是否为固定槽位（槽位0通常是快捷栏第一格）
+            int heldSlot = player.getInventory().getHeldItemSlot();
+            if (fixedItemManager.isFixedSlot(player, heldSlot)) {
                 event.setCancelled(true);
+                countCancel(CancelReason.SWAP_HAND, player, fixedItemManager.getFixedItemBySlot(player, heldSlot));
                 return;
             }
-        }
 
-        // 检查主手是否为固定槽位（槽位0通常是快捷栏第一格）
-        int heldSlot = player.getInventory().getHeldItemSlot();
-        if (fixedItemManager.isFixedSlot(heldSlot)) {
-            event.setCancelled(true);
+            // 检查副手是否为固定槽位
+            if (fixedItemManager.isFixedSlot(player, SlotMapper.OFF_HAND_SLOT)) {
+                event.setCancelled(true);
+                countCancel(CancelReason.SWAP_HAND, player, fixedItemManager.getFixedItemBySlot(player, SlotMapper.OFF_HAND_SLOT));
+            }
+        } finally {
+            metricsManager.stop(Metric.SWAP_HAND, start);
         }
     }
 
@@ -303,10 +389,21 @@ public class ItemProtectionListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onInventoryMoveItem(InventoryMoveItemEvent event) {
-        ItemStack item = event.getItem();
+        long start = metricsManager.start(Metric.INVENTORY_MOVE);
+        try {
+            ItemStack item = event.getItem();
 
-        if (fixedItemManager.isFixedItem(item)) {
-            event.setCancelled(true);
+            // 材质预筛选，绝大多数漏斗传输在这里直接放行
+            if (!fixedItemManager.isFixedMaterial(item)) {
+                return;
+            }
+
+            if (fixedItemManager.isFixedItem(item)) {
+                event.setCancelled(true);
+                metricsManager.countCancel(CancelReason.HOPPER);
+            }
+        } finally {
+            metricsManager.stop(Metric.INVENTORY_MOVE, start);
         }
     }
 
@@ -315,16 +412,27 @@ public class ItemProtectionListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onEntityPickupItem(EntityPickupItemEvent event) {
-        if (!(event.getEntity() instanceof Player)) {
-            return;
-        }
+        long start = metricsManager.start(Metric.PICKUP_ITEM);
+        try {
+            if (!(event.getEntity() instanceof Player)) {
+                return;
+            }
 
-        ItemStack item = event.getItem().getItemStack();
+            ItemStack item = event.getItem().getItemStack();
 
-        if (fixedItemManager.isFixedItem(item)) {
-            // 固定物品不应该在地上，直接销毁
-            event.getItem().remove();
-            event.setCancelled(true);
+            // 材质预筛选，避免每次拾取都读取 ItemMeta
+            if (!fixedItemManager.isFixedMaterial(item)) {
+                return;
+            }
+
+            if (fixedItemManager.isFixedItem(item)) {
+                // 固定物品不应该在地上，直接销毁
+                event.getItem().remove();
+                event.setCancelled(true);
+                countCancel(CancelReason.PICKUP, (Player) event.getEntity(), fixedItemManager.getFixedItemData(item));
+            }
+        } finally {
+            metricsManager.stop(Metric.PICKUP_ITEM, start);
         }
     }
 
@@ -333,32 +441,38 @@ public class ItemProtectionListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onInventoryCreative(InventoryCreativeEvent event) {
-        if (!(event.getWhoClicked() instanceof Player)) {
-            return;
-        }
+        long start = metricsManager.start(Metric.INVENTORY_CREATIVE);
+        try {
+            if (!(event.getWhoClicked() instanceof Player)) {
+                return;
+            }
 
-        Player player = (Player) event.getWhoClicked();
+            Player player = (Player) event.getWhoClicked();
 
-        // 检查玩家所在世界是否启用
-        if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
-            return;
-        }
+            // 检查玩家所在世界是否启用
+            if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
+                return;
+            }
 
-        int slot = event.getSlot();
+            int slot = event.getSlot();
 
-        // 防止在固定槽位放置其他物品
-        if (fixedItemManager.isFixedSlot(slot)) {
-            ItemStack newItem = event.getCursor();
-            if (newItem != null && newItem.getType() != Material.AIR) {
-                if (!fixedItemManager.isFixedItem(newItem)) {
-                    event.setCancelled(true);
+            // 防止在固定槽位放置其他物品
+            if (fixedItemManager.isFixedSlot(player, slot)) {
+                ItemStack newItem = event.getCursor();
+                if (newItem != null && newItem.getType() != Material.AIR) {
+                    if (!fixedItemManager.isFixedItem(newItem)) {
+                        event.setCancelled(true);
+                        countCancel(CancelReason.CREATIVE, player, fixedItemManager.getFixedItemBySlot(player, slot));
 
-                    // 恢复固定物品
-                    Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                        fixedItemManager.checkAndRestoreItems(player);
-                    }, 1L);
+                        // 恢复固定物品
+                        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                            fixedItemManager.checkAndRestoreItems(player);
+                        }, 1L);
+                    }
                 }
             }
+        } finally {
+            metricsManager.stop(Metric.INVENTORY_CREATIVE, start);
         }
     }
 
@@ -367,22 +481,28 @@ public class ItemProtectionListener implements Listener {
      */
     @EventHandler(priority = EventPriority.MONITOR)
     public void onInventoryClose(InventoryCloseEvent event) {
-        if (!(event.getPlayer() instanceof Player)) {
-            return;
-        }
-
-        Player player = (Player) event.getPlayer();
+        long start = metricsManager.start(Metric.INVENTORY_CLOSE);
+        try {
+            if (!(event.getPlayer() instanceof Player)) {
+                return;
+            }
 
-        // 检查玩家所在世界是否启用
-        if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
-            return;
-        }
+            Player player = (Player) event.getPlayer();
+            menuManager.handleClose(player, event.getInventory());
 
-        // 延迟检查，确保背包操作完成
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline()) {
-                fixedItemManager.checkAndRestoreItems(player);
+            // 检查玩家所在世界是否启用
+            if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
+                return;
             }
-        }, 1L);
+
+            // 延迟检查，确保背包操作完成
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                if (player.isOnline()) {
+                    fixedItemManager.checkAndRestoreItems(player);
+                }
+            }, 1L);
+        } finally {
+            metricsManager.stop(Metric.INVENTORY_CLOSE, start);
+        }
     }
 }
@@ -1,10 +1,18 @@
 package com.hxstar.fixeditem.listener;
 
 import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.manager.ActionManager;
+import com.hxstar.fixeditem.manager.AuditLog;
 import com.hxstar.fixeditem.manager.CooldownManager;
+import com.hxstar.fixeditem.manager.DebugJournal;
 import com.hxstar.fixeditem.manager.FixedItemManager;
+import com.hxstar.fixeditem.manager.MetricsManager;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
+import com.hxstar.fixeditem.manager.NotificationManager;
+import com.hxstar.fixeditem.manager.PreparationManager;
+import com.hxstar.fixeditem.manager.RolloutManager;
+import com.hxstar.fixeditem.model.DebugRecord;
 import com.hxstar.fixeditem.model.FixedItemData;
-import com.hxstar.fixeditem.util.PlaceholderUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
@@ -15,41 +23,92 @@ import org.bukkit.event.block.Action;
 import org.bukkit.event.player.*;
 import org.bukkit.inventory.ItemStack;
 
-import java.util.List;
-
 /**
  * 玩家事件监听器
  * 负责处理玩家相关事件，包括：
+ * - 登录前预加载
  * - 进入服务器
  * - 切换世界
  * - 复活
- * - 物品交互（左键/右键执行命令）
+ * - 物品交互（左键/右键执行动作）
  */
 public class PlayerEventListener implements Listener {
 
     private final HxFixedItem plugin;
     private final FixedItemManager fixedItemManager;
     private final CooldownManager cooldownManager;
+    private final NotificationManager notificationManager;
+    private final PreparationManager preparationManager;
+    private final RolloutManager rolloutManager;
+    private final MetricsManager metricsManager;
+    private final DebugJournal debugJournal;
+    private final AuditLog auditLog;
+    private final ActionManager actionManager;
 
     public PlayerEventListener(HxFixedItem plugin) {
         this.plugin = plugin;
         this.fixedItemManager = plugin.getFixedItemManager();
         this.cooldownManager = plugin.getCooldownManager();
+        this.notificationManager = plugin.getNotificationManager();
+        this.preparationManager = plugin.getPreparationManager();
+        this.rolloutManager = plugin.getRolloutManager();
+        this.metricsManager = plugin.getMetricsManager();
+        this.debugJournal = plugin.getDebugJournal();
+        this.auditLog = plugin.getAuditLog();
+        this.actionManager = plugin.getActionManager();
     }
 
     /**
-     * 监听玩家进入服务器事件
+     * 监听玩家登录前事件（异步线程）- 提前构建固定物品
      */
     @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerJoin(PlayerJoinEvent event) {
-        Player player = event.getPlayer();
+    public void onAsyncPlayerPreLogin(AsyncPlayerPreLoginEvent event) {
+        long start = metricsManager.start(Metric.PRE_LOGIN);
+        try {
+            if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+                preparationManager.discard(event.getUniqueId());
+                plugin.getOverrideManager().discard(event.getUniqueId());
+                return;
+            }
+
+            // 读取玩家的个性化设置，进服后给予与恢复时只查询内存
+            plugin.getOverrideManager().load(event.getUniqueId());
 
-        // 延迟给予固定物品，确保玩家完全加载
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline()) {
-                fixedItemManager.giveFixedItems(player);
+            // 读取其他服务器同步的冷却与设置（覆盖本地数据）
+            plugin.getSyncManager().load(event.getUniqueId());
+
+            try {
+                preparationManager.prepare(event.getUniqueId());
+            } catch (Exception e) {
+                // 预加载失败不影响登录，进服时会按原流程构建
+                plugin.getLogger().warning("预加载玩家 " + event.getName() + " 的固定物品时出错: " + e.getMessage());
+                preparationManager.discard(event.getUniqueId());
             }
-        }, 10L);
+        } finally {
+            metricsManager.stop(Metric.PRE_LOGIN, start);
+        }
+    }
+
+    /**
+     * 监听玩家进入服务器事件
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        long start = metricsManager.start(Metric.JOIN);
+        try {
+            Player player = event.getPlayer();
+            boolean prepared = preparationManager.hasPrepared(player.getUniqueId());
+
+            // 已预加载的玩家下一 tick 即可放入；否则延迟，确保玩家完全加载
+            // 进服队列按每 tick 时间预算处理，大量玩家同时进服时不会集中在同一 tick
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                if (player.isOnline()) {
+                    rolloutManager.enqueueJoin(player);
+                }
+            }, prepared ? 1L : 10L);
+        } finally {
+            metricsManager.stop(Metric.JOIN, start);
+        }
     }
 
     /**
@@ -57,10 +116,25 @@ public class PlayerEventListener implements Listener {
      */
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(PlayerQuitEvent event) {
-        Player player = event.getPlayer();
-
-        // 清理玩家的冷却数据
-        cooldownManager.clearPlayerCooldowns(player);
+        long start = metricsManager.start(Metric.QUIT);
+        try {
+            Player player = event.getPlayer();
+
+            // 清理玩家的冷却数据
+            cooldownManager.clearPlayerCooldowns(player);
+            notificationManager.clearPlayer(player);
+            preparationManager.discard(player.getUniqueId());
+            fixedItemManager.getReconciler().clearPlayer(player);
+            rolloutManager.forget(player);
+            plugin.getPlaceholderCache().clearPlayer(player.getUniqueId());
+            plugin.getLoreRefreshManager().clearPlayer(player);
+            plugin.getAnimationManager().clearPlayer(player);
+            plugin.getOverrideManager().unload(player.getUniqueId());
+            actionManager.cancel(player);
+            plugin.getMenuManager().clearPlayer(player);
+        } finally {
+            metricsManager.stop(Metric.QUIT, start);
+        }
     }
 
     /**
@@ -68,21 +142,31 @@ public class PlayerEventListener implements Listener {
      */
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
-        Player player = event.getPlayer();
-
-        // 延迟处理，确保世界切换完成
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline()) {
-                // 检查新世界是否启用
-                if (plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
-                    // 新世界启用，给予固定物品
-                    fixedItemManager.giveFixedItems(player);
-                } else {
-                    // 新世界未启用，移除固定物品
-                    fixedItemManager.removeAllFixedItems(player);
-                }
+        long start = metricsManager.start(Metric.CHANGED_WORLD);
+        try {
+            Player player = event.getPlayer();
+
+            // 取消等待中的动作链
+            if (plugin.getConfigManager().isActionsCancelOnWorldChange()) {
+                actionManager.cancel(player);
             }
-        }, 5L);
+
+            // 延迟处理，确保世界切换完成
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                if (player.isOnline()) {
+                    // 检查新世界是否启用
+                    if (plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
+                        // 新世界启用，给予固定物品
+                        fixedItemManager.giveFixedItems(player);
+                    } else {
+                        // 新世界未启用，移除固定物品
+                        fixedItemManager.removeAllFixedItems(player);
+                    }
+                }
+            }, 5L);
+        } finally {
+            metricsManager.stop(Metric.CHANGED_WORLD, start);
+        }
     }
 
     /**
@@ -90,14 +174,19 @@ public class PlayerEventListener implements Listener {
      */
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerRespawn(PlayerRespawnEvent event) {
-        Player player = event.getPlayer();
+        long start = metricsManager.start(Metric.RESPAWN);
+        try {
+            Player player = event.getPlayer();
 
-        // 延迟给予固定物品，确保复活完成
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline()) {
-                fixedItemManager.giveFixedItems(player);
-            }
-        }, 5L);
+            // 延迟给予固定物品，确保复活完成
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                if (player.isOnline()) {
+                    fixedItemManager.giveFixedItems(player);
+                }
+            }, 5L);
+        } finally {
+            metricsManager.stop(Metric.RESPAWN, start);
+        }
     }
 
     /**
@@ -105,66 +194,79 @@ public class PlayerEventListener implements Listener {
      */
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerTeleport(PlayerTeleportEvent event) {
-        Player player = event.getPlayer();
-
-        // 如果传送到不同世界，由 PlayerChangedWorldEvent 处理
-        if (event.getFrom().getWorld() != event.getTo().getWorld()) {
-            return;
-        }
+        long start = metricsManager.start(Metric.TELEPORT);
+        try {
+            Player player = event.getPlayer();
 
-        // 同世界传送后检查固定物品
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline()) {
-                fixedItemManager.checkAndRestoreItems(player);
+            // 如果传送到不同世界，由 PlayerChangedWorldEvent 处理
+            if (event.getFrom().getWorld() != event.getTo().getWorld()) {
+                return;
             }
-        }, 3L);
+
+            // 同世界传送后检查固定物品
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                if (player.isOnline()) {
+                    fixedItemManager.checkAndRestoreItems(player);
+                }
+            }, 3L);
+        } finally {
+            metricsManager.stop(Metric.TELEPORT, start);
+        }
     }
 
     /**
-     * 监听玩家交互事件 - 处理左键/右键执行命令
+     * 监听玩家交互事件 - 处理左键/右键执行动作
      */
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerInteract(PlayerInteractEvent event) {
-        Player player = event.getPlayer();
-        Action action = event.getAction();
+        long start = metricsManager.start(Metric.INTERACT);
+        try {
+            Player player = event.getPlayer();
+            Action action = event.getAction();
 
-        // 检查玩家所在世界是否启用
-        if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
-            return;
-        }
+            // 检查玩家所在世界是否启用
+            if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
+                return;
+            }
 
-        // 只处理左键和右键
-        if (action != Action.LEFT_CLICK_AIR && action != Action.LEFT_CLICK_BLOCK &&
-                action != Action.RIGHT_CLICK_AIR && action != Action.RIGHT_CLICK_BLOCK) {
-            return;
-        }
+            // 还在分发队列中的玩家优先处理
+            rolloutManager.expedite(player);
 
-        ItemStack item = event.getItem();
+            // 只处理左键和右键
+            if (action != Action.LEFT_CLICK_AIR && action != Action.LEFT_CLICK_BLOCK &&
+                    action != Action.RIGHT_CLICK_AIR && action != Action.RIGHT_CLICK_BLOCK) {
+                return;
+            }
 
-        // 检查是否为固定物品
-        if (!fixedItemManager.isFixedItem(item)) {
-            return;
-        }
+            ItemStack item = event.getItem();
 
-        FixedItemData itemData = fixedItemManager.getFixedItemData(item);
-        if (itemData == null) {
-            return;
-        }
+            // 检查是否为固定物品（材质预筛选后只读取一次 ItemMeta）
+            if (!fixedItemManager.isFixedMaterial(item)) {
+                return;
+            }
 
-        boolean isLeftClick = (action == Action.LEFT_CLICK_AIR || action == Action.LEFT_CLICK_BLOCK);
-        boolean isRightClick = (action == Action.RIGHT_CLICK_AIR || action == Action.RIGHT_CLICK_BLOCK);
+            FixedItemData itemData = fixedItemManager.getFixedItemData(item);
+            if (itemData == null) {
+                return;
+            }
 
-        // 处理左键
-        if (isLeftClick && itemData.isLeftClickEnabled()) {
-            handleClick(player, itemData, true);
-            event.setCancelled(true);
-            return;
-        }
+            boolean isLeftClick = (action == Action.LEFT_CLICK_AIR || action == Action.LEFT_CLICK_BLOCK);
+            boolean isRightClick = (action == Action.RIGHT_CLICK_AIR || action == Action.RIGHT_CLICK_BLOCK);
+
+            // 处理左键
+            if (isLeftClick && itemData.isLeftClickEnabled()) {
+                handleClick(player, itemData, true);
+                event.setCancelled(true);
+                return;
+            }
 
-        // 处理右键
-        if (isRightClick && itemData.isRightClickEnabled()) {
-            handleClick(player, itemData, false);
-            event.setCancelled(true);
+            // 处理右键
+            if (isRightClick && itemData.isRightClickEnabled()) {
+                handleClick(player, itemData, false);
+                event.setCancelled(true);
+            }
+        } finally {
+            metricsManager.stop(Metric.INTERACT, start);
         }
     }
 
@@ -173,16 +275,21 @@ public class PlayerEventListener implements Listener {
      */
     @EventHandler(priority = EventPriority.HIGH)
     public void onPlayerInteractEntity(PlayerInteractEntityEvent event) {
-        Player player = event.getPlayer();
-        ItemStack item = player.getInventory().getItemInMainHand();
-
-        // 检查是否为固定物品
-        if (fixedItemManager.isFixedItem(item)) {
-            FixedItemData itemData = fixedItemManager.getFixedItemData(item);
-            if (itemData != null && itemData.isRightClickEnabled()) {
-                handleClick(player, itemData, false);
-                event.setCancelled(true);
+        long start = metricsManager.start(Metric.INTERACT_ENTITY);
+        try {
+            Player player = event.getPlayer();
+            ItemStack item = player.getInventory().getItemInMainHand();
+
+            // 检查是否为固定物品
+            if (fixedItemManager.isFixedItem(item)) {
+                FixedItemData itemData = fixedItemManager.getFixedItemData(item);
+                if (itemData != null && itemData.isRightClickEnabled()) {
+                    handleClick(player, itemData, false);
+                    event.setCancelled(true);
+                }
             }
+        } finally {
+            metricsManager.stop(Metric.INTERACT_ENTITY, start);
         }
     }
 
@@ -194,29 +301,27 @@ public class PlayerEventListener implements Listener {
      * @param isLeftClick 是否为左键点击
      */
     private void handleClick(Player player, FixedItemData itemData, boolean isLeftClick) {
-        String clickType = isLeftClick ? "left" : "right";
         int cooldown = isLeftClick ? itemData.getLeftClickCooldown() : itemData.getRightClickCooldown();
-        List<String> commands = isLeftClick ? itemData.getLeftClickCommands() : itemData.getRightClickCommands();
-        boolean asConsole = isLeftClick ? itemData.isLeftClickAsConsole() : itemData.isRightClickAsConsole();
+        com.hxstar.fixeditem.action.Action[] actions = isLeftClick
+                ? itemData.getLeftClickActions() : itemData.getRightClickActions();
         Sound sound = isLeftClick ? itemData.getLeftClickSound() : itemData.getRightClickSound();
         float volume = isLeftClick ? itemData.getLeftClickSoundVolume() : itemData.getRightClickSoundVolume();
         float pitch = isLeftClick ? itemData.getLeftClickSoundPitch() : itemData.getRightClickSoundPitch();
 
-        // 检查命令列表是否为空
-        if (commands == null || commands.isEmpty()) {
+        // 检查动作列表是否为空
+        if (actions.length == 0) {
             return;
         }
 
         // 检查冷却
         if (cooldown > 0) {
-            String cooldownKey = itemData.getItemId() + "_" + clickType;
+            String cooldownKey = itemData.getCooldownKey(isLeftClick);
             if (cooldownManager.isOnCooldown(player, cooldownKey)) {
+                metricsManager.countCooldownRejection();
                 long remaining = cooldownManager.getRemainingCooldown(player, cooldownKey);
-                String message = plugin.getLanguageManager().getPrefixedMessage(
-                        "cooldown.wait",
-                        "{time}", String.format("%.1f", remaining / 1000.0)
-                );
-                player.sendMessage(message);
+                debugJournal.record(DebugRecord.Type.COOLDOWN, player, itemData.getItemId(), (int) remaining);
+                auditLog.recordCooldown(player, itemData, remaining);
+                notificationManager.sendCooldown(player, remaining);
                 return;
             }
 
@@ -229,42 +334,13 @@ public class PlayerEventListener implements Listener {
             player.playSound(player.getLocation(), sound, volume, pitch);
         }
 
-        // 执行命令
-        executeCommands(player, commands, asConsole);
+        // 执行动作（需要审计时同时记下实际执行的内容）
+        String[] executed = auditLog.isLogging(itemData.getItemId()) ? new String[actions.length] : null;
+        actionManager.execute(player, actions, executed);
 
-        if (plugin.getConfigManager().isDebug()) {
-            plugin.getLogger().info("玩家 " + player.getName() + " " + (isLeftClick ? "左键" : "右键") +
-                    " 使用了固定物品: " + itemData.getItemId());
-        }
-    }
-
-    /**
-     * 执行命令列表
-     *
-     * @param player    玩家
-     * @param commands  命令列表
-     * @param asConsole 是否以控制台身份执行
-     */
-    private void executeCommands(Player player, List<String> commands, boolean asConsole) {
-        for (String command : commands) {
-            // 替换内置占位符
-            String processedCommand = command
-                    .replace("{player}", player.getName())
-                    .replace("{uuid}", player.getUniqueId().toString())
-                    .replace("{world}", player.getWorld().getName())
-                    .replace("{x}", String.valueOf(player.getLocation().getBlockX()))
-                    .replace("{y}", String.valueOf(player.getLocation().getBlockY()))
-                    .replace("{z}", String.valueOf(player.getLocation().getBlockZ()));
-
-            // 解析 PlaceholderAPI 占位符
-            processedCommand = PlaceholderUtil.parsePlaceholders(player, processedCommand);
-
-            // 执行命令
-            if (asConsole) {
-                Bukkit.dispatchCommand(Bukkit.getConsoleSender(), processedCommand);
-            } else {
-                player.performCommand(processedCommand);
-            }
+        debugJournal.record(DebugRecord.Type.CLICK, player, itemData.getItemId(), isLeftClick ? 0 : 1);
+        if (executed != null) {
+            auditLog.recordClick(player, itemData, isLeftClick, executed);
         }
     }
 
@@ -273,14 +349,19 @@ public class PlayerEventListener implements Listener {
      */
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerGameModeChange(PlayerGameModeChangeEvent event) {
-        Player player = event.getPlayer();
-
-        // 延迟检查固定物品
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline()) {
-                fixedItemManager.checkAndRestoreItems(player);
-            }
-        }, 3L);
+        long start = metricsManager.start(Metric.GAMEMODE_CHANGE);
+        try {
+            Player player = event.getPlayer();
+
+            // 延迟检查固定物品
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                if (player.isOnline()) {
+                    fixedItemManager.checkAndRestoreItems(player);
+                }
+            }, 3L);
+        } finally {
+            metricsManager.stop(Metric.GAMEMODE_CHANGE, start);
+        }
     }
 
     /**
@@ -288,13 +369,18 @@ public class PlayerEventListener implements Listener {
      */
     @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerItemHeld(PlayerItemHeldEvent event) {
-        Player player = event.getPlayer();
-
-        // 延迟检查，确保切换完成
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            if (player.isOnline()) {
-                fixedItemManager.checkAndRestoreItems(player);
-            }
-        }, 1L);
+        long start = metricsManager.start(Metric.ITEM_HELD);
+        try {
+            Player player = event.getPlayer();
+
+            // 延迟检查，确保切换完成
+            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+                if (player.isOnline()) {
+                    fixedItemManager.checkAndRestoreItems(player);
+                }
+            }, 1L);
+        } finally {
+            metricsManager.stop(Metric.ITEM_HELD, start);
+        }
     }
 }
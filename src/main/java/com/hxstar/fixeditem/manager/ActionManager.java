@@ -0,0 +1,258 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.action.Action;
+import com.hxstar.fixeditem.action.Action.Type;
+import com.hxstar.fixeditem.action.ActionHandler;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
+import com.hxstar.fixeditem.util.PlaceholderUtil;
+import com.hxstar.fixeditem.util.TimingWheel;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 动作管理器
+ * 执行加载时解析好的动作：按动作类型查表调用处理器，只有命令类动作才会经过命令分发，
+ * 发送消息、播放音效等动作直接调用 API。
+ * 不含占位符的文本不做任何替换，直接使用加载时着色后的结果。
+ *
+ * 含有 [delay:N] 的动作链挂在一个每 tick 推进一格的时间轮上，所有玩家的动作链共用一个任务。
+ * 玩家退出或切换世界时递增该玩家的取消版本号，等待中的动作链到期时发现版本号变化即放弃，
+ * 取消操作不需要遍历时间轮。时间轮为空时不再有动作链引用旧版本号，此时清空版本号记录。
+ */
+public class ActionManager {
+
+    // 时间轮槽位数（tick），超过一圈的延迟在槽位中等待多轮
+    private static final int WHEEL_SLOTS = 512;
+
+    private final HxFixedItem plugin;
+
+    // 处理器表，按 Action.Type 序号索引
+    private final ActionHandler[] handlers;
+
+    // 等待中的动作链（只在主线程访问）
+    private final TimingWheel<Chain> wheel;
+
+    // 玩家的取消版本号: UUID -> 版本号（没有记录视为0）
+    private final Map<UUID, Long> epochs;
+    private long epochCounter;
+
+    private long completed;
+    private long cancelled;
+
+    private BukkitTask task;
+
+    public ActionManager(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.handlers = new ActionHandler[Type.values().length];
+        this.wheel = new TimingWheel<>(WHEEL_SLOTS);
+        this.epochs = new HashMap<>();
+
+        register(Type.MESSAGE, (player, action, text) -> player.sendMessage(text));
+        register(Type.ACTIONBAR, (player, action, text) ->
+                player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(text)));
+        register(Type.TITLE, (player, action, text) -> {
+            String subtitle = action.isDynamic() ? render(player, action.getSubtitle()) : action.getSubtitle();
+            player.sendTitle(text, subtitle, action.getFadeIn(), action.getStay(), action.getFadeOut());
+        });
+        register(Type.SOUND, (player, action, text) ->
+                player.playSound(player.getLocation(), action.getSound(), action.getVolume(), action.getPitch()));
+        register(Type.CONSOLE, (player, action, text) -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), text));
+        register(Type.PLAYER, (player, action, text) -> player.performCommand(text));
+        register(Type.CLOSE, (player, action, text) -> player.closeInventory());
+        register(Type.MENU, (player, action, text) -> plugin.getMenuManager().open(player, text));
+    }
+
+    private void register(Type type, ActionHandler handler) {
+        handlers[type.ordinal()] = handler;
+    }
+
+    /**
+     * 启动时间轮任务（插件启用和重载时调用，重载不影响等待中的动作链）
+     */
+    public void start() {
+        if (task != null) {
+            task.cancel();
+        }
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * 停止时间轮任务并丢弃等待中的动作链
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        cancelled += wheel.size();
+        wheel.clear();
+        epochs.clear();
+    }
+
+    /**
+     * 依次执行动作
+     * 遇到 [delay:N] 时，剩余的动作放入时间轮，N tick 后继续执行
+     *
+     * @param player   玩家
+     * @param actions  动作
+     * @param executed 用于保存实际执行的内容（供审计日志），不需要时为null
+     */
+    public void execute(Player player, Action[] actions, String[] executed) {
+        execute(player, actions, 0, executed, epochOf(player.getUniqueId()));
+    }
+
+    /**
+     * 在指定 tick 后执行动作（用于不能在当前事件中执行的动作，如在界面点击事件中切换界面）
+     *
+     * @param player     玩家
+     * @param actions    动作
+     * @param delayTicks 延迟（tick）
+     */
+    public void schedule(Player player, Action[] actions, int delayTicks) {
+        wheel.schedule(new Chain(player, actions, 0, epochOf(player.getUniqueId())), delayTicks);
+    }
+
+    /**
+     * 取消玩家等待中的动作链（退出或切换世界时调用）
+     *
+     * @param player 玩家
+     */
+    public void cancel(Player player) {
+        epochs.put(player.getUniqueId(), ++epochCounter);
+    }
+
+    /**
+     * 获取等待中的动作链数量（包含已取消但尚未到期的）
+     */
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * 获取经过延迟后执行完成的动作链数量
+     */
+    public long getCompletedCount() {
+        return completed;
+    }
+
+    /**
+     * 获取因玩家退出、切换世界或插件卸载而放弃的动作链数量
+     */
+    public long getCancelledCount() {
+        return cancelled;
+    }
+
+    private long epochOf(UUID playerId) {
+        Long epoch = epochs.get(playerId);
+        return epoch != null ? epoch : 0L;
+    }
+
+    /**
+     * 时间轮任务：每 tick 推进一格，继续执行到期的动作链
+     */
+    private void tick() {
+        if (wheel.size() == 0) {
+            if (!epochs.isEmpty()) {
+                epochs.clear();
+            }
+            wheel.advance(this::resume);
+            return;
+        }
+
+        MetricsManager metricsManager = plugin.getMetricsManager();
+        long start = metricsManager.start(Metric.ACTION_CHAIN);
+        try {
+            wheel.advance(this::resume);
+        } finally {
+            metricsManager.stop(Metric.ACTION_CHAIN, start);
+        }
+    }
+
+    private void resume(Chain chain) {
+        Player player = chain.player;
+        // 玩家重新进服后是新的玩家对象，旧动作链不再继续
+        if (!player.isOnline() || Bukkit.getPlayer(player.getUniqueId()) != player
+                || chain.epoch != epochOf(player.getUniqueId())) {
+            cancelled++;
+            return;
+        }
+        if (execute(player, chain.actions, chain.next, null, chain.epoch)) {
+            completed++;
+        }
+    }
+
+    /**
+     * @return 是否已执行完全部动作（否则剩余动作已放入时间轮）
+     */
+    private boolean execute(Player player, Action[] actions, int from, String[] executed, long epoch) {
+        for (int i = from; i < actions.length; i++) {
+            Action action = actions[i];
+
+            if (action.getType() == Type.DELAY) {
+                // 延迟执行的动作在审计日志中记录配置原文
+                if (executed != null) {
+                    for (int j = i; j < actions.length; j++) {
+                        executed[j] = actions[j].getSource();
+                    }
+                }
+                if (i + 1 >= actions.length) {
+                    return true;
+                }
+                wheel.schedule(new Chain(player, actions, i + 1, epoch), action.getDelay());
+                return false;
+            }
+
+            String text = action.getText();
+            if (text != null && action.isDynamic()) {
+                text = render(player, text);
+            }
+
+            if (executed != null) {
+                Type type = action.getType();
+                executed[i] = type == Type.CONSOLE || type == Type.PLAYER
+                        ? "[" + type.getTag() + "] " + text
+                        : action.getSource();
+            }
+
+            try {
+                handlers[action.getType().ordinal()].handle(player, action, text);
+            } catch (RuntimeException e) {
+                plugin.getLogger().warning("执行动作 " + action.getSource() + " 时出错: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 替换内置占位符与 PlaceholderAPI 占位符
+     */
+    private static String render(Player player, String text) {
+        return PlaceholderUtil.parsePlaceholders(player, PlaceholderUtil.applyBuiltinPlaceholders(player, text));
+    }
+
+    /**
+     * 等待中的动作链：到期后从 next 开始继续执行
+     */
+    private static final class Chain {
+
+        private final Player player;
+        private final Action[] actions;
+        private final int next;
+        private final long epoch;
+
+        private Chain(Player player, Action[] actions, int next, long epoch) {
+            this.player = player;
+            this.actions = actions;
+            this.next = next;
+            this.epoch = epoch;
+        }
+    }
+}
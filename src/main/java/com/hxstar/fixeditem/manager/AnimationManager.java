@@ -0,0 +1,227 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
+import com.hxstar.fixeditem.model.FixedItemData;
+import com.hxstar.fixeditem.model.ItemAnimation;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 动画管理器
+ * 所有动画物品共用一个每 tick 执行的任务：
+ * - 每个动画物品的每一帧在启动时构建为完整的物品，切换帧只需一次 setItem
+ * - 只有帧号发生变化的物品才会处理，且只写入玩家能看到的槽位（手持、副手，打开容器时的整个背包）
+ * - 只处理位于启用世界中的玩家
+ * - 写入后记下槽位中的物品，下次切换帧时与其比较即可确认仍是该固定物品，不必再读取 ItemMeta
+ */
+public class AnimationManager {
+
+    // 副手槽位
+    private static final int OFF_HAND_SLOT = 40;
+
+    private final HxFixedItem plugin;
+
+    // 动画物品列表（启动时构建）
+    private AnimatedItem[] animatedItems;
+
+    // 本 tick 切换了帧的物品（启动时按动画物品数量分配，每 tick 复用）
+    private AnimatedItem[] changed;
+
+    // 玩家上次写入的帧: UUID -> 记录
+    private final Map<UUID, WrittenFrames> writtenFrames;
+
+    private BukkitTask task;
+    private long tick;
+
+    public AnimationManager(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.animatedItems = new AnimatedItem[0];
+        this.changed = new AnimatedItem[0];
+        this.writtenFrames = new HashMap<>();
+    }
+
+    /**
+     * 按当前配置构建动画帧并启动动画任务
+     */
+    public void start() {
+        stop();
+
+        List<AnimatedItem> items = new ArrayList<>();
+        for (FixedItemData itemData : plugin.getConfigManager().getFixedItems().values()) {
+            ItemAnimation animation = itemData.getAnimation();
+            if (animation != null && animation.getFrameCount() > 1) {
+                items.add(new AnimatedItem(items.size(), itemData, buildFrames(itemData, animation)));
+            }
+        }
+        animatedItems = items.toArray(new AnimatedItem[0]);
+        changed = new AnimatedItem[animatedItems.length];
+
+        if (animatedItems.length > 0) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * 停止动画任务
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        tick = 0;
+        writtenFrames.clear();
+    }
+
+    /**
+     * 清除玩家数据（退出时调用）
+     *
+     * @param player 玩家
+     */
+    public void clearPlayer(Player player) {
+        writtenFrames.remove(player.getUniqueId());
+    }
+
+    /**
+     * 构建每一帧的物品
+     * 以普通方式创建的物品为基础，只替换名称与描述，保留标识数据与外观版本戳
+     */
+    private ItemStack[] buildFrames(FixedItemData itemData, ItemAnimation animation) {
+        ItemStack base = plugin.getFixedItemManager().createFixedItem(itemData);
+        ItemStack[] frames = new ItemStack[animation.getFrameCount()];
+        for (int frame = 0; frame < frames.length; frame++) {
+            ItemStack item = base.clone();
+            ItemMeta meta = item.getItemMeta();
+            if (meta != null) {
+                meta.setDisplayName(animation.getName(frame));
+                meta.setLore(animation.getLore(frame));
+                item.setItemMeta(meta);
+            }
+            frames[frame] = item;
+        }
+        return frames;
+    }
+
+    /**
+     * 动画任务：推进帧号并写入可见槽位
+     */
+    private void tick() {
+        tick++;
+
+        AnimatedItem[] changed = this.changed;
+        int changedCount = 0;
+        for (AnimatedItem item : animatedItems) {
+            if (tick % item.interval == 0) {
+                changed[changedCount++] = item;
+            }
+        }
+        if (changedCount == 0) {
+            return;
+        }
+
+        MetricsManager metricsManager = plugin.getMetricsManager();
+        long start = metricsManager.start(Metric.ANIMATION);
+        try {
+            ConfigManager configManager = plugin.getConfigManager();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                if (!configManager.isWorldEnabled(player.getWorld().getName())) {
+                    continue;
+                }
+                animate(player, changed, changedCount);
+            }
+        } finally {
+            metricsManager.stop(Metric.ANIMATION, start);
+        }
+    }
+
+    /**
+     * 为单个玩家写入切换了帧的可见物品
+     */
+    private void animate(Player player, AnimatedItem[] changed, int changedCount) {
+        PlayerInventory inventory = player.getInventory();
+        int heldSlot = inventory.getHeldItemSlot();
+
+        // 打开了容器时整个背包都可见（自身背包界面无法在服务端判断是否打开）
+        InventoryType viewType = player.getOpenInventory().getType();
+        boolean inventoryVisible = viewType != InventoryType.CRAFTING && viewType != InventoryType.CREATIVE;
+
+        OverrideManager overrideManager = plugin.getOverrideManager();
+        WrittenFrames written = null;
+        int writes = 0;
+        for (int i = 0; i < changedCount; i++) {
+            AnimatedItem animated = changed[i];
+            int slot = overrideManager.getSlot(player, animated.itemData);
+            if (slot < 0 || (slot != heldSlot && slot != OFF_HAND_SLOT && !inventoryVisible)) {
+                continue;
+            }
+
+            // 只替换槽位中确实是该固定物品的物品（没有权限或尚未恢复时不写入）
+            ItemStack current = inventory.getItem(slot);
+            if (current == null || current.getType() != animated.itemData.getMaterial()) {
+                continue;
+            }
+            if (written == null) {
+                written = writtenFrames.computeIfAbsent(player.getUniqueId(),
+                        key -> new WrittenFrames(animatedItems.length));
+            }
+            // 槽位中仍是上次写入的帧时无需读取 ItemMeta，否则读取物品ID确认
+            ItemStack last = written.slots[animated.index] == slot ? written.items[animated.index] : null;
+            if ((last == null || !current.isSimilar(last))
+                    && !animated.itemData.getItemId().equals(plugin.getFixedItemManager().getFixedItemId(current))) {
+                continue;
+            }
+
+            int frame = (int) ((tick / animated.interval) % animated.frames.length);
+            inventory.setItem(slot, animated.frames[frame]);
+            // 记下写入后槽位中的物品（服务端返回的是槽位物品的镜像，比较时同一物品可直接判定相同）
+            written.items[animated.index] = inventory.getItem(slot);
+            written.slots[animated.index] = slot;
+            writes++;
+        }
+        plugin.getFixedItemManager().getReconciler().recordWrites(player, writes);
+    }
+
+    /**
+     * 动画物品及其预先构建的帧
+     */
+    private static final class AnimatedItem {
+
+        private final int index;
+        private final FixedItemData itemData;
+        private final ItemStack[] frames;
+        private final int interval;
+
+        private AnimatedItem(int index, FixedItemData itemData, ItemStack[] frames) {
+            this.index = index;
+            this.itemData = itemData;
+            this.frames = frames;
+            this.interval = itemData.getAnimation().getInterval();
+        }
+    }
+
+    /**
+     * 玩家每个动画物品上次写入的槽位与物品，按动画物品下标索引
+     */
+    private static final class WrittenFrames {
+
+        private final ItemStack[] items;
+        private final int[] slots;
+
+        private WrittenFrames(int size) {
+            this.items = new ItemStack[size];
+            this.slots = new int[size];
+        }
+    }
+}
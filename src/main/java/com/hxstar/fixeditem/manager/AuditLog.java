@@ -0,0 +1,209 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.manager.MetricsManager.CancelReason;
+import com.hxstar.fixeditem.model.AuditRecord;
+import com.hxstar.fixeditem.model.AuditRecord.Type;
+import com.hxstar.fixeditem.model.FixedItemData;
+import com.hxstar.fixeditem.util.LogFileWorker;
+import com.hxstar.fixeditem.util.RingBuffer;
+import com.hxstar.fixeditem.util.RotatingFileWriter;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 审计日志
+ * 记录玩家点击固定物品、执行的动作、冷却拒绝与被拦截的操作，供发放奖励类物品追溯。
+ * 主线程每个事件只做一次无锁入队，由后台线程批量格式化写入按大小与时间滚动的日志文件。
+ *
+ * 文件格式: 每行一条，字段以制表符分隔
+ * 时间  类型  玩家名  玩家UUID  物品ID  附加信息
+ * 点击记录之后紧跟其执行的动作，每个动作一行，类型为 action，附加信息为动作内容（命令含执行身份）
+ */
+public class AuditLog {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    // 后台线程每批最多写入的记录数
+    private static final int DRAIN_BATCH = 1024;
+
+    // 缓冲区为空时后台线程的等待时间（纳秒）
+    private static final long IDLE_PARK_NANOS = 100_000_000L;
+
+    private final HxFixedItem plugin;
+
+    private volatile boolean enabled;
+    private volatile RingBuffer<AuditRecord> buffer;
+
+    // 记录的物品ID（空集合表示全部记录）
+    private volatile Set<String> itemFilter;
+
+    private final LogFileWorker<AuditRecord> worker;
+
+    public AuditLog(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.itemFilter = Collections.emptySet();
+        this.worker = new LogFileWorker<>("HxFixedItem-Audit", "审计日志", plugin.getLogger(),
+                DRAIN_BATCH, IDLE_PARK_NANOS, AuditLog::write, this::reportDropped);
+    }
+
+    /**
+     * 按配置启动或停止审计日志（插件启用和重载时调用）
+     */
+    public void start() {
+        stop();
+
+        ConfigManager config = plugin.getConfigManager();
+        if (!config.isAuditEnabled()) {
+            return;
+        }
+
+        this.itemFilter = new HashSet<>(config.getAuditItems());
+        this.buffer = new RingBuffer<>(config.getAuditBufferSize());
+
+        File file = new File(plugin.getDataFolder(), config.getAuditFile());
+        RotatingFileWriter writer = new RotatingFileWriter(file,
+                config.getAuditMaxSizeMb() * 1024L * 1024L, config.getAuditMaxFiles(),
+                TimeUnit.HOURS.toMillis(config.getAuditRotateHours()), config.isAuditCompress());
+
+        worker.start(buffer, writer);
+        enabled = true;
+
+        plugin.getLogger().info("审计日志已开启，写入 " + file.getName());
+    }
+
+    /**
+     * 停止后台线程，并写完缓冲区中剩余的记录
+     */
+    public void stop() {
+        enabled = false;
+        worker.stop();
+    }
+
+    /**
+     * 是否需要记录该物品的事件（在构造任何字符串或对象之前调用）
+     *
+     * @param itemId 物品ID
+     */
+    public boolean isLogging(String itemId) {
+        return enabled && (itemFilter.isEmpty() || itemFilter.contains(itemId));
+    }
+
+    /**
+     * 记录点击及其执行的动作
+     *
+     * @param player    玩家
+     * @param itemData  物品数据
+     * @param leftClick 是否为左键
+     * @param actions   执行的动作
+     */
+    public void recordClick(Player player, FixedItemData itemData, boolean leftClick, String[] actions) {
+        if (!isLogging(itemData.getItemId())) {
+            return;
+        }
+        offer(new AuditRecord(Type.CLICK, player.getUniqueId(), player.getName(), itemData.getItemId(),
+                leftClick ? "left" : "right", actions));
+    }
+
+    /**
+     * 记录冷却拒绝
+     *
+     * @param player          玩家
+     * @param itemData        物品数据
+     * @param remainingMillis 剩余冷却（毫秒）
+     */
+    public void recordCooldown(Player player, FixedItemData itemData, long remainingMillis) {
+        if (!isLogging(itemData.getItemId())) {
+            return;
+        }
+        offer(new AuditRecord(Type.COOLDOWN, player.getUniqueId(), player.getName(), itemData.getItemId(),
+                remainingMillis + "ms", null));
+    }
+
+    /**
+     * 记录被拦截的操作
+     *
+     * @param player   玩家
+     * @param itemData 涉及的固定物品，无法确定时为null
+     * @param reason   拦截原因
+     */
+    public void recordCancel(Player player, FixedItemData itemData, CancelReason reason) {
+        String itemId = itemData != null ? itemData.getItemId() : null;
+        if (itemId != null ? !isLogging(itemId) : !enabled || !itemFilter.isEmpty()) {
+            return;
+        }
+        offer(new AuditRecord(Type.PROTECTION, player.getUniqueId(), player.getName(), itemId,
+                reason.getDisplayName(), null));
+    }
+
+    /**
+     * 获取因缓冲区已满而丢弃的记录数
+     */
+    public long getDropped() {
+        RingBuffer<AuditRecord> current = buffer;
+        return current != null ? current.getDropped() : 0L;
+    }
+
+    private void offer(AuditRecord record) {
+        RingBuffer<AuditRecord> current = buffer;
+        if (current != null) {
+            current.offer(record);
+        }
+    }
+
+    /**
+     * 有记录因缓冲区已满被丢弃时写入一行说明，使审计日志中的缺口可被发现（后台线程）
+     */
+    private void reportDropped(RotatingFileWriter writer, long count) throws IOException {
+        plugin.getLogger().warning("审计日志缓冲区已满，丢弃了 " + count + " 条记录，请调大 buffer-size");
+        writer.writeLine(TIME_FORMAT.format(Instant.now()) + "\tdropped\t-\t-\t-\t" + count);
+    }
+
+    /**
+     * 写入一条记录（后台线程），点击记录之后紧跟其执行的动作
+     */
+    private static void write(RotatingFileWriter writer, StringBuilder line, AuditRecord record) throws IOException {
+        appendPrefix(line, record, record.getType().getDisplayName());
+        appendField(line, record.getDetail());
+        writer.writeLine(line.toString());
+
+        String[] actions = record.getActions();
+        if (actions != null) {
+            for (String action : actions) {
+                line.setLength(0);
+                appendPrefix(line, record, "action");
+                appendField(line, action);
+                writer.writeLine(line.toString());
+            }
+        }
+    }
+
+    private static void appendPrefix(StringBuilder line, AuditRecord record, String type) {
+        TIME_FORMAT.formatTo(Instant.ofEpochMilli(record.getTime()), line);
+        line.append('\t').append(type)
+                .append('\t').append(record.getPlayerName())
+                .append('\t').append(record.getPlayerId())
+                .append('\t').append(record.getItemId() != null ? record.getItemId() : "-")
+                .append('\t');
+    }
+
+    /**
+     * 追加字段内容，制表符与换行替换为空格，保证每条记录占一行
+     */
+    private static void appendField(StringBuilder line, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            line.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+        }
+    }
+}
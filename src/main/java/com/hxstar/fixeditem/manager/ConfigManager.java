@@ -1,8 +1,12 @@
 package com.hxstar.fixeditem.manager;
 
 import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.action.Action;
+import com.hxstar.fixeditem.action.ActionParser;
 import com.hxstar.fixeditem.model.FixedItemData;
+import com.hxstar.fixeditem.model.ItemAnimation;
 import com.hxstar.fixeditem.util.ColorUtil;
+import com.hxstar.fixeditem.util.SlotMapper;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.configuration.ConfigurationSection;
@@ -19,20 +23,75 @@ import java.util.*;
  */
 public class ConfigManager {
 
+    // 单个动画的最大帧数
+    private static final int MAX_ANIMATION_FRAMES = 600;
+
     private final HxFixedItem plugin;
     private FileConfiguration config;
     private File configFile;
 
     // 配置缓存
     private Set<String> enabledWorlds;
-    private Map<String, FixedItemData> fixedItems;
+    // 固定物品与配置版本号一起发布，异步线程一次读取即可得到一致的一份
+    private volatile ItemSnapshot itemSnapshot;
+    private boolean[] fixedMaterials;
+    private FixedItemData[] slotTable;
     private int checkInterval;
     private boolean debug;
+    private String debugFile;
+    private int debugMaxSizeMb;
+    private int debugMaxFiles;
+    private int debugBufferSize;
+    private List<String> debugFilterPlayers;
+    private List<String> debugFilterItems;
+    private List<String> debugFilterTypes;
+    private boolean auditEnabled;
+    private String auditFile;
+    private int auditMaxSizeMb;
+    private int auditMaxFiles;
+    private int auditRotateHours;
+    private boolean auditCompress;
+    private int auditBufferSize;
+    private List<String> auditItems;
+    private long notifyInterval;
+    private boolean notifyActionBar;
+    private boolean prepareEnabled;
+    private boolean prepareAsyncPlaceholders;
+    private long rolloutTickBudgetNanos;
+    private boolean metricsEnabled;
+    private boolean metricsTrackAllocations;
+    private MetricsExporter.Mode metricsExportMode;
+    private String metricsExportHost;
+    private int metricsExportPort;
+    private String metricsExportFile;
+    private int metricsExportInterval;
+    private long placeholderDefaultTtl;
+    private Map<String, Long> placeholderTtls;
+    private String overridesFile;
+    private int overridesCompactInterval;
+    private int overridesSlotCooldown;
+    private boolean syncEnabled;
+    private String syncBackend;
+    private String syncServerId;
+    private String syncChannel;
+    private long syncFlushInterval;
+    private int syncStateTtlHours;
+    private String syncRedisHost;
+    private int syncRedisPort;
+    private String syncRedisPassword;
+    private int syncRedisDatabase;
+    private int syncRedisTimeout;
+    private boolean actionsCancelOnWorldChange;
+
+    // 配置版本号计数（只在主线程递增，发布在 itemSnapshot 中）
+    private int generationCounter;
 
     public ConfigManager(HxFixedItem plugin) {
         this.plugin = plugin;
         this.enabledWorlds = new HashSet<>();
-        this.fixedItems = new HashMap<>();
+        this.itemSnapshot = new ItemSnapshot(0, new HashMap<>());
+        this.fixedMaterials = new boolean[Material.values().length];
+        this.slotTable = new FixedItemData[SlotMapper.PLAYER_SLOTS];
     }
 
     /**
@@ -53,11 +112,54 @@ public class ConfigManager {
         // 加载其他设置
         checkInterval = config.getInt("settings.check-interval", 5);
         debug = config.getBoolean("settings.debug", false);
+        debugFile = config.getString("settings.debug-journal.file", "debug.log");
+        debugMaxSizeMb = Math.max(1, config.getInt("settings.debug-journal.max-size-mb", 10));
+        debugMaxFiles = Math.max(0, config.getInt("settings.debug-journal.max-files", 5));
+        debugBufferSize = Math.max(64, config.getInt("settings.debug-journal.buffer-size", 8192));
+        debugFilterPlayers = config.getStringList("settings.debug-journal.filter.players");
+        debugFilterItems = config.getStringList("settings.debug-journal.filter.items");
+        debugFilterTypes = config.getStringList("settings.debug-journal.filter.types");
+        auditEnabled = config.getBoolean("settings.audit.enabled", false);
+        auditFile = config.getString("settings.audit.file", "audit.log");
+        auditMaxSizeMb = Math.max(0, config.getInt("settings.audit.max-size-mb", 50));
+        auditMaxFiles = Math.max(0, config.getInt("settings.audit.max-files", 30));
+        auditRotateHours = Math.max(0, config.getInt("settings.audit.rotate-hours", 24));
+        auditCompress = config.getBoolean("settings.audit.compress", true);
+        auditBufferSize = Math.max(64, config.getInt("settings.audit.buffer-size", 65536));
+        auditItems = config.getStringList("settings.audit.items");
+        notifyInterval = config.getLong("settings.notify.min-interval", 1000L);
+        notifyActionBar = "actionbar".equalsIgnoreCase(config.getString("settings.notify.mode", "chat"));
+        prepareEnabled = config.getBoolean("settings.prepare.enabled", true);
+        prepareAsyncPlaceholders = config.getBoolean("settings.prepare.async-placeholders", false);
+        rolloutTickBudgetNanos = (long) (config.getDouble("settings.rollout.tick-budget-ms", 2.0) * 1_000_000L);
+        metricsEnabled = config.getBoolean("settings.metrics.enabled", false);
+        metricsTrackAllocations = config.getBoolean("settings.metrics.track-allocations", true);
+        metricsExportMode = MetricsExporter.Mode.parse(config.getString("settings.metrics.exporter.mode", "none"));
+        metricsExportHost = config.getString("settings.metrics.exporter.host", "127.0.0.1");
+        metricsExportPort = config.getInt("settings.metrics.exporter.port", 9464);
+        metricsExportFile = config.getString("settings.metrics.exporter.file", "metrics.prom");
+        metricsExportInterval = Math.max(1, config.getInt("settings.metrics.exporter.interval", 10));
+        loadPlaceholderTtls();
+        overridesFile = config.getString("settings.overrides.file", "overrides.log");
+        overridesCompactInterval = Math.max(0, config.getInt("settings.overrides.compact-interval", 10));
+        overridesSlotCooldown = Math.max(0, config.getInt("settings.overrides.slot-cooldown", 3));
+        syncEnabled = config.getBoolean("settings.sync.enabled", false);
+        syncBackend = config.getString("settings.sync.backend", "redis");
+        syncServerId = config.getString("settings.sync.server-id", "");
+        syncChannel = config.getString("settings.sync.channel", "hxfixeditem");
+        syncFlushInterval = Math.max(10L, config.getLong("settings.sync.flush-interval", 50L));
+        syncStateTtlHours = Math.max(0, config.getInt("settings.sync.state-ttl-hours", 720));
+        syncRedisHost = config.getString("settings.sync.redis.host", "127.0.0.1");
+        syncRedisPort = config.getInt("settings.sync.redis.port", 6379);
+        syncRedisPassword = config.getString("settings.sync.redis.password", "");
+        syncRedisDatabase = config.getInt("settings.sync.redis.database", 0);
+        syncRedisTimeout = Math.max(100, config.getInt("settings.sync.redis.timeout", 2000));
+        actionsCancelOnWorldChange = config.getBoolean("settings.actions.cancel-on-world-change", true);
 
         if (debug) {
             plugin.getLogger().info("配置加载完成！");
             plugin.getLogger().info("启用的世界: " + enabledWorlds);
-            plugin.getLogger().info("固定物品数量: " + fixedItems.size());
+            plugin.getLogger().info("固定物品数量: " + itemSnapshot.getItems().size());
         }
     }
 
@@ -70,15 +172,33 @@ public class ConfigManager {
         enabledWorlds.addAll(worlds);
     }
 
+    /**
+     * 加载占位符缓存有效期
+     */
+    private void loadPlaceholderTtls() {
+        placeholderDefaultTtl = Math.max(0L, config.getLong("settings.placeholders.default-ttl", 1000L));
+
+        Map<String, Long> ttls = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("settings.placeholders.ttl");
+        if (section != null) {
+            for (String key : section.getKeys(false)) {
+                ttls.put(key.toLowerCase(Locale.ROOT), Math.max(0L, section.getLong(key)));
+            }
+        }
+        placeholderTtls = ttls;
+    }
+
     /**
      * 加载固定物品配置
      */
     private void loadFixedItems() {
-        fixedItems.clear();
+        // 构建新的映射后与新版本号一起整体替换，异步预加载线程读取到的始终是完整的一份配置
+        Map<String, FixedItemData> items = new HashMap<>();
         ConfigurationSection itemsSection = config.getConfigurationSection("fixed-items");
 
         if (itemsSection == null) {
             plugin.getLogger().warning("配置文件中未找到 fixed-items 节点！");
+            publish(items);
             return;
         }
 
@@ -88,7 +208,7 @@ public class ConfigManager {
 
             try {
                 FixedItemData itemData = parseFixedItemData(itemId, itemSection);
-                fixedItems.put(itemId, itemData);
+                items.put(itemId, itemData);
 
                 if (debug) {
                     plugin.getLogger().info("加载固定物品: " + itemId + " -> 槽位 " + itemData.getSlot());
@@ -97,6 +217,56 @@ public class ConfigManager {
                 plugin.getLogger().severe("加载固定物品 " + itemId + " 时出错: " + e.getMessage());
             }
         }
+
+        publish(items);
+    }
+
+    /**
+     * 重建查询表后发布新的固定物品与配置版本号
+     */
+    private void publish(Map<String, FixedItemData> items) {
+        rebuildLookupTables(items);
+        itemSnapshot = new ItemSnapshot(++generationCounter, Collections.unmodifiableMap(items));
+    }
+
+    /**
+     * 重建查询表
+     * - 材质表以 Material 序号为下标，供漏斗、拾取等高频事件在读取 ItemMeta 前快速排除
+     * - 槽位表以玩家背包槽位为下标，供槽位保护直接索引（只包含默认布局中的物品）
+     */
+    private void rebuildLookupTables(Map<String, FixedItemData> items) {
+        boolean[] materials = new boolean[Material.values().length];
+        FixedItemData[] slots = new FixedItemData[SlotMapper.PLAYER_SLOTS];
+        for (FixedItemData data : items.values()) {
+            materials[data.getMaterial().ordinal()] = true;
+            if (!data.isDefaultItem()) {
+                continue;
+            }
+            if (slots[data.getSlot()] != null) {
+                plugin.getLogger().warning("固定物品 " + data.getItemId() + " 与 "
+                        + slots[data.getSlot()].getItemId() + " 使用了相同的槽位 " + data.getSlot());
+            }
+            slots[data.getSlot()] = data;
+        }
+        fixedMaterials = materials;
+        slotTable = slots;
+    }
+
+    /**
+     * 检查动画的任一帧是否含有 PlaceholderAPI 占位符
+     */
+    private static boolean hasPlaceholders(ItemAnimation animation) {
+        for (int frame = 0; frame < animation.getFrameCount(); frame++) {
+            if (animation.getName(frame).indexOf('%') >= 0) {
+                return true;
+            }
+            for (String line : animation.getLore(frame)) {
+                if (line.indexOf('%') >= 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
@@ -106,7 +276,11 @@ public class ConfigManager {
         FixedItemData data = new FixedItemData(itemId);
 
         // 基础属性
-        data.setSlot(section.getInt("slot", 8));
+        int slot = section.getInt("slot", 8);
+        if (!SlotMapper.isValidPlayerSlot(slot)) {
+            throw new IllegalArgumentException("无效的槽位: " + slot + "（可用范围 0-40）");
+        }
+        data.setSlot(slot);
 
         // 物品材质
         String materialName = section.getString("material", "NETHER_STAR");
@@ -134,12 +308,51 @@ public class ConfigManager {
         // 是否发光
         data.setGlowing(section.getBoolean("glowing", false));
 
-        // 左键命令配置
+        // 所需权限（留空则所有玩家都会获得）
+        data.setPermission(section.getString("permission", ""));
+
+        // 是否属于默认布局
+        data.setDefaultItem(section.getBoolean("default", true));
+
+        // 名称或描述中含有 PlaceholderAPI 占位符时，需要按玩家单独渲染
+        boolean dynamicName = data.getDisplayName().indexOf('%') >= 0;
+        List<Integer> dynamicLines = new ArrayList<>();
+        for (int i = 0; i < coloredLore.size(); i++) {
+            if (coloredLore.get(i).indexOf('%') >= 0) {
+                dynamicLines.add(i);
+            }
+        }
+        boolean dynamic = dynamicName || !dynamicLines.isEmpty();
+        data.setDynamic(dynamic);
+        data.setDynamicName(dynamicName);
+        data.setDynamicLoreLines(dynamicLines.stream().mapToInt(Integer::intValue).toArray());
+
+        // 动态名称与描述的定时刷新间隔（秒），只对含占位符的物品生效
+        data.setLoreRefreshTicks(dynamic ? Math.max(0, section.getInt("lore-refresh", 0)) * 20 : 0);
+
+        // 名称与描述动画：动画帧是预先构建的物品，无法按玩家解析占位符，
+        // 因此只有名称、描述与各帧都不含占位符时才启用，物品的初始外观使用第一帧
+        ItemAnimation animation = parseAnimation(itemId, section.getConfigurationSection("animation"), data);
+        if (animation != null) {
+            if (dynamic || hasPlaceholders(animation)) {
+                plugin.getLogger().warning("固定物品 " + itemId + " 含有 PlaceholderAPI 占位符，不支持动画，已忽略动画配置");
+            } else {
+                data.setDisplayName(animation.getName(0));
+                data.setLore(animation.getLore(0));
+                data.setAnimation(animation);
+            }
+        }
+
+        // 外观版本戳：外观未变化的固定物品在重载后无需重新写入背包
+        // 只使用内容稳定的哈希（枚举取名称），保证服务器重启后版本戳不变
+        data.setStamp(Objects.hash(data.getMaterial().name(), data.getDisplayName(), data.getLore(),
+                data.getCustomModelData(), data.isGlowing()));
+
+        // 左键动作配置
         ConfigurationSection leftClickSection = section.getConfigurationSection("left-click");
         if (leftClickSection != null) {
             data.setLeftClickEnabled(leftClickSection.getBoolean("enabled", false));
-            data.setLeftClickCommands(leftClickSection.getStringList("commands"));
-            data.setLeftClickAsConsole(leftClickSection.getBoolean("as-console", false));
+            data.setLeftClickActions(parseActions(leftClickSection, "固定物品 " + itemId + " 的左键"));
             data.setLeftClickCooldown(leftClickSection.getInt("cooldown", 0));
 
             // 左键音效配置
@@ -155,12 +368,11 @@ public class ConfigManager {
             data.setLeftClickSoundPitch((float) leftClickSection.getDouble("sound-pitch", 1.0));
         }
 
-        // 右键命令配置
+        // 右键动作配置
         ConfigurationSection rightClickSection = section.getConfigurationSection("right-click");
         if (rightClickSection != null) {
             data.setRightClickEnabled(rightClickSection.getBoolean("enabled", true));
-            data.setRightClickCommands(rightClickSection.getStringList("commands"));
-            data.setRightClickAsConsole(rightClickSection.getBoolean("as-console", false));
+            data.setRightClickActions(parseActions(rightClickSection, "固定物品 " + itemId + " 的右键"));
             data.setRightClickCooldown(rightClickSection.getInt("cooldown", 3));
 
             // 右键音效配置
@@ -195,6 +407,153 @@ public class ConfigManager {
         return data;
     }
 
+    /**
+     * 解析点击动作
+     * 优先读取 actions，未配置时读取旧版的 commands；没有类型标签的行按 as-console 作为命令执行
+     *
+     * @param section left-click / right-click 节点
+     * @param context 出错时提示的位置
+     * @return 动作数组
+     */
+    private Action[] parseActions(ConfigurationSection section, String context) {
+        List<String> lines = section.isList("actions")
+                ? section.getStringList("actions")
+                : section.getStringList("commands");
+        return ActionParser.parseAll(lines, section.getBoolean("as-console", false), plugin.getLogger(), context);
+    }
+
+    /**
+     * 解析名称与描述动画
+     * 名称与每一行描述各自是一条轨道，总帧数取各轨道帧数的最小公倍数（超过上限时取最大值）
+     *
+     * @param itemId  物品ID
+     * @param section animation 节点（可为null）
+     * @param data    物品数据（提供静态名称与描述）
+     * @return 动画数据，未配置时返回null
+     */
+    @SuppressWarnings("unchecked")
+    private ItemAnimation parseAnimation(String itemId, ConfigurationSection section, FixedItemData data) {
+        if (section == null) {
+            return null;
+        }
+
+        String[] nameTrack = parseAnimationTrack(itemId, section.getConfigurationSection("display-name"));
+
+        // 描述轨道: 行号（从0开始） -> 每一帧的文本
+        Map<Integer, String[]> loreTracks = new TreeMap<>();
+        ConfigurationSection loreSection = section.getConfigurationSection("lore");
+        if (loreSection != null) {
+            for (String key : loreSection.getKeys(false)) {
+                try {
+                    int line = Integer.parseInt(key);
+                    String[] track = parseAnimationTrack(itemId, loreSection.getConfigurationSection(key));
+                    if (line >= 0 && track != null) {
+                        loreTracks.put(line, track);
+                    }
+                } catch (NumberFormatException e) {
+                    plugin.getLogger().warning("固定物品 " + itemId + " 的动画描述行号无效: " + key);
+                }
+            }
+        }
+
+        if (nameTrack == null && loreTracks.isEmpty()) {
+            return null;
+        }
+
+        int frameCount = nameTrack != null ? nameTrack.length : 1;
+        for (String[] track : loreTracks.values()) {
+            frameCount = lcm(frameCount, track.length);
+        }
+
+        String[] names = new String[frameCount];
+        List<String>[] lores = new List[frameCount];
+        for (int frame = 0; frame < frameCount; frame++) {
+            names[frame] = nameTrack != null ? nameTrack[frame % nameTrack.length] : data.getDisplayName();
+
+            List<String> lore = new ArrayList<>(data.getLore());
+            for (Map.Entry<Integer, String[]> entry : loreTracks.entrySet()) {
+                while (lore.size() <= entry.getKey()) {
+                    lore.add("");
+                }
+                String[] track = entry.getValue();
+                lore.set(entry.getKey(), track[frame % track.length]);
+            }
+            lores[frame] = lore;
+        }
+
+        int interval = Math.max(1, section.getInt("interval", 2));
+        return new ItemAnimation(interval, names, lores);
+    }
+
+    /**
+     * 解析单条动画轨道
+     * - gradient: 渐变色沿文本流动
+     * - rainbow: 彩虹色沿文本流动
+     * - frames: 逐帧切换的文本列表
+     *
+     * @param itemId  物品ID
+     * @param section 轨道节点（可为null）
+     * @return 每一帧的文本，未配置或配置无效时返回null
+     */
+    private String[] parseAnimationTrack(String itemId, ConfigurationSection section) {
+        if (section == null) {
+            return null;
+        }
+
+        String type = section.getString("type", "frames").toLowerCase(Locale.ROOT);
+        String text = section.getString("text", "");
+        String style = section.getString("style", "");
+        int steps = section.getInt("steps", 0);
+        if (steps <= 0) {
+            steps = Math.max(2, ColorUtil.stripColors(text).length());
+        }
+
+        switch (type) {
+            case "gradient":
+                List<String> colors = section.getStringList("colors");
+                if (colors.isEmpty()) {
+                    plugin.getLogger().warning("固定物品 " + itemId + " 的渐变动画未配置 colors");
+                    return null;
+                }
+                try {
+                    return ColorUtil.gradientFrames(text, colors, style, Math.min(steps, MAX_ANIMATION_FRAMES));
+                } catch (RuntimeException e) {
+                    plugin.getLogger().warning("固定物品 " + itemId + " 的渐变颜色无效: " + colors);
+                    return null;
+                }
+            case "rainbow":
+                return ColorUtil.rainbowFrames(text, style, Math.min(steps, MAX_ANIMATION_FRAMES));
+            case "frames":
+                List<String> frames = section.getStringList("frames");
+                if (frames.isEmpty()) {
+                    return null;
+                }
+                String[] track = new String[Math.min(frames.size(), MAX_ANIMATION_FRAMES)];
+                for (int i = 0; i < track.length; i++) {
+                    track[i] = ColorUtil.colorize(frames.get(i));
+                }
+                return track;
+            default:
+                plugin.getLogger().warning("固定物品 " + itemId + " 的动画类型无效: " + type);
+                return null;
+        }
+    }
+
+    /**
+     * 计算帧数的最小公倍数，超过上限时取较大值
+     */
+    private static int lcm(int a, int b) {
+        int x = a;
+        int y = b;
+        while (y != 0) {
+            int t = x % y;
+            x = y;
+            y = t;
+        }
+        long lcm = (long) a / x * b;
+        return lcm <= MAX_ANIMATION_FRAMES ? (int) lcm : Math.max(a, b);
+    }
+
     /**
      * 检查世界是否启用
      */
@@ -206,30 +565,56 @@ public class ConfigManager {
         return enabledWorlds.contains(worldName);
     }
 
+    /**
+     * 检查材质是否被任一固定物品使用
+     */
+    public boolean isFixedMaterial(Material material) {
+        return material != null && fixedMaterials[material.ordinal()];
+    }
+
     /**
      * 获取所有固定物品数据
      */
     public Map<String, FixedItemData> getFixedItems() {
-        return fixedItems;
+        return itemSnapshot.getItems();
+    }
+
+    /**
+     * 获取固定物品与对应的配置版本号（异步线程应通过此方法一次读取两者）
+     */
+    public ItemSnapshot getItemSnapshot() {
+        return itemSnapshot;
     }
 
     /**
      * 根据ID获取固定物品数据
      */
     public FixedItemData getFixedItemData(String itemId) {
-        return fixedItems.get(itemId);
+        return itemSnapshot.getItems().get(itemId);
     }
 
     /**
      * 根据槽位获取固定物品数据
      */
     public FixedItemData getFixedItemBySlot(int slot) {
-        for (FixedItemData data : fixedItems.values()) {
-            if (data.getSlot() == slot) {
-                return data;
-            }
+        if (!SlotMapper.isValidPlayerSlot(slot)) {
+            return null;
         }
-        return null;
+        return slotTable[slot];
+    }
+
+    /**
+     * 获取按槽位索引的固定物品布局（只读）
+     */
+    public FixedItemData[] getSlotLayout() {
+        return slotTable;
+    }
+
+    /**
+     * 检查槽位是否为固定槽位
+     */
+    public boolean isFixedSlot(int slot) {
+        return SlotMapper.isValidPlayerSlot(slot) && slotTable[slot] != null;
     }
 
     /**
@@ -237,7 +622,7 @@ public class ConfigManager {
      */
     public Set<Integer> getFixedSlots() {
         Set<Integer> slots = new HashSet<>();
-        for (FixedItemData data : fixedItems.values()) {
+        for (FixedItemData data : itemSnapshot.getItems().values()) {
             slots.add(data.getSlot());
         }
         return slots;
@@ -257,10 +642,355 @@ public class ConfigManager {
         return debug;
     }
 
+    /**
+     * 获取调试日志文件（相对于插件目录）
+     */
+    public String getDebugFile() {
+        return debugFile;
+    }
+
+    /**
+     * 获取单个调试日志文件的大小上限（MB）
+     */
+    public int getDebugMaxSizeMb() {
+        return debugMaxSizeMb;
+    }
+
+    /**
+     * 获取保留的历史调试日志文件数量
+     */
+    public int getDebugMaxFiles() {
+        return debugMaxFiles;
+    }
+
+    /**
+     * 获取调试日志缓冲区容量
+     */
+    public int getDebugBufferSize() {
+        return debugBufferSize;
+    }
+
+    /**
+     * 获取调试日志的玩家过滤（玩家名或UUID，为空则不过滤）
+     */
+    public List<String> getDebugFilterPlayers() {
+        return debugFilterPlayers;
+    }
+
+    /**
+     * 获取调试日志的物品过滤（为空则不过滤）
+     */
+    public List<String> getDebugFilterItems() {
+        return debugFilterItems;
+    }
+
+    /**
+     * 获取调试日志的类型过滤（为空则不过滤）
+     */
+    public List<String> getDebugFilterTypes() {
+        return debugFilterTypes;
+    }
+
+    /**
+     * 审计日志是否开启
+     */
+    public boolean isAuditEnabled() {
+        return auditEnabled;
+    }
+
+    /**
+     * 获取审计日志文件（相对于插件目录）
+     */
+    public String getAuditFile() {
+        return auditFile;
+    }
+
+    /**
+     * 获取单个审计日志文件的大小上限（MB），0 表示不按大小滚动
+     */
+    public int getAuditMaxSizeMb() {
+        return auditMaxSizeMb;
+    }
+
+    /**
+     * 获取保留的审计日志历史文件数量
+     */
+    public int getAuditMaxFiles() {
+        return auditMaxFiles;
+    }
+
+    /**
+     * 获取审计日志的滚动周期（小时），0 表示不按时间滚动
+     */
+    public int getAuditRotateHours() {
+        return auditRotateHours;
+    }
+
+    /**
+     * 是否压缩滚动出的审计日志文件
+     */
+    public boolean isAuditCompress() {
+        return auditCompress;
+    }
+
+    /**
+     * 获取审计日志缓冲区容量
+     */
+    public int getAuditBufferSize() {
+        return auditBufferSize;
+    }
+
+    /**
+     * 获取审计日志记录的物品（为空则记录全部）
+     */
+    public List<String> getAuditItems() {
+        return auditItems;
+    }
+
+    /**
+     * 获取同一提示的最小发送间隔（毫秒）
+     */
+    public long getNotifyInterval() {
+        return notifyInterval;
+    }
+
+    /**
+     * 提示消息是否通过动作栏发送
+     */
+    public boolean isNotifyActionBar() {
+        return notifyActionBar;
+    }
+
+    /**
+     * 是否启用异步预加载
+     */
+    public boolean isPrepareEnabled() {
+        return prepareEnabled;
+    }
+
+    /**
+     * 是否允许在异步线程中解析 PlaceholderAPI 占位符
+     */
+    public boolean isPrepareAsyncPlaceholders() {
+        return prepareAsyncPlaceholders;
+    }
+
+    /**
+     * 获取批量分发每 tick 的时间预算（纳秒）
+     */
+    public long getRolloutTickBudgetNanos() {
+        return rolloutTickBudgetNanos;
+    }
+
+    /**
+     * 是否启用性能统计
+     */
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * 性能统计是否记录内存分配
+     */
+    public boolean isMetricsTrackAllocations() {
+        return metricsTrackAllocations;
+    }
+
+    /**
+     * 获取指标导出方式
+     */
+    public MetricsExporter.Mode getMetricsExportMode() {
+        return metricsExportMode;
+    }
+
+    /**
+     * 获取指标导出 HTTP 监听地址
+     */
+    public String getMetricsExportHost() {
+        return metricsExportHost;
+    }
+
+    /**
+     * 获取指标导出 HTTP 监听端口
+     */
+    public int getMetricsExportPort() {
+        return metricsExportPort;
+    }
+
+    /**
+     * 获取指标导出文件（相对于插件目录）
+     */
+    public String getMetricsExportFile() {
+        return metricsExportFile;
+    }
+
+    /**
+     * 获取指标导出文件的写入间隔（秒）
+     */
+    public int getMetricsExportInterval() {
+        return metricsExportInterval;
+    }
+
+    /**
+     * 获取占位符默认缓存有效期（毫秒）
+     */
+    public long getPlaceholderDefaultTtl() {
+        return placeholderDefaultTtl;
+    }
+
+    /**
+     * 获取按占位符或扩展标识配置的缓存有效期（键为小写，单位毫秒）
+     */
+    public Map<String, Long> getPlaceholderTtls() {
+        return placeholderTtls;
+    }
+
+    /**
+     * 获取个性化设置数据文件（相对于插件目录）
+     */
+    public String getOverridesFile() {
+        return overridesFile;
+    }
+
+    /**
+     * 获取个性化设置数据文件的压缩检查间隔（分钟，0 为不压缩）
+     */
+    public int getOverridesCompactInterval() {
+        return overridesCompactInterval;
+    }
+
+    /**
+     * 获取玩家自选槽位命令的冷却（秒）
+     */
+    public int getOverridesSlotCooldown() {
+        return overridesSlotCooldown;
+    }
+
+    /**
+     * 跨服同步是否开启
+     */
+    public boolean isSyncEnabled() {
+        return syncEnabled;
+    }
+
+    /**
+     * 获取同步后端类型（redis 或 loopback）
+     */
+    public String getSyncBackend() {
+        return syncBackend;
+    }
+
+    /**
+     * 获取本服务器的同步标识（为空时启动时随机生成）
+     */
+    public String getSyncServerId() {
+        return syncServerId;
+    }
+
+    /**
+     * 获取同步频道名（同时作为快照键的前缀）
+     */
+    public String getSyncChannel() {
+        return syncChannel;
+    }
+
+    /**
+     * 获取同步发送间隔（毫秒）
+     */
+    public long getSyncFlushInterval() {
+        return syncFlushInterval;
+    }
+
+    /**
+     * 获取状态快照的有效期（小时），0 表示不过期
+     */
+    public int getSyncStateTtlHours() {
+        return syncStateTtlHours;
+    }
+
+    /**
+     * 获取 Redis 地址
+     */
+    public String getSyncRedisHost() {
+        return syncRedisHost;
+    }
+
+    /**
+     * 获取 Redis 端口
+     */
+    public int getSyncRedisPort() {
+        return syncRedisPort;
+    }
+
+    /**
+     * 获取 Redis 密码（为空表示不认证）
+     */
+    public String getSyncRedisPassword() {
+        return syncRedisPassword;
+    }
+
+    /**
+     * 获取 Redis 数据库编号
+     */
+    public int getSyncRedisDatabase() {
+        return syncRedisDatabase;
+    }
+
+    /**
+     * 获取 Redis 连接与读取超时（毫秒）
+     */
+    public int getSyncRedisTimeout() {
+        return syncRedisTimeout;
+    }
+
+    /**
+     * 获取菜单配置节点（未配置时为null）
+     */
+    public ConfigurationSection getMenusSection() {
+        return config.getConfigurationSection("menus");
+    }
+
+    /**
+     * 玩家切换世界时是否取消等待中的动作链
+     */
+    public boolean isActionsCancelOnWorldChange() {
+        return actionsCancelOnWorldChange;
+    }
+
+    /**
+     * 获取配置版本号
+     * 每次加载配置都会递增，用于判断预先构建的数据是否过期
+     */
+    public int getGeneration() {
+        return itemSnapshot.getGeneration();
+    }
+
     /**
      * 获取启用的世界列表
      */
     public Set<String> getEnabledWorlds() {
         return enabledWorlds;
     }
+
+    /**
+     * 一次加载得到的固定物品及其配置版本号（不可变）
+     */
+    public static final class ItemSnapshot {
+
+        private final int generation;
+        private final Map<String, FixedItemData> items;
+
+        private ItemSnapshot(int generation, Map<String, FixedItemData> items) {
+            this.generation = generation;
+            this.items = items;
+        }
+
+        public int getGeneration() {
+            return generation;
+        }
+
+        public Map<String, FixedItemData> getItems() {
+            return items;
+        }
+    }
 }
@@ -62,10 +62,35 @@ public class CooldownManager {
      */
     public void setCooldown(Player player, String cooldownKey, long cooldownMillis) {
         UUID uuid = player.getUniqueId();
-        Map<String, Long> playerCooldowns = cooldowns.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>());
-
         long expireTime = System.currentTimeMillis() + cooldownMillis;
-        playerCooldowns.put(cooldownKey, expireTime);
+
+        // 在 compute 中写入，避免与清理任务移除空记录交错而丢失
+        cooldowns.compute(uuid, (key, playerCooldowns) -> {
+            Map<String, Long> map = playerCooldowns != null ? playerCooldowns : new ConcurrentHashMap<>();
+            map.put(cooldownKey, expireTime);
+            return map;
+        });
+
+        // 同步到其他服务器（只写入待发送表）
+        plugin.getSyncManager().publishCooldown(uuid, cooldownKey, expireTime);
+    }
+
+    /**
+     * 应用其他服务器同步过来的冷却（任意线程），只会延长已有的冷却
+     *
+     * @param uuid        玩家UUID
+     * @param cooldownKey 冷却键
+     * @param expireTime  过期时间戳
+     */
+    public void applyCooldown(UUID uuid, String cooldownKey, long expireTime) {
+        if (expireTime <= System.currentTimeMillis()) {
+            return;
+        }
+        cooldowns.compute(uuid, (key, playerCooldowns) -> {
+            Map<String, Long> map = playerCooldowns != null ? playerCooldowns : new ConcurrentHashMap<>();
+            map.merge(cooldownKey, expireTime, Math::max);
+            return map;
+        });
     }
 
     /**
@@ -133,9 +158,9 @@ public class CooldownManager {
             Map<String, Long> playerCooldowns = entry.getValue();
             playerCooldowns.entrySet().removeIf(e -> e.getValue() <= currentTime);
 
-            // 如果玩家没有任何冷却记录了，移除整个条目
+            // 如果玩家没有任何冷却记录了，移除整个条目（在 computeIfPresent 中判断，与写入互斥）
             if (playerCooldowns.isEmpty()) {
-                cooldowns.remove(entry.getKey());
+                cooldowns.computeIfPresent(entry.getKey(), (key, map) -> map.isEmpty() ? null : map);
             }
         }
     }
@@ -0,0 +1,190 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.model.DebugRecord;
+import com.hxstar.fixeditem.model.DebugRecord.Type;
+import com.hxstar.fixeditem.util.LogFileWorker;
+import com.hxstar.fixeditem.util.RingBuffer;
+import com.hxstar.fixeditem.util.RotatingFileWriter;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 调试日志
+ * 开启调试模式后，主线程只把结构化记录写入无锁环形缓冲区，
+ * 由后台线程格式化并写入按大小滚动的日志文件，避免在热点路径上同步写控制台。
+ * 玩家、物品、类型过滤在创建记录之前完成，被过滤的事件不产生任何开销
+ */
+public class DebugJournal {
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    // 后台线程每批最多写入的记录数
+    private static final int DRAIN_BATCH = 512;
+
+    // 缓冲区为空时后台线程的等待时间（纳秒）
+    private static final long IDLE_PARK_NANOS = 50_000_000L;
+
+    private final HxFixedItem plugin;
+
+    private volatile boolean enabled;
+    private volatile RingBuffer<DebugRecord> buffer;
+
+    // 过滤条件（空集合表示不过滤）
+    private volatile Set<String> playerFilter;
+    private volatile Set<String> itemFilter;
+    private volatile Set<Type> typeFilter;
+
+    private final LogFileWorker<DebugRecord> worker;
+
+    public DebugJournal(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.playerFilter = Collections.emptySet();
+        this.itemFilter = Collections.emptySet();
+        this.typeFilter = EnumSet.allOf(Type.class);
+        this.worker = new LogFileWorker<>("HxFixedItem-Debug", "调试日志", plugin.getLogger(),
+                DRAIN_BATCH, IDLE_PARK_NANOS, DebugJournal::write, null);
+    }
+
+    /**
+     * 按配置启动或停止调试日志（插件启用和重载时调用）
+     */
+    public void start() {
+        stop();
+
+        ConfigManager config = plugin.getConfigManager();
+        if (!config.isDebug()) {
+            return;
+        }
+
+        this.playerFilter = toLowerCaseSet(config.getDebugFilterPlayers());
+        this.itemFilter = new HashSet<>(config.getDebugFilterItems());
+        this.typeFilter = parseTypes(config.getDebugFilterTypes());
+        this.buffer = new RingBuffer<>(config.getDebugBufferSize());
+
+        File file = new File(plugin.getDataFolder(), config.getDebugFile());
+        RotatingFileWriter writer = new RotatingFileWriter(file,
+                config.getDebugMaxSizeMb() * 1024L * 1024L, config.getDebugMaxFiles());
+
+        worker.start(buffer, writer);
+        enabled = true;
+
+        plugin.getLogger().info("调试日志已开启，写入 " + file.getName());
+    }
+
+    /**
+     * 停止后台线程，并写完缓冲区中剩余的记录
+     */
+    public void stop() {
+        enabled = false;
+        worker.stop();
+    }
+
+    /**
+     * 是否需要记录该事件（在构造任何字符串或对象之前调用）
+     *
+     * @param type   记录类型
+     * @param player 玩家
+     * @param itemId 物品ID
+     */
+    public boolean isLogging(Type type, Player player, String itemId) {
+        if (!enabled || !typeFilter.contains(type)) {
+            return false;
+        }
+        if (!itemFilter.isEmpty() && !itemFilter.contains(itemId)) {
+            return false;
+        }
+        if (!playerFilter.isEmpty()
+                && !playerFilter.contains(player.getName().toLowerCase())
+                && !playerFilter.contains(player.getUniqueId().toString())) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 记录调试事件
+     *
+     * @param type   记录类型
+     * @param player 玩家
+     * @param itemId 物品ID
+     * @param value  附加数值，含义见 {@link DebugRecord#getValue()}
+     */
+    public void record(Type type, Player player, String itemId, int value) {
+        if (!isLogging(type, player, itemId)) {
+            return;
+        }
+        buffer.offer(new DebugRecord(type, player.getUniqueId(), player.getName(), itemId, value));
+    }
+
+    /**
+     * 获取因缓冲区已满而丢弃的记录数
+     */
+    public long getDropped() {
+        RingBuffer<DebugRecord> current = buffer;
+        return current != null ? current.getDropped() : 0L;
+    }
+
+    /**
+     * 写入一条记录（后台线程）
+     */
+    private static void write(RotatingFileWriter writer, StringBuilder line, DebugRecord record) throws IOException {
+        TIME_FORMAT.formatTo(Instant.ofEpochMilli(record.getTime()), line);
+        line.append(" [").append(record.getType().getDisplayName()).append("] ")
+                .append(record.getPlayerName()).append('(').append(record.getPlayerId()).append(')')
+                .append(" item=").append(record.getItemId());
+
+        switch (record.getType()) {
+            case SYNC:
+                line.append(" slot=").append(record.getValue());
+                break;
+            case CLICK:
+                line.append(record.getValue() == 0 ? " left" : " right");
+                break;
+            case COOLDOWN:
+                line.append(" remaining=").append(record.getValue()).append("ms");
+                break;
+        }
+
+        writer.writeLine(line.toString());
+    }
+
+    private static Set<String> toLowerCaseSet(List<String> values) {
+        Set<String> result = new HashSet<>();
+        for (String value : values) {
+            result.add(value.toLowerCase());
+        }
+        return result;
+    }
+
+    private Set<Type> parseTypes(List<String> names) {
+        if (names.isEmpty()) {
+            return EnumSet.allOf(Type.class);
+        }
+        Set<Type> types = EnumSet.noneOf(Type.class);
+        for (String name : names) {
+            boolean matched = false;
+            for (Type type : Type.values()) {
+                if (type.getDisplayName().equalsIgnoreCase(name)) {
+                    types.add(type);
+                    matched = true;
+                }
+            }
+            if (!matched) {
+                plugin.getLogger().warning("未知的调试日志类型: " + name);
+            }
+        }
+        return types;
+    }
+}
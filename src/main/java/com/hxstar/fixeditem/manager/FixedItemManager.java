@@ -1,11 +1,15 @@
 package com.hxstar.fixeditem.manager;
 
 import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
 import com.hxstar.fixeditem.model.FixedItemData;
+import com.hxstar.fixeditem.model.PlayerOverrides;
+import com.hxstar.fixeditem.model.PreparedLoadout;
 import com.hxstar.fixeditem.util.PlaceholderUtil;
-import org.bukkit.Bukkit;
+import com.hxstar.fixeditem.util.SlotMapper;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.Registry;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
@@ -18,7 +22,6 @@ import org.bukkit.persistence.PersistentDataType;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 固定物品管理器
@@ -26,14 +29,21 @@ import java.util.Map;
  */
 public class FixedItemManager {
 
+    // 空布局（用于移除所有固定物品）
+    private static final FixedItemData[] EMPTY_LAYOUT = new FixedItemData[0];
+
     private final HxFixedItem plugin;
     private final NamespacedKey fixedItemKey;
     private final NamespacedKey itemIdKey;
+    private final NamespacedKey itemStampKey;
+    private final InventoryReconciler reconciler;
 
     public FixedItemManager(HxFixedItem plugin) {
         this.plugin = plugin;
         this.fixedItemKey = new NamespacedKey(plugin, "fixed_item");
         this.itemIdKey = new NamespacedKey(plugin, "item_id");
+        this.itemStampKey = new NamespacedKey(plugin, "item_stamp");
+        this.reconciler = new InventoryReconciler(plugin, this);
     }
 
     /**
@@ -48,12 +58,26 @@ public class FixedItemManager {
 
     /**
      * 为特定玩家创建固定物品（解析PlaceholderAPI占位符）
+     * 不访问玩家背包，可在异步预加载阶段调用
      *
      * @param itemData 物品数据
      * @param player   玩家（用于解析占位符，可为null）
      * @return 创建的物品
      */
-    public ItemStack createFixedItem(FixedItemData itemData, Player player) {
+    public ItemStack createFixedItem(FixedItemData itemData, OfflinePlayer player) {
+        MetricsManager metricsManager = plugin.getMetricsManager();
+        long start = metricsManager.start(Metric.CREATE_ITEM);
+        try {
+            return buildFixedItem(itemData, player);
+        } finally {
+            metricsManager.stop(Metric.CREATE_ITEM, start);
+        }
+    }
+
+    /**
+     * 构建固定物品
+     */
+    private ItemStack buildFixedItem(FixedItemData itemData, OfflinePlayer player) {
         ItemStack item = new ItemStack(itemData.getMaterial());
         ItemMeta meta = item.getItemMeta();
 
@@ -98,6 +122,7 @@ public class FixedItemManager {
         PersistentDataContainer pdc = meta.getPersistentDataContainer();
         pdc.set(fixedItemKey, PersistentDataType.BYTE, (byte) 1);
         pdc.set(itemIdKey, PersistentDataType.STRING, itemData.getItemId());
+        pdc.set(itemStampKey, PersistentDataType.INTEGER, itemData.getStamp());
 
         // 添加隐藏标志
         meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES);
@@ -118,6 +143,12 @@ public class FixedItemManager {
             return false;
         }
 
+        // 材质不属于任何固定物品时不读取 ItemMeta（读取会复制一份 meta），普通物品的判断不产生分配
+        // 材质已在配置中修改的旧物品会在下一次同步时被替换
+        if (!plugin.getConfigManager().isFixedMaterial(item.getType())) {
+            return false;
+        }
+
         ItemMeta meta = item.getItemMeta();
         if (meta == null) {
             return false;
@@ -127,6 +158,17 @@ public class FixedItemManager {
         return pdc.has(fixedItemKey, PersistentDataType.BYTE);
     }
 
+    /**
+     * 快速预筛选：物品材质是否可能为固定物品
+     * 只做一次数组查询，不读取 ItemMeta；返回 false 时一定不是当前配置的固定物品
+     *
+     * @param item 要检查的物品
+     * @return 是否需要进一步调用 {@link #isFixedItem(ItemStack)}
+     */
+    public boolean isFixedMaterial(ItemStack item) {
+        return item != null && plugin.getConfigManager().isFixedMaterial(item.getType());
+    }
+
     /**
      * 获取固定物品的ID
      *
@@ -134,154 +176,147 @@ public class FixedItemManager {
      * @return 物品ID，如果不是固定物品则返回null
      */
     public String getFixedItemId(ItemStack item) {
-        if (!isFixedItem(item)) {
+        if (item == null || item.getType() == Material.AIR) {
             return null;
         }
 
+        // 只读取一次 ItemMeta
         ItemMeta meta = item.getItemMeta();
         if (meta == null) {
             return null;
         }
 
         PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        if (!pdc.has(fixedItemKey, PersistentDataType.BYTE)) {
+            return null;
+        }
         return pdc.get(itemIdKey, PersistentDataType.STRING);
     }
 
     /**
-     * 给予玩家所有固定物品
+     * 读取固定物品的ID与外观版本戳（只读取一次 ItemMeta）
      *
-     * @param player 玩家
+     * @param item   物品
+     * @param stamps 用于接收版本戳的数组
+     * @param index  版本戳写入的下标
+     * @return 物品ID，如果不是固定物品则返回null
      */
-    public void giveFixedItems(Player player) {
-        // 检查玩家所在世界是否启用
-        if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
-            // 如果世界未启用，移除所有固定物品
-            removeAllFixedItems(player);
-            return;
+    public String getFixedItemId(ItemStack item, int[] stamps, int index) {
+        if (item == null || item.getType() == Material.AIR) {
+            return null;
         }
 
-        Map<String, FixedItemData> fixedItems = plugin.getConfigManager().getFixedItems();
-        PlayerInventory inventory = player.getInventory();
-
-        for (FixedItemData itemData : fixedItems.values()) {
-            int slot = itemData.getSlot();
-
-            // 检查槽位是否已经有正确的固定物品
-            ItemStack currentItem = inventory.getItem(slot);
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return null;
+        }
 
-            if (isFixedItem(currentItem)) {
-                String currentId = getFixedItemId(currentItem);
-                if (itemData.getItemId().equals(currentId)) {
-                    // 已经有正确的固定物品，跳过
-                    continue;
-                } else {
-                    // 有其他固定物品，先移除
-                    inventory.setItem(slot, null);
-                }
-            }
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        if (!pdc.has(fixedItemKey, PersistentDataType.BYTE)) {
+            return null;
+        }
+        Integer stamp = pdc.get(itemStampKey, PersistentDataType.INTEGER);
+        stamps[index] = stamp != null ? stamp : 0;
+        return pdc.get(itemIdKey, PersistentDataType.STRING);
+    }
 
-            // 如果槽位有其他物品，尝试移动到其他位置
-            if (currentItem != null && currentItem.getType() != Material.AIR) {
-                // 尝试找一个空位
-                int emptySlot = inventory.firstEmpty();
-                if (emptySlot != -1 && emptySlot != slot) {
-                    inventory.setItem(emptySlot, currentItem);
-                } else {
-                    // 没有空位，物品会被替换（掉落到地上）
-                    player.getWorld().dropItemNaturally(player.getLocation(), currentItem);
-                }
-            }
+    /**
+     * 检查物品是否为指定固定物品的当前外观版本（ID 与外观版本戳一致）
+     * 材质不符时不读取 ItemMeta
+     *
+     * @param item     物品
+     * @param itemData 期望的固定物品
+     * @return 是否一致
+     */
+    public boolean matches(ItemStack item, FixedItemData itemData) {
+        if (item == null || item.getType() != itemData.getMaterial()) {
+            return false;
+        }
 
-            // 放置固定物品（传入玩家以解析PAPI占位符）
-            ItemStack fixedItem = createFixedItem(itemData, player);
-            inventory.setItem(slot, fixedItem);
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return false;
+        }
 
-            if (plugin.getConfigManager().isDebug()) {
-                plugin.getLogger().info("给予玩家 " + player.getName() + " 固定物品: " + itemData.getItemId() + " 到槽位 " + slot);
-            }
+        PersistentDataContainer pdc = meta.getPersistentDataContainer();
+        if (!pdc.has(fixedItemKey, PersistentDataType.BYTE)) {
+            return false;
         }
+        Integer stamp = pdc.get(itemStampKey, PersistentDataType.INTEGER);
+        return (stamp != null ? stamp : 0) == itemData.getStamp()
+                && itemData.getItemId().equals(pdc.get(itemIdKey, PersistentDataType.STRING));
     }
 
     /**
-     * 检查并恢复玩家的固定物品
+     * 检查玩家是否可以获得该固定物品
+     *
+     * @param player   玩家
+     * @param itemData 物品数据
+     * @return 未配置权限或拥有权限时返回true
+     */
+    public boolean canReceive(Player player, FixedItemData itemData) {
+        String permission = itemData.getPermission();
+        return permission == null || permission.isEmpty() || player.hasPermission(permission);
+    }
+
+    /**
+     * 解析玩家当前应持有的固定物品布局
      *
      * @param player 玩家
+     * @return 按槽位索引的布局，世界未启用时全部为空
      */
-    public void checkAndRestoreItems(Player player) {
-        // 检查玩家所在世界是否启用
+    public FixedItemData[] resolveLayout(Player player) {
+        FixedItemData[] layout = new FixedItemData[SlotMapper.PLAYER_SLOTS];
         if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
-            return;
+            return layout;
         }
 
-        Map<String, FixedItemData> fixedItems = plugin.getConfigManager().getFixedItems();
-        PlayerInventory inventory = player.getInventory();
-
-        for (FixedItemData itemData : fixedItems.values()) {
-            int slot = itemData.getSlot();
-            ItemStack currentItem = inventory.getItem(slot);
-
-            // 检查槽位是否有正确的固定物品
-            if (!isCorrectFixedItem(currentItem, itemData.getItemId())) {
-                // 需要恢复固定物品
-                restoreFixedItem(player, itemData, currentItem);
+        // 玩家的个性化布局；单独添加的额外物品不检查权限
+        OverrideManager overrideManager = plugin.getOverrideManager();
+        PlayerOverrides overrides = overrideManager.get(player.getUniqueId());
+        FixedItemData[] slotLayout = overrideManager.getLayout(player);
+        for (int slot = 0; slot < slotLayout.length; slot++) {
+            FixedItemData itemData = slotLayout[slot];
+            if (itemData != null && ((overrides != null && overrides.isExtra(itemData.getItemId()))
+                    || canReceive(player, itemData))) {
+                layout[slot] = itemData;
             }
         }
+        return layout;
     }
 
     /**
-     * 检查物品是否为指定的固定物品
+     * 给予玩家所有固定物品
      *
-     * @param item   要检查的物品
-     * @param itemId 期望的物品ID
-     * @return 是否为正确的固定物品
+     * @param player 玩家
      */
-    private boolean isCorrectFixedItem(ItemStack item, String itemId) {
-        if (!isFixedItem(item)) {
-            return false;
-        }
-        String currentId = getFixedItemId(item);
-        return itemId.equals(currentId);
+    public void giveFixedItems(Player player) {
+        giveFixedItems(player, null);
     }
 
     /**
-     * 恢复固定物品到槽位
+     * 给予玩家所有固定物品，优先使用预加载阶段构建好的物品
+     * 世界未启用时移除所有固定物品
      *
-     * @param player      玩家
-     * @param itemData    物品数据
-     * @param currentItem 当前槽位的物品
+     * @param player   玩家
+     * @param prepared 预加载结果（可为null）
      */
-    private void restoreFixedItem(Player player, FixedItemData itemData, ItemStack currentItem) {
-        PlayerInventory inventory = player.getInventory();
-        int slot = itemData.getSlot();
-
-        // 如果当前物品不是固定物品且不为空，需要处理
-        if (currentItem != null && currentItem.getType() != Material.AIR && !isFixedItem(currentItem)) {
-            // 尝试移动到其他槽位
-            int emptySlot = -1;
-            for (int i = 0; i < 36; i++) {
-                if (i == slot) continue;
-                ItemStack checkItem = inventory.getItem(i);
-                if (checkItem == null || checkItem.getType() == Material.AIR) {
-                    emptySlot = i;
-                    break;
-                }
-            }
+    public void giveFixedItems(Player player, PreparedLoadout prepared) {
+        reconciler.reconcile(player, resolveLayout(player), prepared);
+    }
 
-            if (emptySlot != -1) {
-                inventory.setItem(emptySlot, currentItem);
-            } else {
-                // 没有空位，掉落到地上
-                player.getWorld().dropItemNaturally(player.getLocation(), currentItem);
-            }
+    /**
+     * 检查并恢复玩家的固定物品
+     *
+     * @param player 玩家
+     */
+    public void checkAndRestoreItems(Player player) {
+        // 检查玩家所在世界是否启用
+        if (!plugin.getConfigManager().isWorldEnabled(player.getWorld().getName())) {
+            return;
         }
 
-        // 放置固定物品（传入玩家以解析PAPI占位符）
-        ItemStack fixedItem = createFixedItem(itemData, player);
-        inventory.setItem(slot, fixedItem);
-
-        if (plugin.getConfigManager().isDebug()) {
-            plugin.getLogger().info("恢复玩家 " + player.getName() + " 的固定物品: " + itemData.getItemId());
-        }
+        reconciler.check(player, resolveLayout(player));
     }
 
     /**
@@ -290,14 +325,7 @@ public class FixedItemManager {
      * @param player 玩家
      */
     public void removeAllFixedItems(Player player) {
-        PlayerInventory inventory = player.getInventory();
-
-        for (int i = 0; i < inventory.getSize(); i++) {
-            ItemStack item = inventory.getItem(i);
-            if (isFixedItem(item)) {
-                inventory.setItem(i, null);
-            }
-        }
+        reconciler.reconcile(player, EMPTY_LAYOUT, null);
     }
 
     /**
@@ -308,32 +336,25 @@ public class FixedItemManager {
      */
     public void removeFixedItem(Player player, String itemId) {
         PlayerInventory inventory = player.getInventory();
+        ItemStack[] contents = inventory.getContents();
 
-        for (int i = 0; i < inventory.getSize(); i++) {
-            ItemStack item = inventory.getItem(i);
-            if (isFixedItem(item)) {
-                String currentId = getFixedItemId(item);
-                if (itemId.equals(currentId)) {
-                    inventory.setItem(i, null);
-                    break;
-                }
+        for (int i = 0; i < contents.length; i++) {
+            if (itemId.equals(getFixedItemId(contents[i]))) {
+                inventory.setItem(i, null);
+                reconciler.recordWrites(player, 1);
+                break;
             }
         }
     }
 
     /**
      * 刷新玩家的固定物品（重载配置后使用）
+     * 外观版本戳变化的物品会被重新写入，未变化的物品保持不动
      *
      * @param player 玩家
      */
     public void refreshFixedItems(Player player) {
-        // 先移除所有旧的固定物品
-        removeAllFixedItems(player);
-
-        // 延迟1tick后给予新的固定物品
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
-            giveFixedItems(player);
-        }, 1L);
+        giveFixedItems(player);
     }
 
     /**
@@ -351,13 +372,28 @@ public class FixedItemManager {
     }
 
     /**
-     * 检查槽位是否为固定槽位
+     * 检查槽位是否为玩家的固定槽位（按玩家的个性化布局）
      *
-     * @param slot 槽位
+     * @param player 玩家
+     * @param slot   槽位
      * @return 是否为固定槽位
      */
-    public boolean isFixedSlot(int slot) {
-        return plugin.getConfigManager().getFixedSlots().contains(slot);
+    public boolean isFixedSlot(Player player, int slot) {
+        return getFixedItemBySlot(player, slot) != null;
+    }
+
+    /**
+     * 获取玩家布局中位于槽位的固定物品数据
+     *
+     * @param player 玩家
+     * @param slot   槽位
+     * @return 物品数据，不是固定槽位时返回null
+     */
+    public FixedItemData getFixedItemBySlot(Player player, int slot) {
+        if (!SlotMapper.isValidPlayerSlot(slot)) {
+            return null;
+        }
+        return plugin.getOverrideManager().getLayout(player)[slot];
     }
 
     /**
@@ -370,4 +406,15 @@ public class FixedItemManager {
     public NamespacedKey getItemIdKey() {
         return itemIdKey;
     }
+
+    public NamespacedKey getItemStampKey() {
+        return itemStampKey;
+    }
+
+    /**
+     * 获取背包同步引擎（用于读取槽位写入统计）
+     */
+    public InventoryReconciler getReconciler() {
+        return reconciler;
+    }
 }
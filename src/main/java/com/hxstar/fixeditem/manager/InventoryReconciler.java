@@ -0,0 +1,298 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.model.DebugRecord.Type;
+import com.hxstar.fixeditem.model.FixedItemData;
+import com.hxstar.fixeditem.model.PreparedLoadout;
+import com.hxstar.fixeditem.util.RollingCounter;
+import com.hxstar.fixeditem.util.SlotMapper;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 背包同步引擎
+ * 给予、恢复、移除固定物品共用的一套流程：
+ * 1. 对玩家背包做一次快照，每个槽位只读取一次物品标识
+ * 2. 计算期望布局与实际内容的差异（归位、挤占、掉落、清理）
+ * 3. 只对发生变化的槽位调用 setItem，ID 与外观版本戳都一致的物品不会重复写入
+ *
+ * 例行检查（切换手持、丢弃、关闭界面、定时任务）先逐个核对期望槽位，全部一致时直接返回，不做快照也不分配对象；
+ * 需要同步时只读取材质属于固定物品的槽位。读取全部槽位、清理旧物品的完整扫描只在给予、刷新
+ * 以及配置重载后玩家的第一次检查时进行
+ *
+ * 同时统计本插件引起的槽位更新包数量（按玩家、按秒）
+ */
+public class InventoryReconciler {
+
+    // 主背包与快捷栏槽位数（被挤占的物品只会放到这些槽位）
+    private static final int STORAGE_SLOTS = 36;
+
+    private final HxFixedItem plugin;
+    private final FixedItemManager fixedItemManager;
+
+    // 槽位写入统计: UUID -> 累计写入次数
+    private final Map<UUID, Long> playerWrites;
+
+    // 恢复统计: UUID -> 发生写入的同步次数
+    private final Map<UUID, Long> playerRestores;
+    private final RollingCounter writeCounter;
+
+    // 玩家上次完整扫描时的配置版本号: UUID -> 版本号
+    private final Map<UUID, Integer> sweptGenerations;
+
+    public InventoryReconciler(HxFixedItem plugin, FixedItemManager fixedItemManager) {
+        this.plugin = plugin;
+        this.fixedItemManager = fixedItemManager;
+        this.playerWrites = new HashMap<>();
+        this.playerRestores = new HashMap<>();
+        this.writeCounter = new RollingCounter();
+        this.sweptGenerations = new HashMap<>();
+    }
+
+    /**
+     * 例行检查：期望槽位都已是当前版本的固定物品时直接返回，否则同步背包
+     * 配置重载后玩家的第一次检查会做完整扫描
+     *
+     * @param player 玩家
+     * @param layout 期望布局，下标为槽位
+     * @return 写入的槽位数
+     */
+    public int check(Player player, FixedItemData[] layout) {
+        Integer swept = sweptGenerations.get(player.getUniqueId());
+        boolean sweep = swept == null || swept != plugin.getConfigManager().getGeneration();
+        if (!sweep && isInPlace(player.getInventory(), layout)) {
+            return 0;
+        }
+        return reconcile(player, layout, null, sweep);
+    }
+
+    /**
+     * 将玩家背包同步为期望布局
+     *
+     * @param player   玩家
+     * @param layout   期望布局，下标为槽位（为空数组时移除所有固定物品）
+     * @param prepared 预加载结果（可为null）
+     * @return 写入的槽位数
+     */
+    public int reconcile(Player player, FixedItemData[] layout, PreparedLoadout prepared) {
+        return reconcile(player, layout, prepared, true);
+    }
+
+    /**
+     * @param sweep 是否读取全部槽位（否则只读取材质属于固定物品的槽位）
+     */
+    private int reconcile(Player player, FixedItemData[] layout, PreparedLoadout prepared, boolean sweep) {
+        ConfigManager configManager = plugin.getConfigManager();
+        if (sweep) {
+            sweptGenerations.put(player.getUniqueId(), configManager.getGeneration());
+        }
+
+        PlayerInventory inventory = player.getInventory();
+        ItemStack[] contents = inventory.getContents();
+        int size = Math.min(contents.length, SlotMapper.PLAYER_SLOTS);
+
+        ItemStack[] original = contents.clone();
+
+        // 快照：每个槽位的固定物品ID与外观版本戳（非固定物品ID为null）
+        // 非完整扫描时材质不属于任何固定物品的槽位不读取 ItemMeta
+        String[] ids = new String[size];
+        int[] stamps = new int[size];
+        for (int slot = 0; slot < size; slot++) {
+            if (!isEmpty(contents[slot]) && (sweep || configManager.isFixedMaterial(contents[slot].getType()))) {
+                ids[slot] = fixedItemManager.getFixedItemId(contents[slot], stamps, slot);
+            }
+        }
+
+        // 物品ID -> 期望槽位；需要写入的期望槽位
+        Map<String, Integer> targetSlots = new HashMap<>();
+        boolean[] needed = new boolean[size];
+        for (int slot = 0; slot < Math.min(layout.length, size); slot++) {
+            FixedItemData expected = layout[slot];
+            if (expected == null) {
+                continue;
+            }
+            targetSlots.put(expected.getItemId(), slot);
+            needed[slot] = !isEquivalent(expected, ids[slot], stamps[slot]);
+        }
+
+        // 空位位图：空的主背包/快捷栏槽位，且不是期望的固定槽位
+        long freeSlots = 0L;
+        for (int slot = 0; slot < Math.min(STORAGE_SLOTS, size); slot++) {
+            if (isEmpty(contents[slot]) && !isExpectedSlot(layout, slot)) {
+                freeSlots |= 1L << slot;
+            }
+        }
+
+        ItemStack[] writes = new ItemStack[size];
+        boolean[] dirty = new boolean[size];
+        ItemStack[] relocated = new ItemStack[size];
+        int relocations = 0;
+
+        // 处理位置不对、重复或已失效的固定物品：能归位的归位，其余清除
+        for (int slot = 0; slot < size; slot++) {
+            String id = ids[slot];
+            if (id == null || (isExpectedSlot(layout, slot) && !needed[slot])) {
+                continue;
+            }
+
+            // 只有外观版本一致的固定物品才直接归位，旧版本的物品会被重新创建
+            Integer target = targetSlots.get(id);
+            if (target != null && needed[target] && relocated[target] == null
+                    && stamps[slot] == layout[target].getStamp()) {
+                relocated[target] = contents[slot];
+                relocations++;
+            }
+
+            if (!needed[slot]) {
+                writes[slot] = null;
+                dirty[slot] = true;
+                contents[slot] = null;
+                if (slot < STORAGE_SLOTS && !isExpectedSlot(layout, slot)) {
+                    freeSlots |= 1L << slot;
+                }
+            } else {
+                // 该槽位稍后会被期望的固定物品覆盖
+                contents[slot] = null;
+            }
+        }
+
+        // 写入期望槽位：先挤走占位的普通物品，再放入固定物品
+        for (int slot = 0; slot < size; slot++) {
+            if (!needed[slot]) {
+                continue;
+            }
+
+            ItemStack occupant = contents[slot];
+            if (!isEmpty(occupant)) {
+                if (freeSlots != 0L) {
+                    int freeSlot = Long.numberOfTrailingZeros(freeSlots);
+                    freeSlots &= ~(1L << freeSlot);
+                    writes[freeSlot] = occupant;
+                    dirty[freeSlot] = true;
+                } else {
+                    // 没有空位，掉落到地上
+                    player.getWorld().dropItemNaturally(player.getLocation(), occupant);
+                }
+            }
+
+            FixedItemData itemData = layout[slot];
+            ItemStack fixedItem = relocated[slot];
+            if (fixedItem == null && prepared != null) {
+                fixedItem = prepared.getItem(itemData.getItemId());
+            }
+            if (fixedItem == null) {
+                fixedItem = fixedItemManager.createFixedItem(itemData, player);
+            }
+            writes[slot] = fixedItem;
+            dirty[slot] = true;
+
+            plugin.getDebugJournal().record(Type.SYNC, player, itemData.getItemId(), slot);
+        }
+
+        // 统一写入发生变化的槽位（与原内容是同一个物品时跳过）
+        int writeCount = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (dirty[slot] && writes[slot] != original[slot]) {
+                inventory.setItem(slot, writes[slot]);
+                writeCount++;
+            }
+        }
+
+        // 客户端移动过的物品被归位时，整体同步一次背包
+        if (relocations > 0) {
+            player.updateInventory();
+            writeCount++;
+        }
+
+        if (writeCount > 0) {
+            playerRestores.merge(player.getUniqueId(), 1L, Long::sum);
+        }
+        recordWrites(player, writeCount);
+        return writeCount;
+    }
+
+    /**
+     * 检查所有期望槽位是否都已是当前版本的固定物品（只读取期望槽位，不分配对象）
+     */
+    private boolean isInPlace(PlayerInventory inventory, FixedItemData[] layout) {
+        for (int slot = 0; slot < layout.length; slot++) {
+            FixedItemData expected = layout[slot];
+            if (expected != null && !fixedItemManager.matches(inventory.getItem(slot), expected)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 检查槽位中的物品是否与期望的固定物品等价（ID 与外观版本戳一致）
+     */
+    private static boolean isEquivalent(FixedItemData expected, String id, int stamp) {
+        return expected.getItemId().equals(id) && expected.getStamp() == stamp;
+    }
+
+    /**
+     * 记录本插件引起的槽位更新
+     *
+     * @param player 玩家
+     * @param count  写入次数
+     */
+    public void recordWrites(Player player, int count) {
+        if (count <= 0) {
+            return;
+        }
+        playerWrites.merge(player.getUniqueId(), (long) count, Long::sum);
+        writeCounter.add(count);
+    }
+
+    /**
+     * 获取玩家累计的槽位写入次数
+     */
+    public long getPlayerWrites(UUID playerId) {
+        return playerWrites.getOrDefault(playerId, 0L);
+    }
+
+    /**
+     * 获取所有在线玩家的槽位写入次数
+     */
+    public Map<UUID, Long> getPlayerWrites() {
+        return playerWrites;
+    }
+
+    /**
+     * 获取所有在线玩家发生写入的同步次数
+     */
+    public Map<UUID, Long> getPlayerRestores() {
+        return playerRestores;
+    }
+
+    /**
+     * 获取每秒槽位写入统计
+     */
+    public RollingCounter getWriteCounter() {
+        return writeCounter;
+    }
+
+    /**
+     * 清除玩家的写入统计
+     */
+    public void clearPlayer(Player player) {
+        playerWrites.remove(player.getUniqueId());
+        playerRestores.remove(player.getUniqueId());
+        sweptGenerations.remove(player.getUniqueId());
+    }
+
+    private static boolean isExpectedSlot(FixedItemData[] layout, int slot) {
+        return slot < layout.length && layout[slot] != null;
+    }
+
+    private static boolean isEmpty(ItemStack item) {
+        return item == null || item.getType() == Material.AIR;
+    }
+}
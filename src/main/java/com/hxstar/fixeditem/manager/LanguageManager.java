@@ -2,6 +2,7 @@ package com.hxstar.fixeditem.manager;
 
 import com.hxstar.fixeditem.HxFixedItem;
 import com.hxstar.fixeditem.util.ColorUtil;
+import com.hxstar.fixeditem.util.MessageTemplate;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
@@ -17,6 +18,7 @@ import java.util.Map;
  * 语言管理器
  * 负责管理插件的多语言消息
  * 支持 & 颜色代码和 HEX 颜色代码
+ * 消息在加载时编译为模板（已着色、已拼接前缀），运行时只做一次拼接
  */
 public class LanguageManager {
 
@@ -24,10 +26,14 @@ public class LanguageManager {
     private FileConfiguration langConfig;
     private File langFile;
     private final Map<String, String> messages;
+    private final Map<String, MessageTemplate> templates;
+    private final Map<String, MessageTemplate> prefixedTemplates;
 
     public LanguageManager(HxFixedItem plugin) {
         this.plugin = plugin;
         this.messages = new HashMap<>();
+        this.templates = new HashMap<>();
+        this.prefixedTemplates = new HashMap<>();
     }
 
     /**
@@ -60,10 +66,12 @@ public class LanguageManager {
     }
 
     /**
-     * 缓存所有消息
+     * 缓存所有消息并编译为模板
      */
     private void cacheMessages() {
         messages.clear();
+        templates.clear();
+        prefixedTemplates.clear();
 
         for (String key : langConfig.getKeys(true)) {
             if (langConfig.isString(key)) {
@@ -73,6 +81,34 @@ public class LanguageManager {
                 }
             }
         }
+
+        String prefix = getPrefix();
+        for (Map.Entry<String, String> entry : messages.entrySet()) {
+            templates.put(entry.getKey(), MessageTemplate.compile(entry.getValue()));
+            prefixedTemplates.put(entry.getKey(), MessageTemplate.compile(prefix + entry.getValue()));
+        }
+    }
+
+    /**
+     * 获取编译后的消息模板
+     *
+     * @param key 消息键
+     * @return 消息模板
+     */
+    public MessageTemplate getTemplate(String key) {
+        MessageTemplate template = templates.get(key);
+        return template != null ? template : MessageTemplate.compile(getMessage(key));
+    }
+
+    /**
+     * 获取编译后的带前缀消息模板
+     *
+     * @param key 消息键
+     * @return 带前缀的消息模板
+     */
+    public MessageTemplate getPrefixedTemplate(String key) {
+        MessageTemplate template = prefixedTemplates.get(key);
+        return template != null ? template : MessageTemplate.compile(getPrefix() + getMessage(key));
     }
 
     /**
@@ -93,15 +129,7 @@ public class LanguageManager {
      * @return 处理后的消息
      */
     public String getMessage(String key, Map<String, String> placeholders) {
-        String message = getMessage(key);
-
-        if (placeholders != null) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                message = message.replace(entry.getKey(), entry.getValue());
-            }
-        }
-
-        return message;
+        return getTemplate(key).render(placeholders);
     }
 
     /**
@@ -113,7 +141,7 @@ public class LanguageManager {
      * @return 处理后的消息
      */
     public String getMessage(String key, String placeholder, String value) {
-        return getMessage(key).replace(placeholder, value);
+        return getTemplate(key).render(placeholder, value);
     }
 
     /**
@@ -124,15 +152,7 @@ public class LanguageManager {
      * @return 处理后的消息
      */
     public String getMessage(String key, String... replacements) {
-        String message = getMessage(key);
-
-        if (replacements != null && replacements.length >= 2) {
-            for (int i = 0; i < replacements.length - 1; i += 2) {
-                message = message.replace(replacements[i], replacements[i + 1]);
-            }
-        }
-
-        return message;
+        return getTemplate(key).render(replacements);
     }
 
     /**
@@ -149,7 +169,7 @@ public class LanguageManager {
      * @return 带前缀的消息
      */
     public String getPrefixedMessage(String key) {
-        return getPrefix() + getMessage(key);
+        return getPrefixedTemplate(key).toString();
     }
 
     /**
@@ -160,7 +180,7 @@ public class LanguageManager {
      * @return 带前缀的处理后消息
      */
     public String getPrefixedMessage(String key, String... replacements) {
-        return getPrefix() + getMessage(key, replacements);
+        return getPrefixedTemplate(key).render(replacements);
     }
 
     /**
@@ -0,0 +1,177 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
+import com.hxstar.fixeditem.model.FixedItemData;
+import com.hxstar.fixeditem.util.PlaceholderUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 动态描述刷新管理器
+ * 为配置了 lore-refresh 的固定物品定时重新解析名称与描述中的占位符：
+ * - 每个玩家按 UUID 分配到刷新周期内的不同 tick，避免所有玩家集中在同一 tick 刷新
+ * - 只重新解析含占位符的行，静态行直接沿用配置
+ * - 解析结果与上次写入的内容相同时不读取 ItemMeta、不写入槽位
+ */
+public class LoreRefreshManager {
+
+    private final HxFixedItem plugin;
+
+    // 需要刷新的物品（启动时构建）
+    private FixedItemData[] refreshItems;
+
+    // UUID -> (物品ID -> 上次写入的动态文本，名称在前、描述行在后)
+    private final Map<UUID, Map<String, String[]>> rendered;
+
+    private BukkitTask task;
+    private long tick;
+
+    public LoreRefreshManager(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.refreshItems = new FixedItemData[0];
+        this.rendered = new HashMap<>();
+    }
+
+    /**
+     * 按当前配置启动刷新任务
+     */
+    public void start() {
+        stop();
+        rendered.clear();
+
+        List<FixedItemData> items = new ArrayList<>();
+        for (FixedItemData itemData : plugin.getConfigManager().getFixedItems().values()) {
+            if (itemData.getLoreRefreshTicks() > 0) {
+                items.add(itemData);
+            }
+        }
+        refreshItems = items.toArray(new FixedItemData[0]);
+
+        if (refreshItems.length > 0) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    /**
+     * 停止刷新任务
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        tick = 0;
+    }
+
+    /**
+     * 清除玩家的刷新记录
+     */
+    public void clearPlayer(Player player) {
+        rendered.remove(player.getUniqueId());
+    }
+
+    /**
+     * 刷新任务：处理本 tick 轮到的玩家
+     */
+    private void tick() {
+        tick++;
+
+        MetricsManager metricsManager = plugin.getMetricsManager();
+        long start = metricsManager.start(Metric.LORE_REFRESH);
+        try {
+            ConfigManager configManager = plugin.getConfigManager();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                // 玩家的刷新相位由 UUID 决定，同一刷新间隔内的玩家均匀分布到各个 tick
+                int phase = player.getUniqueId().hashCode();
+                boolean worldChecked = false;
+
+                for (FixedItemData itemData : refreshItems) {
+                    int interval = itemData.getLoreRefreshTicks();
+                    if (Math.floorMod(tick + phase, interval) != 0) {
+                        continue;
+                    }
+                    if (!worldChecked) {
+                        if (!configManager.isWorldEnabled(player.getWorld().getName())) {
+                            break;
+                        }
+                        worldChecked = true;
+                    }
+                    refresh(player, itemData);
+                }
+            }
+        } finally {
+            metricsManager.stop(Metric.LORE_REFRESH, start);
+        }
+    }
+
+    /**
+     * 重新解析玩家的动态文本，发生变化时写入槽位
+     */
+    private void refresh(Player player, FixedItemData itemData) {
+        int slot = plugin.getOverrideManager().getSlot(player, itemData);
+        if (slot < 0) {
+            return;
+        }
+        PlayerInventory inventory = player.getInventory();
+        ItemStack current = inventory.getItem(slot);
+        if (current == null || current.getType() != itemData.getMaterial()) {
+            return;
+        }
+
+        // 只解析动态行（占位符结果来自占位符缓存）
+        int[] lines = itemData.getDynamicLoreLines();
+        String[] values = new String[lines.length + 1];
+        if (itemData.isDynamicName()) {
+            values[0] = PlaceholderUtil.parsePlaceholders(player, itemData.getDisplayName());
+        }
+        for (int i = 0; i < lines.length; i++) {
+            values[i + 1] = PlaceholderUtil.parsePlaceholders(player, itemData.getLore().get(lines[i]));
+        }
+
+        Map<String, String[]> playerRendered = rendered.computeIfAbsent(player.getUniqueId(), id -> new HashMap<>());
+        String[] previous = playerRendered.get(itemData.getItemId());
+        if (Arrays.equals(previous, values)) {
+            return;
+        }
+
+        // 确认槽位中确实是该固定物品（没有权限或尚未恢复时不写入）
+        if (!itemData.getItemId().equals(plugin.getFixedItemManager().getFixedItemId(current))) {
+            return;
+        }
+        ItemMeta meta = current.getItemMeta();
+        if (meta == null) {
+            return;
+        }
+        playerRendered.put(itemData.getItemId(), values);
+
+        List<String> lore = new ArrayList<>(itemData.getLore());
+        for (int i = 0; i < lines.length; i++) {
+            lore.set(lines[i], values[i + 1]);
+        }
+        String displayName = itemData.isDynamicName() ? values[0] : itemData.getDisplayName();
+
+        // 首次刷新时与物品当前内容比较（物品刚由同步流程创建，通常已是最新内容）
+        if (previous == null && Objects.equals(meta.getDisplayName(), displayName) && lore.equals(meta.getLore())) {
+            return;
+        }
+
+        meta.setDisplayName(displayName);
+        meta.setLore(lore);
+        current.setItemMeta(meta);
+        inventory.setItem(slot, current);
+        plugin.getFixedItemManager().getReconciler().recordWrites(player, 1);
+    }
+}
@@ -0,0 +1,380 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.action.Action;
+import com.hxstar.fixeditem.action.ActionParser;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
+import com.hxstar.fixeditem.menu.Menu;
+import com.hxstar.fixeditem.menu.MenuButton;
+import com.hxstar.fixeditem.menu.MenuHolder;
+import com.hxstar.fixeditem.util.ColorUtil;
+import com.hxstar.fixeditem.util.PlaceholderUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 菜单管理器
+ * 负责加载配置中的菜单并处理打开与点击：
+ * - 每个菜单的静态布局（按钮物品、填充物品）在加载时构建一次，所有玩家共用
+ * - 打开菜单只需复制布局，再单独渲染名称或描述中含有占位符的按钮
+ * - 菜单中的物品不能取出，点击按钮时经过冷却检查后交给动作管理器执行
+ * - 记录每个玩家打开的菜单，背包事件中直接比较界面，不需要读取界面持有者
+ */
+public class MenuManager {
+
+    private final HxFixedItem plugin;
+
+    // 菜单: 菜单ID -> 菜单
+    private Map<String, Menu> menus;
+
+    // 玩家打开的菜单: UUID -> 菜单界面
+    private final Map<UUID, MenuHolder> openMenus;
+
+    public MenuManager(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.menus = new HashMap<>();
+        this.openMenus = new HashMap<>();
+    }
+
+    /**
+     * 按当前配置构建菜单（插件启用和重载时调用）
+     * 已打开的旧菜单会被关闭
+     */
+    public void reload() {
+        for (UUID playerId : new ArrayList<>(openMenus.keySet())) {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player != null) {
+                player.closeInventory();
+            }
+        }
+        openMenus.clear();
+
+        Map<String, Menu> loaded = new HashMap<>();
+        ConfigurationSection section = plugin.getConfigManager().getMenusSection();
+        if (section != null) {
+            for (String menuId : section.getKeys(false)) {
+                ConfigurationSection menuSection = section.getConfigurationSection(menuId);
+                if (menuSection == null) {
+                    continue;
+                }
+                try {
+                    loaded.put(menuId, parseMenu(menuId, menuSection));
+                } catch (Exception e) {
+                    plugin.getLogger().warning("加载菜单 " + menuId + " 时出错: " + e.getMessage());
+                }
+            }
+        }
+        menus = loaded;
+
+        if (plugin.getConfigManager().isDebug()) {
+            plugin.getLogger().info("菜单数量: " + menus.size());
+        }
+    }
+
+    /**
+     * 获取菜单
+     *
+     * @param menuId 菜单ID
+     * @return 菜单，不存在时返回null
+     */
+    public Menu getMenu(String menuId) {
+        return menus.get(menuId);
+    }
+
+    /**
+     * 获取所有菜单ID
+     */
+    public Set<String> getMenuIds() {
+        return menus.keySet();
+    }
+
+    /**
+     * 为玩家打开菜单
+     *
+     * @param player 玩家
+     * @param menuId 菜单ID
+     * @return 菜单是否存在
+     */
+    public boolean open(Player player, String menuId) {
+        Menu menu = menus.get(menuId);
+        if (menu == null) {
+            plugin.getLogger().warning("菜单不存在: " + menuId);
+            return false;
+        }
+
+        MetricsManager metricsManager = plugin.getMetricsManager();
+        long start = metricsManager.start(Metric.MENU_OPEN);
+        try {
+            MenuHolder holder = new MenuHolder(menu);
+            Inventory inventory = holder.getInventory();
+
+            // 只渲染含占位符的按钮
+            for (int slot : menu.getDynamicSlots()) {
+                inventory.setItem(slot, render(player, menu.getButton(slot)));
+            }
+
+            // 打开新界面时会先触发旧菜单的关闭事件
+            player.openInventory(inventory);
+            openMenus.put(player.getUniqueId(), holder);
+        } finally {
+            metricsManager.stop(Metric.MENU_OPEN, start);
+        }
+        return true;
+    }
+
+    /**
+     * 获取玩家当前打开的菜单
+     *
+     * @param player       玩家
+     * @param topInventory 玩家当前界面的上半部分
+     * @return 菜单界面，当前界面不是插件菜单时返回null
+     */
+    public MenuHolder getOpenMenu(Player player, Inventory topInventory) {
+        if (openMenus.isEmpty()) {
+            return null;
+        }
+        MenuHolder holder = openMenus.get(player.getUniqueId());
+        return holder != null && holder.getInventory().equals(topInventory) ? holder : null;
+    }
+
+    /**
+     * 处理界面关闭（由物品保护监听器调用）
+     *
+     * @param player    玩家
+     * @param inventory 关闭的界面
+     */
+    public void handleClose(Player player, Inventory inventory) {
+        MenuHolder holder = openMenus.get(player.getUniqueId());
+        if (holder != null && holder.getInventory().equals(inventory)) {
+            openMenus.remove(player.getUniqueId());
+        }
+    }
+
+    /**
+     * 清除玩家数据（退出时调用）
+     *
+     * @param player 玩家
+     */
+    public void clearPlayer(Player player) {
+        openMenus.remove(player.getUniqueId());
+    }
+
+    /**
+     * 处理菜单内的点击（由物品保护监听器在取消事件后调用）
+     *
+     * @param player     玩家
+     * @param holder     菜单界面
+     * @param slot       点击的菜单槽位
+     * @param rightClick 是否为右键
+     */
+    public void click(Player player, MenuHolder holder, int slot, boolean rightClick) {
+        MenuButton button = holder.getMenu().getButton(slot);
+        if (button == null) {
+            return;
+        }
+        Action[] actions = button.getActions(rightClick);
+        if (actions.length == 0) {
+            return;
+        }
+
+        // 检查冷却
+        if (button.getCooldown() > 0) {
+            CooldownManager cooldownManager = plugin.getCooldownManager();
+            if (cooldownManager.isOnCooldown(player, button.getCooldownKey())) {
+                plugin.getMetricsManager().countCooldownRejection();
+                plugin.getNotificationManager().sendCooldown(player,
+                        cooldownManager.getRemainingCooldown(player, button.getCooldownKey()));
+                return;
+            }
+            cooldownManager.setCooldown(player, button.getCooldownKey(), button.getCooldown() * 1000L);
+        }
+
+        // 点击事件中不能关闭或切换界面，动作在下一 tick 执行
+        plugin.getActionManager().schedule(player, actions, 1);
+    }
+
+    /**
+     * 按玩家渲染含占位符的按钮
+     */
+    private ItemStack render(Player player, MenuButton button) {
+        ItemStack item = button.getItem().clone();
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return item;
+        }
+        meta.setDisplayName(renderText(player, button.getDisplayName()));
+        if (!button.getLore().isEmpty()) {
+            List<String> lore = new ArrayList<>(button.getLore().size());
+            for (String line : button.getLore()) {
+                lore.add(renderText(player, line));
+            }
+            meta.setLore(lore);
+        }
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    private static String renderText(Player player, String text) {
+        if (text.indexOf('{') < 0 && text.indexOf('%') < 0) {
+            return text;
+        }
+        return PlaceholderUtil.parsePlaceholders(player, PlaceholderUtil.applyBuiltinPlaceholders(player, text));
+    }
+
+    /**
+     * 解析菜单
+     */
+    private Menu parseMenu(String menuId, ConfigurationSection section) {
+        int rows = Math.max(1, Math.min(6, section.getInt("rows", 3)));
+        int size = rows * 9;
+        String title = ColorUtil.colorize(section.getString("title", menuId));
+
+        ItemStack[] contents = new ItemStack[size];
+        MenuButton[] buttons = new MenuButton[size];
+        List<Integer> dynamicSlots = new ArrayList<>();
+
+        ConfigurationSection itemsSection = section.getConfigurationSection("items");
+        if (itemsSection != null) {
+            for (String buttonId : itemsSection.getKeys(false)) {
+                ConfigurationSection buttonSection = itemsSection.getConfigurationSection(buttonId);
+                if (buttonSection == null) {
+                    continue;
+                }
+                MenuButton button = parseButton(menuId, buttonId, buttonSection);
+                if (button == null) {
+                    continue;
+                }
+
+                List<Integer> slots = buttonSection.isList("slots")
+                        ? buttonSection.getIntegerList("slots")
+                        : List.of(buttonSection.getInt("slot", -1));
+                for (int slot : slots) {
+                    if (slot < 0 || slot >= size) {
+                        plugin.getLogger().warning("菜单 " + menuId + " 的按钮 " + buttonId + " 槽位无效: " + slot);
+                        continue;
+                    }
+                    contents[slot] = button.getItem();
+                    buttons[slot] = button;
+                    if (button.isDynamic()) {
+                        dynamicSlots.add(slot);
+                    }
+                }
+            }
+        }
+
+        // 填充空槽位
+        ConfigurationSection fillerSection = section.getConfigurationSection("filler");
+        if (fillerSection != null) {
+            Material material = parseMaterial(menuId, fillerSection.getString("material", "GRAY_STAINED_GLASS_PANE"));
+            if (material != null) {
+                ItemStack filler = buildItem(material, ColorUtil.colorize(fillerSection.getString("display-name", " ")),
+                        new ArrayList<>(), 0, false);
+                for (int slot = 0; slot < size; slot++) {
+                    if (contents[slot] == null) {
+                        contents[slot] = filler;
+                    }
+                }
+            }
+        }
+
+        return new Menu(menuId, title, contents, buttons,
+                dynamicSlots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * 解析按钮
+     * actions 为左右键共用的动作，left-actions / right-actions 可分别覆盖
+     */
+    private MenuButton parseButton(String menuId, String buttonId, ConfigurationSection section) {
+        Material material = parseMaterial(menuId, section.getString("material", "STONE"));
+        if (material == null) {
+            return null;
+        }
+
+        String displayName = ColorUtil.colorize(section.getString("display-name", ""));
+        List<String> lore = new ArrayList<>();
+        for (String line : section.getStringList("lore")) {
+            lore.add(ColorUtil.colorize(line));
+        }
+        boolean dynamic = hasPlaceholders(displayName);
+        for (String line : lore) {
+            dynamic |= hasPlaceholders(line);
+        }
+
+        ItemStack item = buildItem(material, displayName, lore,
+                section.getInt("custom-model-data", 0), section.getBoolean("glowing", false));
+
+        String context = "菜单 " + menuId + " 的按钮 " + buttonId + " 的";
+        Action[] actions = ActionParser.parseAll(section.getStringList("actions"), false,
+                plugin.getLogger(), context);
+        Action[] leftActions = section.isList("left-actions")
+                ? ActionParser.parseAll(section.getStringList("left-actions"), false, plugin.getLogger(), context)
+                : actions;
+        Action[] rightActions = section.isList("right-actions")
+                ? ActionParser.parseAll(section.getStringList("right-actions"), false, plugin.getLogger(), context)
+                : actions;
+
+        return new MenuButton(menuId, buttonId, item, displayName, lore, dynamic,
+                leftActions, rightActions, Math.max(0, section.getInt("cooldown", 0)));
+    }
+
+    private Material parseMaterial(String menuId, String name) {
+        Material material = Material.matchMaterial(name.toUpperCase(Locale.ROOT));
+        if (material == null) {
+            plugin.getLogger().warning("菜单 " + menuId + " 中的材质无效: " + name);
+        }
+        return material;
+    }
+
+    private static boolean hasPlaceholders(String text) {
+        return text.indexOf('{') >= 0 || text.indexOf('%') >= 0;
+    }
+
+    /**
+     * 构建按钮物品
+     */
+    private static ItemStack buildItem(Material material, String displayName, List<String> lore,
+                                       int customModelData, boolean glowing) {
+        ItemStack item = new ItemStack(material);
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return item;
+        }
+
+        meta.setDisplayName(displayName);
+        if (!lore.isEmpty()) {
+            meta.setLore(lore);
+        }
+        if (customModelData > 0) {
+            meta.setCustomModelData(customModelData);
+        }
+        if (glowing) {
+            Enchantment glowEnchant = Registry.ENCHANTMENT.get(NamespacedKey.minecraft("unbreaking"));
+            if (glowEnchant != null) {
+                meta.addEnchant(glowEnchant, 1, true);
+            }
+            meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
+        }
+        meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES);
+
+        item.setItemMeta(meta);
+        return item;
+    }
+}
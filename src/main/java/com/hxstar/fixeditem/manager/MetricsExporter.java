@@ -0,0 +1,392 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.manager.MetricsManager.CancelReason;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
+import com.hxstar.fixeditem.model.RolloutJob;
+import com.hxstar.fixeditem.util.LatencyHistogram;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prometheus 指标导出
+ * 以 Prometheus 文本格式输出耗时分布、保护拦截、冷却拒绝、PlaceholderAPI 调用与队列深度等指标，
+ * 可通过内置 HTTP 端点提供给抓取，也可定时写入文件。
+ *
+ * 只能在主线程读取的数据（队列、玩家统计）由主线程每秒生成一次快照，
+ * 导出线程只读取快照与无锁的统计数据
+ */
+public class MetricsExporter {
+
+    /**
+     * 导出方式
+     */
+    public enum Mode {
+        NONE,
+        HTTP,
+        FILE;
+
+        /**
+         * 解析配置中的导出方式，无法识别时视为不导出
+         */
+        public static Mode parse(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            switch (value.trim().toLowerCase()) {
+                case "http":
+                    return HTTP;
+                case "file":
+                    return FILE;
+                default:
+                    return NONE;
+            }
+        }
+    }
+
+    private static final String PREFIX = "hxfixeditem_";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final HxFixedItem plugin;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private BukkitTask snapshotTask;
+    private BukkitTask fileTask;
+
+    private volatile Snapshot snapshot;
+
+    public MetricsExporter(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.snapshot = Snapshot.EMPTY;
+    }
+
+    /**
+     * 按配置启动导出（插件启用和重载时调用）
+     */
+    public void start() {
+        stop();
+
+        ConfigManager config = plugin.getConfigManager();
+        Mode mode = config.getMetricsExportMode();
+        if (mode == Mode.NONE) {
+            return;
+        }
+
+        snapshotTask = Bukkit.getScheduler().runTaskTimer(plugin, this::takeSnapshot, 1L, 20L);
+
+        if (mode == Mode.HTTP) {
+            startServer(config.getMetricsExportHost(), config.getMetricsExportPort());
+        } else {
+            long interval = config.getMetricsExportInterval() * 20L;
+            File file = new File(plugin.getDataFolder(), config.getMetricsExportFile());
+            fileTask = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> writeFile(file), interval, interval);
+        }
+    }
+
+    /**
+     * 停止导出
+     */
+    public void stop() {
+        if (snapshotTask != null) {
+            snapshotTask.cancel();
+            snapshotTask = null;
+        }
+        if (fileTask != null) {
+            fileTask.cancel();
+            fileTask = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * 启动 HTTP 端点
+     */
+    private void startServer(String host, int port) {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(host, port), 0);
+            httpServer.createContext("/metrics", this::handle);
+
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "HxFixedItem-Metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            httpServer.setExecutor(executor);
+            httpServer.start();
+            server = httpServer;
+
+            plugin.getLogger().info("指标导出已启动: http://" + host + ":" + port + "/metrics");
+        } catch (IOException | IllegalArgumentException e) {
+            plugin.getLogger().warning("无法在 " + host + ":" + port + " 启动指标导出: " + e.getMessage());
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * 处理抓取请求
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 写入导出文件（先写临时文件再替换，避免读到写了一半的内容）
+     */
+    private void writeFile(File file) {
+        try {
+            Path target = file.toPath();
+            Path temp = target.resolveSibling(file.getName() + ".tmp");
+            Files.write(temp, render().getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("写入指标文件失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 在主线程收集队列与玩家统计
+     */
+    private void takeSnapshot() {
+        RolloutManager rolloutManager = plugin.getRolloutManager();
+        int activeJobs = 0;
+        long pendingPlayers = 0;
+        for (RolloutJob job : rolloutManager.getActiveJobs()) {
+            if (!job.isPersistent()) {
+                activeJobs++;
+            }
+            pendingPlayers += job.getPendingCount();
+        }
+
+        InventoryReconciler reconciler = plugin.getFixedItemManager().getReconciler();
+        Map<String, long[]> players = new LinkedHashMap<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            UUID playerId = player.getUniqueId();
+            players.put(player.getName(), new long[]{
+                    reconciler.getPlayerRestores().getOrDefault(playerId, 0L),
+                    reconciler.getPlayerWrites(playerId)
+            });
+        }
+
+        this.snapshot = new Snapshot(
+                Bukkit.getOnlinePlayers().size(),
+                rolloutManager.getQueuedPlayerCount(),
+                activeJobs,
+                pendingPlayers,
+                plugin.getPreparationManager().getPendingCount(),
+                plugin.getNotificationManager().getTotalSuppressedCount(),
+                players);
+    }
+
+    /**
+     * 生成 Prometheus 文本格式的指标
+     */
+    public String render() {
+        MetricsManager metrics = plugin.getMetricsManager();
+        Snapshot current = snapshot;
+        StringBuilder builder = new StringBuilder(4096);
+
+        // 耗时分布
+        header(builder, "handler_duration_seconds", "summary", "事件处理、定时任务、重载与命令的耗时");
+        for (Metric metric : Metric.values()) {
+            if (metric != Metric.PLACEHOLDER) {
+                summary(builder, "handler_duration_seconds", "handler", metric.getDisplayName(), metrics.getHistogram(metric));
+            }
+        }
+
+        header(builder, "handler_allocated_bytes_total", "counter", "事件处理累计分配的内存");
+        for (Metric metric : Metric.values()) {
+            if (metric != Metric.PLACEHOLDER) {
+                sample(builder, "handler_allocated_bytes_total", "handler", metric.getDisplayName(), metrics.getAllocatedBytes(metric));
+            }
+        }
+
+        // PlaceholderAPI
+        LatencyHistogram placeholder = metrics.getHistogram(Metric.PLACEHOLDER);
+        header(builder, "placeholder_calls_total", "counter", "PlaceholderAPI 调用次数");
+        sample(builder, "placeholder_calls_total", null, null, placeholder.getCount());
+        header(builder, "placeholder_duration_seconds", "summary", "PlaceholderAPI 调用耗时");
+        summary(builder, "placeholder_duration_seconds", null, null, placeholder);
+        PlaceholderCache placeholderCache = plugin.getPlaceholderCache();
+        header(builder, "placeholder_cache_hits_total", "counter", "占位符缓存命中次数");
+        sample(builder, "placeholder_cache_hits_total", null, null, placeholderCache.getHits());
+        header(builder, "placeholder_cache_misses_total", "counter", "占位符缓存未命中次数");
+        sample(builder, "placeholder_cache_misses_total", null, null, placeholderCache.getMisses());
+
+        // 保护拦截与冷却
+        header(builder, "protection_cancels_total", "counter", "按类型统计的保护拦截次数");
+        for (CancelReason reason : CancelReason.values()) {
+            sample(builder, "protection_cancels_total", "reason", reason.getDisplayName(), metrics.getCancelCount(reason));
+        }
+        header(builder, "cooldown_rejections_total", "counter", "因冷却被拒绝的点击次数");
+        sample(builder, "cooldown_rejections_total", null, null, metrics.getCooldownRejections());
+        header(builder, "notifications_suppressed_total", "counter", "被限流抑制的提示次数");
+        sample(builder, "notifications_suppressed_total", null, null, current.suppressedNotifications);
+
+        // 槽位写入与恢复
+        header(builder, "slot_writes_total", "counter", "本插件引起的槽位更新次数");
+        sample(builder, "slot_writes_total", null, null,
+                plugin.getFixedItemManager().getReconciler().getWriteCounter().getTotal());
+        header(builder, "player_restores_total", "counter", "在线玩家发生写入的背包同步次数");
+        for (Map.Entry<String, long[]> entry : current.players.entrySet()) {
+            sample(builder, "player_restores_total", "player", entry.getKey(), entry.getValue()[0]);
+        }
+        header(builder, "player_slot_writes_total", "counter", "在线玩家的槽位更新次数");
+        for (Map.Entry<String, long[]> entry : current.players.entrySet()) {
+            sample(builder, "player_slot_writes_total", "player", entry.getKey(), entry.getValue()[1]);
+        }
+
+        // 队列深度
+        header(builder, "online_players", "gauge", "在线玩家数");
+        sample(builder, "online_players", null, null, current.onlinePlayers);
+        header(builder, "rollout_queued_players", "gauge", "在分发队列中排队的玩家数");
+        sample(builder, "rollout_queued_players", null, null, current.queuedPlayers);
+        header(builder, "rollout_active_jobs", "gauge", "进行中的批量分发任务数");
+        sample(builder, "rollout_active_jobs", null, null, current.activeJobs);
+        header(builder, "rollout_pending", "gauge", "所有分发任务中待处理的玩家数");
+        sample(builder, "rollout_pending", null, null, current.pendingPlayers);
+        header(builder, "prepared_pending", "gauge", "已预加载、等待进服的玩家数");
+        sample(builder, "prepared_pending", null, null, current.preparedPending);
+
+        header(builder, "metrics_enabled", "gauge", "耗时统计是否开启");
+        sample(builder, "metrics_enabled", null, null, metrics.isEnabled() ? 1 : 0);
+
+        return builder.toString();
+    }
+
+    private static void header(StringBuilder builder, String name, String type, String help) {
+        builder.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder builder, String name, String label, String value, long number) {
+        builder.append(PREFIX).append(name);
+        if (label != null) {
+            builder.append('{').append(label).append("=\"");
+            escape(builder, value);
+            builder.append("\"}");
+        }
+        builder.append(' ').append(number).append('\n');
+    }
+
+    private static void summary(StringBuilder builder, String name, String label, String value, LatencyHistogram histogram) {
+        for (double quantile : QUANTILES) {
+            builder.append(PREFIX).append(name).append('{');
+            if (label != null) {
+                builder.append(label).append("=\"");
+                escape(builder, value);
+                builder.append("\",");
+            }
+            builder.append("quantile=\"").append(quantile).append("\"} ")
+                    .append(toSeconds(histogram.getPercentile(quantile))).append('\n');
+        }
+
+        String labels = label != null ? "{" + label + "=\"" + escape(new StringBuilder(), value) + "\"}" : "";
+        builder.append(PREFIX).append(name).append("_sum").append(labels).append(' ')
+                .append(toSeconds(histogram.getSum())).append('\n');
+        builder.append(PREFIX).append(name).append("_count").append(labels).append(' ')
+                .append(histogram.getCount()).append('\n');
+    }
+
+    /**
+     * 转义标签值中的反斜杠、双引号与换行
+     */
+    private static StringBuilder escape(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                builder.append('\\').append(c);
+            } else if (c == '\n') {
+                builder.append("\\n");
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder;
+    }
+
+    private static double toSeconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    /**
+     * 主线程数据快照
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, Collections.emptyMap());
+
+        final int onlinePlayers;
+        final int queuedPlayers;
+        final int activeJobs;
+        final long pendingPlayers;
+        final int preparedPending;
+        final long suppressedNotifications;
+
+        // 玩家名 -> {恢复次数, 槽位写入次数}
+        final Map<String, long[]> players;
+
+        Snapshot(int onlinePlayers, int queuedPlayers, int activeJobs, long pendingPlayers,
+                 int preparedPending, long suppressedNotifications, Map<String, long[]> players) {
+            this.onlinePlayers = onlinePlayers;
+            this.queuedPlayers = queuedPlayers;
+            this.activeJobs = activeJobs;
+            this.pendingPlayers = pendingPlayers;
+            this.preparedPending = preparedPending;
+            this.suppressedNotifications = suppressedNotifications;
+            this.players = players;
+        }
+    }
+}
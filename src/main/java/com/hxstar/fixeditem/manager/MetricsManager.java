@@ -0,0 +1,277 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.util.LatencyHistogram;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 性能统计管理器
+ * 为每个监听方法、定时检查、物品创建、重载与命令处理记录耗时分布与内存分配。
+ * 关闭时 {@link #start(Metric)} 只读取一次 volatile 字段并返回0，{@link #stop(Metric, long)} 直接返回
+ *
+ * 用法:
+ * <pre>
+ * long start = metrics.start(Metric.X);
+ * try {
+ *     ...
+ * } finally {
+ *     metrics.stop(Metric.X, start);
+ * }
+ * </pre>
+ */
+public class MetricsManager {
+
+    /**
+     * 统计项
+     */
+    public enum Metric {
+        // ItemProtectionListener
+        DROP_ITEM("drop-item"),
+        INVENTORY_CLICK("inventory-click"),
+        INVENTORY_DRAG("inventory-drag"),
+        PLAYER_DEATH("player-death"),
+        SWAP_HAND("swap-hand"),
+        INVENTORY_MOVE("inventory-move"),
+        PICKUP_ITEM("pickup-item"),
+        INVENTORY_CREATIVE("inventory-creative"),
+        INVENTORY_CLOSE("inventory-close"),
+        // PlayerEventListener
+        PRE_LOGIN("pre-login"),
+        JOIN("join"),
+        QUIT("quit"),
+        CHANGED_WORLD("changed-world"),
+        RESPAWN("respawn"),
+        TELEPORT("teleport"),
+        INTERACT("interact"),
+        INTERACT_ENTITY("interact-entity"),
+        GAMEMODE_CHANGE("gamemode-change"),
+        ITEM_HELD("item-held"),
+        // 其他
+        CHECK_TASK("check-task"),
+        CREATE_ITEM("create-item"),
+        RELOAD("reload"),
+        COMMAND("command"),
+        ANIMATION("animation"),
+        LORE_REFRESH("lore-refresh"),
+        ACTION_CHAIN("action-chain"),
+        MENU_OPEN("menu-open"),
+        PLACEHOLDER("placeholder");
+
+        private final String displayName;
+
+        Metric(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * 保护拦截类型
+     */
+    public enum CancelReason {
+        DROP("drop"),
+        MOVE("move"),
+        CONTAINER("container"),
+        DRAG("drag"),
+        SWAP_HAND("swap-hand"),
+        HOPPER("hopper"),
+        PICKUP("pickup"),
+        CREATIVE("creative");
+
+        private final String displayName;
+
+        CancelReason(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private static final Metric[] METRICS = Metric.values();
+    private static final CancelReason[] CANCEL_REASONS = CancelReason.values();
+
+    private final HxFixedItem plugin;
+    private final LatencyHistogram[] histograms;
+    private final LongAdder[] allocatedBytes;
+
+    // 计数器（始终记录，只是一次 LongAdder 自增）
+    private final LongAdder[] cancels;
+    private final LongAdder cooldownRejections;
+
+    // 线程内存分配统计（HotSpot 扩展，不支持时为null）
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    // 每个线程各统计项开始时的已分配字节数
+    private final ThreadLocal<long[]> allocationStarts;
+
+    private volatile boolean enabled;
+    private volatile boolean trackAllocations;
+
+    public MetricsManager(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.histograms = new LatencyHistogram[METRICS.length];
+        this.allocatedBytes = new LongAdder[METRICS.length];
+        for (int i = 0; i < METRICS.length; i++) {
+            histograms[i] = new LatencyHistogram();
+            allocatedBytes[i] = new LongAdder();
+        }
+        this.cancels = new LongAdder[CANCEL_REASONS.length];
+        for (int i = 0; i < CANCEL_REASONS.length; i++) {
+            cancels[i] = new LongAdder();
+        }
+        this.cooldownRejections = new LongAdder();
+        this.allocationBean = resolveAllocationBean();
+        this.allocationStarts = ThreadLocal.withInitial(() -> new long[METRICS.length]);
+    }
+
+    /**
+     * 按配置设置统计开关（加载配置后调用）
+     * 启用了指标导出时耗时统计会一并开启
+     */
+    public void reload() {
+        ConfigManager config = plugin.getConfigManager();
+        setEnabled(config.isMetricsEnabled() || config.getMetricsExportMode() != MetricsExporter.Mode.NONE);
+        this.trackAllocations = config.isMetricsTrackAllocations() && allocationBean != null;
+    }
+
+    /**
+     * 开始计时
+     *
+     * @param metric 统计项
+     * @return 开始时间（纳秒），统计关闭时返回0
+     */
+    public long start(Metric metric) {
+        if (!enabled) {
+            return 0L;
+        }
+        if (trackAllocations) {
+            allocationStarts.get()[metric.ordinal()] = allocationBean.getCurrentThreadAllocatedBytes();
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * 结束计时并记录
+     *
+     * @param metric 统计项
+     * @param start  {@link #start(Metric)} 的返回值
+     */
+    public void stop(Metric metric, long start) {
+        if (start == 0L) {
+            return;
+        }
+        int index = metric.ordinal();
+        histograms[index].record(System.nanoTime() - start);
+
+        if (trackAllocations) {
+            long allocated = allocationBean.getCurrentThreadAllocatedBytes() - allocationStarts.get()[index];
+            if (allocated > 0) {
+                allocatedBytes[index].add(allocated);
+            }
+        }
+    }
+
+    /**
+     * 记录一次保护拦截
+     *
+     * @param reason 拦截类型
+     */
+    public void countCancel(CancelReason reason) {
+        cancels[reason.ordinal()].increment();
+    }
+
+    /**
+     * 记录一次因冷却被拒绝的点击
+     */
+    public void countCooldownRejection() {
+        cooldownRejections.increment();
+    }
+
+    public long getCancelCount(CancelReason reason) {
+        return cancels[reason.ordinal()].sum();
+    }
+
+    public long getCooldownRejections() {
+        return cooldownRejections.sum();
+    }
+
+    /**
+     * 运行时开关统计
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isTrackingAllocations() {
+        return trackAllocations;
+    }
+
+    /**
+     * 获取统计项的耗时分布
+     */
+    public LatencyHistogram getHistogram(Metric metric) {
+        return histograms[metric.ordinal()];
+    }
+
+    /**
+     * 获取统计项平均每次调用分配的字节数
+     */
+    public long getAverageAllocation(Metric metric) {
+        long count = histograms[metric.ordinal()].getCount();
+        return count == 0 ? 0L : allocatedBytes[metric.ordinal()].sum() / count;
+    }
+
+    /**
+     * 获取统计项累计分配的字节数
+     */
+    public long getAllocatedBytes(Metric metric) {
+        return allocatedBytes[metric.ordinal()].sum();
+    }
+
+    /**
+     * 清空所有统计
+     */
+    public void reset() {
+        for (int i = 0; i < METRICS.length; i++) {
+            histograms[i].reset();
+            allocatedBytes[i].reset();
+        }
+        for (LongAdder counter : cancels) {
+            counter.reset();
+        }
+        cooldownRejections.reset();
+    }
+
+    /**
+     * 获取支持线程内存分配统计的 ThreadMXBean
+     */
+    private static com.sun.management.ThreadMXBean resolveAllocationBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+                if (sunBean.isThreadAllocatedMemorySupported()) {
+                    if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+                        sunBean.setThreadAllocatedMemoryEnabled(true);
+                    }
+                    return sunBean;
+                }
+            }
+        } catch (Throwable ignored) {
+            // 非 HotSpot 虚拟机，不统计内存分配
+        }
+        return null;
+    }
+}
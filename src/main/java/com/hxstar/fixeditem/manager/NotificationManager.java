@@ -0,0 +1,182 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.util.MessageTemplate;
+import com.hxstar.fixeditem.util.NumberUtil;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 提示消息管理器
+ * 负责发送保护提示与冷却提示：
+ * - 消息在每次重载时预先渲染（前缀 + 着色）
+ * - 同一玩家同一类提示按最小间隔限流，被抑制的发送会计数
+ * - 可选择通过聊天栏或动作栏发送
+ */
+public class NotificationManager {
+
+    /**
+     * 提示类型
+     */
+    public enum Notice {
+        CANNOT_DROP("protection.cannot-drop"),
+        CANNOT_MOVE("protection.cannot-move"),
+        CANNOT_CONTAINER("protection.cannot-container"),
+        COOLDOWN("cooldown.wait");
+
+        private final String langKey;
+
+        Notice(String langKey) {
+            this.langKey = langKey;
+        }
+
+        public String getLangKey() {
+            return langKey;
+        }
+    }
+
+    private static final Notice[] NOTICES = Notice.values();
+
+    private final HxFixedItem plugin;
+
+    // 玩家最近一次发送时间: UUID -> 按 Notice 序号索引的时间戳
+    private final Map<UUID, long[]> lastSent;
+
+    // 被限流抑制的发送次数，按 Notice 序号索引
+    private final long[] suppressed;
+
+    // 预渲染的消息
+    private String[] renderedMessages;
+    private BaseComponent[][] renderedComponents;
+    private MessageTemplate cooldownTemplate;
+
+    private long minInterval;
+    private boolean actionBar;
+
+    public NotificationManager(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.lastSent = new HashMap<>();
+        this.suppressed = new long[NOTICES.length];
+        this.renderedMessages = new String[NOTICES.length];
+        this.renderedComponents = new BaseComponent[NOTICES.length][];
+    }
+
+    /**
+     * 重新渲染所有提示消息（在配置和语言文件加载后调用）
+     */
+    public void reload() {
+        ConfigManager config = plugin.getConfigManager();
+        LanguageManager lang = plugin.getLanguageManager();
+
+        this.minInterval = config.getNotifyInterval();
+        this.actionBar = config.isNotifyActionBar();
+
+        String[] messages = new String[NOTICES.length];
+        BaseComponent[][] components = new BaseComponent[NOTICES.length][];
+        for (Notice notice : NOTICES) {
+            String message = lang.getPrefixedMessage(notice.getLangKey());
+            messages[notice.ordinal()] = message;
+            components[notice.ordinal()] = TextComponent.fromLegacyText(message);
+        }
+        this.renderedMessages = messages;
+        this.renderedComponents = components;
+        this.cooldownTemplate = lang.getPrefixedTemplate(Notice.COOLDOWN.getLangKey());
+    }
+
+    /**
+     * 发送预渲染的提示消息
+     *
+     * @param player 玩家
+     * @param notice 提示类型
+     */
+    public void send(Player player, Notice notice) {
+        if (!acquire(player, notice)) {
+            return;
+        }
+
+        if (actionBar) {
+            player.spigot().sendMessage(ChatMessageType.ACTION_BAR, renderedComponents[notice.ordinal()]);
+        } else {
+            player.sendMessage(renderedMessages[notice.ordinal()]);
+        }
+    }
+
+    /**
+     * 发送冷却提示
+     * 只有通过限流后才会格式化剩余时间
+     *
+     * @param player          玩家
+     * @param remainingMillis 剩余冷却时间（毫秒）
+     */
+    public void sendCooldown(Player player, long remainingMillis) {
+        if (!acquire(player, Notice.COOLDOWN)) {
+            return;
+        }
+
+        deliver(player, cooldownTemplate.render("{time}", NumberUtil.formatSeconds(remainingMillis)));
+    }
+
+    /**
+     * 检查限流并记录发送时间
+     *
+     * @return 是否允许发送
+     */
+    private boolean acquire(Player player, Notice notice) {
+        if (minInterval <= 0) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        long[] times = lastSent.computeIfAbsent(player.getUniqueId(), k -> new long[NOTICES.length]);
+        int index = notice.ordinal();
+
+        if (now - times[index] < minInterval) {
+            suppressed[index]++;
+            return false;
+        }
+
+        times[index] = now;
+        return true;
+    }
+
+    /**
+     * 按配置的方式发送消息
+     */
+    private void deliver(Player player, String message) {
+        if (actionBar) {
+            player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacyText(message));
+        } else {
+            player.sendMessage(message);
+        }
+    }
+
+    /**
+     * 获取某类提示被抑制的次数
+     */
+    public long getSuppressedCount(Notice notice) {
+        return suppressed[notice.ordinal()];
+    }
+
+    /**
+     * 获取所有提示被抑制的总次数
+     */
+    public long getTotalSuppressedCount() {
+        return Arrays.stream(suppressed).sum();
+    }
+
+    /**
+     * 清除玩家的限流记录
+     *
+     * @param player 玩家
+     */
+    public void clearPlayer(Player player) {
+        lastSent.remove(player.getUniqueId());
+    }
+}
@@ -0,0 +1,336 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.model.FixedItemData;
+import com.hxstar.fixeditem.model.PlayerOverrides;
+import com.hxstar.fixeditem.storage.AppendOnlyStore;
+import com.hxstar.fixeditem.util.SlotMapper;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+/**
+ * 个性化设置管理器
+ * 管理玩家的自选槽位、隐藏物品与额外物品，数据保存在追加写入的本地文件中：
+ * - 玩家登录验证阶段（异步线程）从文件读取，退出时从内存移除
+ * - 修改后立即更新内存，由存储线程追加写入文件
+ * - 给予与恢复时只查询内存，没有个性化设置的玩家直接使用全局布局
+ */
+public class OverrideManager {
+
+    // 登录阶段等待读取的最长时间（毫秒）
+    private static final long LOAD_TIMEOUT_MILLIS = 5000L;
+
+    private final HxFixedItem plugin;
+
+    // 在线玩家的个性化设置（没有设置的玩家不在其中）
+    private final Map<UUID, PlayerOverrides> overrides;
+
+    // 按个性化设置计算好的布局（主线程访问）
+    private final Map<UUID, CachedLayout> layouts;
+
+    private volatile AppendOnlyStore store;
+
+    public OverrideManager(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.overrides = new ConcurrentHashMap<>();
+        this.layouts = new HashMap<>();
+    }
+
+    /**
+     * 打开数据文件，并为已在线的玩家读取设置（插件启用时调用）
+     */
+    public void start() {
+        ConfigManager configManager = plugin.getConfigManager();
+        store = new AppendOnlyStore(new File(plugin.getDataFolder(), configManager.getOverridesFile()),
+                plugin.getLogger(), "HxFixedItem-Store");
+        store.open();
+        store.scheduleCompaction(TimeUnit.MINUTES.toMillis(configManager.getOverridesCompactInterval()));
+
+        // 重载插件时在线玩家不会经过登录阶段，读取完成后在主线程刷新
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            UUID playerId = player.getUniqueId();
+            store.read(playerId).thenAccept(value -> {
+                PlayerOverrides loaded = PlayerOverrides.parse(value);
+                if (!loaded.isEmpty()) {
+                    Bukkit.getScheduler().runTask(plugin, () -> {
+                        Player online = Bukkit.getPlayer(playerId);
+                        if (online != null) {
+                            overrides.put(playerId, loaded);
+                            plugin.getFixedItemManager().refreshFixedItems(online);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    /**
+     * 关闭数据文件，等待未完成的写入（插件卸载时调用）
+     */
+    public void stop() {
+        if (store != null) {
+            store.close();
+            store = null;
+        }
+    }
+
+    /**
+     * 读取玩家的设置（在登录验证阶段的异步线程中调用）
+     *
+     * @param playerId 玩家UUID
+     */
+    public void load(UUID playerId) {
+        AppendOnlyStore current = store;
+        if (current == null) {
+            return;
+        }
+        try {
+            PlayerOverrides loaded = PlayerOverrides.parse(
+                    current.read(playerId).get(LOAD_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            if (loaded.isEmpty()) {
+                overrides.remove(playerId);
+            } else {
+                overrides.put(playerId, loaded);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            plugin.getLogger().warning("读取玩家 " + playerId + " 的个性化设置失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 从内存移除玩家的设置与布局（退出时在主线程调用）
+     *
+     * @param playerId 玩家UUID
+     */
+    public void unload(UUID playerId) {
+        overrides.remove(playerId);
+        layouts.remove(playerId);
+    }
+
+    /**
+     * 丢弃登录阶段读取的设置（登录被拒绝时在异步线程调用）
+     * 布局缓存只在主线程访问，这里不做修改；残留的布局与设置对象不一致，下次使用时会重新计算
+     *
+     * @param playerId 玩家UUID
+     */
+    public void discard(UUID playerId) {
+        overrides.remove(playerId);
+    }
+
+    /**
+     * 获取玩家的设置
+     *
+     * @param playerId 玩家UUID
+     * @return 设置，没有任何设置时返回null
+     */
+    public PlayerOverrides get(UUID playerId) {
+        return overrides.get(playerId);
+    }
+
+    /**
+     * 修改玩家的设置，保存并重新同步背包
+     *
+     * @param player   玩家
+     * @param modifier 修改函数
+     */
+    public void update(Player player, UnaryOperator<PlayerOverrides> modifier) {
+        UUID playerId = player.getUniqueId();
+        PlayerOverrides current = overrides.getOrDefault(playerId, PlayerOverrides.EMPTY);
+        PlayerOverrides updated = modifier.apply(current);
+
+        if (updated.isEmpty()) {
+            overrides.remove(playerId);
+        } else {
+            overrides.put(playerId, updated);
+        }
+        layouts.remove(playerId);
+        String serialized = updated.serialize();
+        if (store != null) {
+            store.write(playerId, serialized);
+        }
+        plugin.getSyncManager().publishOverrides(playerId, serialized);
+
+        plugin.getFixedItemManager().refreshFixedItems(player);
+    }
+
+    /**
+     * 应用其他服务器同步过来的设置（任意线程）
+     * 只处理本服务器上的玩家：登录阶段的快照直接更新内存，实时广播在主线程更新在线玩家的布局。
+     * 内容与本地不同时才写入本地文件，其他服务器玩家的广播不会写入
+     *
+     * @param playerId   玩家UUID
+     * @param serialized 序列化后的设置
+     * @param live       是否为实时广播（否则为登录阶段读取的快照，直接更新内存）
+     */
+    public void applyRemote(UUID playerId, String serialized, boolean live) {
+        PlayerOverrides remote = PlayerOverrides.parse(serialized);
+
+        if (!live) {
+            replace(playerId, remote);
+            return;
+        }
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            Player online = Bukkit.getPlayer(playerId);
+            if (online == null) {
+                return;
+            }
+            if (replace(playerId, remote)) {
+                layouts.remove(playerId);
+                plugin.getFixedItemManager().refreshFixedItems(online);
+            }
+        });
+    }
+
+    /**
+     * 用同步过来的设置替换内存中的设置，内容变化时写入本地文件
+     *
+     * @return 内容是否变化
+     */
+    private boolean replace(UUID playerId, PlayerOverrides remote) {
+        PlayerOverrides local = overrides.getOrDefault(playerId, PlayerOverrides.EMPTY);
+        String serialized = remote.serialize();
+        if (serialized.equals(local.serialize())) {
+            return false;
+        }
+
+        if (remote.isEmpty()) {
+            overrides.remove(playerId);
+        } else {
+            overrides.put(playerId, remote);
+        }
+        AppendOnlyStore current = store;
+        if (current != null) {
+            current.write(playerId, serialized);
+        }
+        return true;
+    }
+
+    /**
+     * 获取玩家的固定物品布局（不考虑权限）
+     * 没有个性化设置的玩家直接返回全局布局
+     *
+     * @param player 玩家
+     * @return 按槽位索引的布局（只读）
+     */
+    public FixedItemData[] getLayout(Player player) {
+        ConfigManager configManager = plugin.getConfigManager();
+        PlayerOverrides playerOverrides = overrides.get(player.getUniqueId());
+        if (playerOverrides == null) {
+            return configManager.getSlotLayout();
+        }
+
+        CachedLayout cached = layouts.get(player.getUniqueId());
+        if (cached == null || cached.generation != configManager.getGeneration() || cached.overrides != playerOverrides) {
+            cached = new CachedLayout(configManager.getGeneration(), playerOverrides, buildLayout(playerOverrides));
+            layouts.put(player.getUniqueId(), cached);
+        }
+        return cached.layout;
+    }
+
+    /**
+     * 获取物品在玩家布局中的槽位
+     *
+     * @param player   玩家
+     * @param itemData 物品数据
+     * @return 槽位，不在玩家布局中时返回-1
+     */
+    public int getSlot(Player player, FixedItemData itemData) {
+        if (!overrides.containsKey(player.getUniqueId())) {
+            return itemData.isDefaultItem() ? itemData.getSlot() : -1;
+        }
+        FixedItemData[] layout = getLayout(player);
+        for (int slot = 0; slot < layout.length; slot++) {
+            if (layout[slot] == itemData) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 按个性化设置计算布局
+     * 1. 玩家自选了槽位的物品优先放入所选槽位
+     * 2. 其余物品放入默认槽位
+     * 3. 默认槽位被占用的物品放入被移走物品空出的默认槽位（即交换位置），仍放不下时不给予
+     */
+    private FixedItemData[] buildLayout(PlayerOverrides playerOverrides) {
+        List<FixedItemData> items = new ArrayList<>();
+        for (FixedItemData itemData : plugin.getConfigManager().getFixedItems().values()) {
+            String itemId = itemData.getItemId();
+            if (playerOverrides.isExtra(itemId) || (itemData.isDefaultItem() && !playerOverrides.isHidden(itemId))) {
+                items.add(itemData);
+            }
+        }
+        items.sort(Comparator.comparingInt(FixedItemData::getSlot));
+
+        FixedItemData[] layout = new FixedItemData[SlotMapper.PLAYER_SLOTS];
+        List<FixedItemData> remaining = new ArrayList<>();
+        for (FixedItemData itemData : items) {
+            Integer slot = playerOverrides.getSlot(itemData.getItemId());
+            if (slot != null && SlotMapper.isValidPlayerSlot(slot) && layout[slot] == null) {
+                layout[slot] = itemData;
+            } else {
+                remaining.add(itemData);
+            }
+        }
+
+        List<FixedItemData> displaced = new ArrayList<>();
+        for (FixedItemData itemData : remaining) {
+            if (layout[itemData.getSlot()] == null) {
+                layout[itemData.getSlot()] = itemData;
+            } else {
+                displaced.add(itemData);
+            }
+        }
+
+        for (FixedItemData itemData : displaced) {
+            for (FixedItemData moved : items) {
+                int vacated = moved.getSlot();
+                if (layout[vacated] == null && playerOverrides.getSlot(moved.getItemId()) != null) {
+                    layout[vacated] = itemData;
+                    break;
+                }
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * 获取已保存设置的玩家数量
+     */
+    public int getStoredCount() {
+        return store != null ? store.getLiveCount() : 0;
+    }
+
+    /**
+     * 计算好的布局
+     */
+    private static final class CachedLayout {
+
+        private final int generation;
+        private final PlayerOverrides overrides;
+        private final FixedItemData[] layout;
+
+        private CachedLayout(int generation, PlayerOverrides overrides, FixedItemData[] layout) {
+            this.generation = generation;
+            this.overrides = overrides;
+            this.layout = layout;
+        }
+    }
+}
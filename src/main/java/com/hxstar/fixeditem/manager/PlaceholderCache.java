@@ -0,0 +1,155 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 占位符缓存
+ * 按玩家缓存每个 PlaceholderAPI 占位符的解析结果，在有效期内同一占位符只解析一次，
+ * 物品名称、描述与命令模板共用同一份结果。
+ *
+ * 有效期按以下顺序查找（单位毫秒，0 表示不缓存）:
+ * 1. 完整占位符，如 vault_eco_balance
+ * 2. 扩展标识（第一个下划线之前的部分），如 vault
+ * 3. 默认有效期
+ *
+ * 预加载阶段会在异步线程中读写，因此使用并发容器
+ */
+public class PlaceholderCache {
+
+    private final HxFixedItem plugin;
+
+    // UUID -> (占位符 -> 缓存值)
+    private final Map<UUID, Map<String, CachedValue>> cache;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public PlaceholderCache(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.cache = new ConcurrentHashMap<>();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+    }
+
+    /**
+     * 获取未过期的缓存值
+     *
+     * @param playerId 玩家UUID
+     * @param token    占位符（不含 %）
+     * @return 缓存值，未缓存或已过期时返回null（同时计为一次未命中）
+     */
+    public String get(UUID playerId, String token) {
+        Map<String, CachedValue> values = cache.get(playerId);
+        if (values != null) {
+            CachedValue value = values.get(token);
+            if (value != null && value.expiresAt > System.currentTimeMillis()) {
+                hits.increment();
+                return value.value;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 缓存解析结果
+     *
+     * @param playerId 玩家UUID
+     * @param token    占位符（不含 %）
+     * @param value    解析结果
+     */
+    public void put(UUID playerId, String token, String value) {
+        long ttl = getTtl(token);
+        if (ttl <= 0) {
+            return;
+        }
+        cache.computeIfAbsent(playerId, id -> new ConcurrentHashMap<>())
+                .put(token, new CachedValue(value, System.currentTimeMillis() + ttl));
+    }
+
+    /**
+     * 获取占位符的缓存有效期（毫秒）
+     */
+    private long getTtl(String token) {
+        Map<String, Long> ttls = plugin.getConfigManager().getPlaceholderTtls();
+        if (!ttls.isEmpty()) {
+            String key = token.toLowerCase(Locale.ROOT);
+            Long ttl = ttls.get(key);
+            if (ttl == null) {
+                int separator = key.indexOf('_');
+                if (separator > 0) {
+                    ttl = ttls.get(key.substring(0, separator));
+                }
+            }
+            if (ttl != null) {
+                return ttl;
+            }
+        }
+        return plugin.getConfigManager().getPlaceholderDefaultTtl();
+    }
+
+    /**
+     * 清除玩家的缓存
+     */
+    public void clearPlayer(UUID playerId) {
+        cache.remove(playerId);
+    }
+
+    /**
+     * 清除所有缓存（重载配置后调用）
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * 获取缓存命中次数
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * 获取缓存未命中次数（即实际调用 PlaceholderAPI 解析的次数）
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * 获取缓存命中率 (0-1)
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * 清空命中统计
+     */
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * 缓存值
+     */
+    private static final class CachedValue {
+
+        private final String value;
+        private final long expiresAt;
+
+        private CachedValue(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.manager.ConfigManager.ItemSnapshot;
+import com.hxstar.fixeditem.model.FixedItemData;
+import com.hxstar.fixeditem.model.PreparedLoadout;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预加载管理器
+ * 在 AsyncPlayerPreLoginEvent 阶段（异步线程）提前构建玩家的固定物品，
+ * 进服时由主线程直接放入背包，减少进服高峰期的主线程开销
+ */
+public class PreparationManager {
+
+    // 预加载结果的最长保留时间（毫秒），超过后视为玩家未能进服
+    private static final long MAX_AGE_MILLIS = 60_000L;
+
+    private final HxFixedItem plugin;
+
+    // 预加载结果: UUID -> 物品集合
+    private final Map<UUID, PreparedLoadout> prepared;
+
+    public PreparationManager(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.prepared = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 为即将进服的玩家构建固定物品（在异步线程中调用）
+     *
+     * @param playerId 玩家UUID
+     */
+    public void prepare(UUID playerId) {
+        ConfigManager configManager = plugin.getConfigManager();
+        if (!configManager.isPrepareEnabled()) {
+            return;
+        }
+
+        cleanupExpired();
+
+        // 物品与版本号来自同一次加载，与重载交错时结果会被标记为旧版本而不被使用
+        ItemSnapshot snapshot = configManager.getItemSnapshot();
+        int generation = snapshot.getGeneration();
+        boolean asyncPlaceholders = configManager.isPrepareAsyncPlaceholders();
+        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerId);
+        Collection<FixedItemData> itemDataList = snapshot.getItems().values();
+
+        Map<String, ItemStack> items = new HashMap<>();
+        for (FixedItemData itemData : itemDataList) {
+            // 含占位符且不允许异步解析的物品留到进服时再构建
+            if (itemData.isDynamic() && !asyncPlaceholders) {
+                continue;
+            }
+            items.put(itemData.getItemId(), plugin.getFixedItemManager().createFixedItem(itemData, offlinePlayer));
+        }
+
+        prepared.put(playerId, new PreparedLoadout(playerId, generation, items));
+    }
+
+    /**
+     * 取出玩家的预加载结果（在主线程中调用）
+     * 配置在预加载之后被重载过，或结果已过期时返回null
+     *
+     * @param player 玩家
+     * @return 预加载结果
+     */
+    public PreparedLoadout consume(Player player) {
+        PreparedLoadout loadout = prepared.remove(player.getUniqueId());
+        if (loadout == null) {
+            return null;
+        }
+
+        if (loadout.getGeneration() != plugin.getConfigManager().getGeneration()
+                || System.currentTimeMillis() - loadout.getCreatedAt() > MAX_AGE_MILLIS) {
+            return null;
+        }
+
+        return loadout;
+    }
+
+    /**
+     * 检查玩家是否有预加载结果
+     *
+     * @param playerId 玩家UUID
+     */
+    public boolean hasPrepared(UUID playerId) {
+        return prepared.containsKey(playerId);
+    }
+
+    /**
+     * 丢弃玩家的预加载结果（登录被拒绝或退出时调用）
+     *
+     * @param playerId 玩家UUID
+     */
+    public void discard(UUID playerId) {
+        prepared.remove(playerId);
+    }
+
+    /**
+     * 清理过期的预加载结果
+     */
+    private void cleanupExpired() {
+        long now = System.currentTimeMillis();
+        prepared.values().removeIf(loadout -> now - loadout.getCreatedAt() > MAX_AGE_MILLIS);
+    }
+
+    /**
+     * 清除所有预加载结果（重载配置时调用）
+     */
+    public void clear() {
+        prepared.clear();
+    }
+
+    /**
+     * 获取等待进服的预加载数量
+     */
+    public int getPendingCount() {
+        return prepared.size();
+    }
+}
@@ -0,0 +1,276 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.model.RolloutJob;
+import com.hxstar.fixeditem.model.RolloutJob.Operation;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 批量分发管理器
+ * 将对大量玩家的给予/刷新/移除操作排入队列，每 tick 在时间预算内处理一部分，
+ * 避免重载或大量玩家同时进服时出现单个超长 tick。
+ * 在轮到之前就与固定物品交互的玩家会被立即插队处理。
+ */
+public class RolloutManager {
+
+    // 保留的已完成任务数量（用于命令查看）
+    private static final int FINISHED_HISTORY = 5;
+
+    private final HxFixedItem plugin;
+
+    // 进行中的任务: 任务ID -> 任务（按提交顺序处理）
+    private final Map<Integer, RolloutJob> activeJobs;
+
+    // 最近完成的任务
+    private final Deque<RolloutJob> finishedJobs;
+
+    // 玩家在多少个任务中排队: UUID -> 数量，用于快速判断是否需要插队
+    private final Map<UUID, Integer> queuedPlayers;
+
+    // 常驻的进服任务
+    private RolloutJob joinJob;
+
+    private BukkitTask task;
+    private int nextJobId;
+
+    public RolloutManager(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.activeJobs = new LinkedHashMap<>();
+        this.finishedJobs = new ArrayDeque<>();
+        this.queuedPlayers = new HashMap<>();
+        this.nextJobId = 1;
+    }
+
+    /**
+     * 启动每 tick 处理任务（插件启用和重载时调用）
+     */
+    public void start() {
+        if (task != null) {
+            task.cancel();
+        }
+        if (joinJob == null) {
+            joinJob = new RolloutJob(0, "join", Operation.GIVE, null, true);
+            activeJobs.put(joinJob.getId(), joinJob);
+        }
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * 提交批量任务
+     *
+     * @param label     任务名称
+     * @param operation 操作类型
+     * @param itemId    物品ID（仅 REMOVE_ITEM 使用）
+     * @param players   目标玩家
+     * @return 创建的任务
+     */
+    public RolloutJob submit(String label, Operation operation, String itemId, Collection<? extends Player> players) {
+        RolloutJob job = new RolloutJob(nextJobId++, label, operation, itemId, false);
+        for (Player player : players) {
+            if (job.add(player.getUniqueId())) {
+                queuedPlayers.merge(player.getUniqueId(), 1, Integer::sum);
+            }
+        }
+        activeJobs.put(job.getId(), job);
+        return job;
+    }
+
+    /**
+     * 将进服的玩家加入常驻进服队列
+     *
+     * @param player 玩家
+     */
+    public void enqueueJoin(Player player) {
+        if (joinJob.add(player.getUniqueId())) {
+            queuedPlayers.merge(player.getUniqueId(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * 插队处理：玩家在轮到之前就发生交互时立即处理其所有排队操作
+     *
+     * @param player 玩家
+     */
+    public void expedite(Player player) {
+        UUID playerId = player.getUniqueId();
+        if (!queuedPlayers.containsKey(playerId)) {
+            return;
+        }
+
+        for (RolloutJob job : new ArrayList<>(activeJobs.values())) {
+            if (job.remove(playerId)) {
+                process(job, player);
+            }
+        }
+        queuedPlayers.remove(playerId);
+    }
+
+    /**
+     * 取消任务
+     *
+     * @param jobId 任务ID
+     * @return 是否找到并取消了任务
+     */
+    public boolean cancel(int jobId) {
+        RolloutJob job = activeJobs.get(jobId);
+        if (job == null || job.isPersistent()) {
+            return false;
+        }
+
+        UUID playerId;
+        while ((playerId = job.poll()) != null) {
+            release(playerId);
+        }
+        job.cancel();
+        finish(job);
+        return true;
+    }
+
+    /**
+     * 移除退出玩家的所有排队操作
+     *
+     * @param player 玩家
+     */
+    public void forget(Player player) {
+        UUID playerId = player.getUniqueId();
+        if (queuedPlayers.remove(playerId) == null) {
+            return;
+        }
+        for (RolloutJob job : activeJobs.values()) {
+            if (job.remove(playerId)) {
+                job.markSkipped();
+            }
+        }
+    }
+
+    /**
+     * 每 tick 执行：在时间预算内依次处理各任务的排队玩家
+     */
+    private void tick() {
+        if (queuedPlayers.isEmpty()) {
+            // 没有排队玩家时仍需结束已清空的任务（提交时没有玩家、玩家全部退出或被插队处理完）
+            retireFinished();
+            return;
+        }
+
+        long budgetNanos = plugin.getConfigManager().getRolloutTickBudgetNanos();
+        long start = System.nanoTime();
+        int processed = 0;
+
+        Iterator<RolloutJob> iterator = activeJobs.values().iterator();
+        while (iterator.hasNext()) {
+            RolloutJob job = iterator.next();
+
+            UUID playerId;
+            // 每 tick 至少处理一名玩家，保证任务总能推进
+            while ((processed == 0 || System.nanoTime() - start < budgetNanos) && (playerId = job.poll()) != null) {
+                release(playerId);
+                Player player = Bukkit.getPlayer(playerId);
+                if (player == null || !player.isOnline()) {
+                    job.markSkipped();
+                    continue;
+                }
+                process(job, player);
+                processed++;
+            }
+
+            if (job.isFinished()) {
+                iterator.remove();
+                addFinished(job);
+            }
+
+            if (processed > 0 && System.nanoTime() - start >= budgetNanos) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * 对单个玩家执行任务操作
+     */
+    private void process(RolloutJob job, Player player) {
+        FixedItemManager fixedItemManager = plugin.getFixedItemManager();
+        switch (job.getOperation()) {
+            case GIVE:
+                fixedItemManager.giveFixedItems(player, plugin.getPreparationManager().consume(player));
+                break;
+            case REFRESH:
+                fixedItemManager.refreshFixedItems(player);
+                break;
+            case REMOVE_ALL:
+                fixedItemManager.removeAllFixedItems(player);
+                break;
+            case REMOVE_ITEM:
+                fixedItemManager.removeFixedItem(player, job.getItemId());
+                break;
+        }
+        job.markProcessed();
+    }
+
+    /**
+     * 玩家离开某个任务队列后更新排队计数
+     */
+    private void release(UUID playerId) {
+        queuedPlayers.computeIfPresent(playerId, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * 结束所有已完成的任务
+     */
+    private void retireFinished() {
+        Iterator<RolloutJob> iterator = activeJobs.values().iterator();
+        while (iterator.hasNext()) {
+            RolloutJob job = iterator.next();
+            if (job.isFinished()) {
+                iterator.remove();
+                addFinished(job);
+            }
+        }
+    }
+
+    private void finish(RolloutJob job) {
+        activeJobs.remove(job.getId());
+        addFinished(job);
+    }
+
+    private void addFinished(RolloutJob job) {
+        finishedJobs.addFirst(job);
+        while (finishedJobs.size() > FINISHED_HISTORY) {
+            finishedJobs.removeLast();
+        }
+    }
+
+    /**
+     * 获取进行中的任务
+     */
+    public List<RolloutJob> getActiveJobs() {
+        return new ArrayList<>(activeJobs.values());
+    }
+
+    /**
+     * 获取最近完成的任务
+     */
+    public List<RolloutJob> getFinishedJobs() {
+        return new ArrayList<>(finishedJobs);
+    }
+
+    /**
+     * 获取排队中的玩家数量
+     */
+    public int getQueuedPlayerCount() {
+        return queuedPlayers.size();
+    }
+}
@@ -0,0 +1,306 @@
+package com.hxstar.fixeditem.manager;
+
+import com.hxstar.fixeditem.HxFixedItem;
+import com.hxstar.fixeditem.sync.LoopbackBackend;
+import com.hxstar.fixeditem.sync.RedisBackend;
+import com.hxstar.fixeditem.sync.SyncBackend;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 跨服同步管理器
+ * 在群组服之间同步玩家的冷却与个性化设置，防止玩家通过切换服务器绕过冷却：
+ * - 主线程只把更新写入待发送表（同一玩家的同一字段只保留最新值），不接触网络
+ * - 同步线程定时取出待发送的更新，合并为一条广播发出，并写入状态快照
+ * - 收到其他服务器的广播后直接更新本地缓存，需要刷新背包的改动交给主线程处理
+ * - 玩家登录验证阶段（异步线程）读取状态快照，补上离开期间在其他服务器产生的更新
+ *
+ * 冷却以过期时间戳同步，各服务器的系统时间需要保持一致（如开启 NTP）
+ */
+public class SyncManager {
+
+    // 过期冷却的清理间隔（毫秒）
+    private static final long CLEANUP_INTERVAL_MILLIS = 60_000L;
+
+    // 字段名：冷却以 "c:" 加冷却键表示，个性化设置为 "o"
+    private static final String COOLDOWN_PREFIX = "c:";
+    private static final String OVERRIDES_FIELD = "o";
+
+    private final HxFixedItem plugin;
+
+    // 待发送的更新: "UUID\t字段" -> 值（后写入的覆盖先写入的）
+    private final Map<String, String> pending;
+
+    private final LongAdder published;
+    private final LongAdder received;
+
+    private volatile SyncBackend backend;
+    private ScheduledExecutorService executor;
+    private String serverId;
+    private String keyPrefix;
+    private long stateTtlMillis;
+
+    // 发送是否处于失败状态（由同步线程更新，用于避免重复输出警告）
+    private volatile boolean failing;
+
+    public SyncManager(HxFixedItem plugin) {
+        this.plugin = plugin;
+        this.pending = new ConcurrentHashMap<>();
+        this.published = new LongAdder();
+        this.received = new LongAdder();
+    }
+
+    /**
+     * 按配置连接同步后端（插件启用和重载时调用）
+     */
+    public void start() {
+        // 旧的同步线程与后端交给单独的线程发送剩余更新并断开，重载时不阻塞主线程
+        ScheduledExecutorService oldExecutor = executor;
+        SyncBackend oldBackend = backend;
+        executor = null;
+        backend = null;
+        if (oldExecutor != null || oldBackend != null) {
+            Thread thread = new Thread(() -> shutdown(oldExecutor, oldBackend), "HxFixedItem-Sync-Shutdown");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        ConfigManager config = plugin.getConfigManager();
+        if (!config.isSyncEnabled()) {
+            return;
+        }
+
+        serverId = config.getSyncServerId().isEmpty()
+                ? UUID.randomUUID().toString().substring(0, 8)
+                : config.getSyncServerId();
+        keyPrefix = config.getSyncChannel() + ":player:";
+        stateTtlMillis = TimeUnit.HOURS.toMillis(config.getSyncStateTtlHours());
+
+        SyncBackend created = createBackend(config);
+        created.start(this::receive);
+        backend = created;
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "HxFixedItem-Sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getSyncFlushInterval();
+        executor.scheduleWithFixedDelay(() -> flush(created), interval, interval, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(plugin.getCooldownManager()::cleanupExpiredCooldowns,
+                CLEANUP_INTERVAL_MILLIS, CLEANUP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        plugin.getLogger().info("跨服同步已开启: " + config.getSyncBackend() + "（服务器标识 " + serverId + "）");
+    }
+
+    /**
+     * 发送剩余的更新并断开后端（插件卸载时调用，最多等待5秒）
+     */
+    public void stop() {
+        ScheduledExecutorService oldExecutor = executor;
+        SyncBackend oldBackend = backend;
+        executor = null;
+        backend = null;
+        shutdown(oldExecutor, oldBackend);
+        pending.clear();
+    }
+
+    /**
+     * 在同步线程中发送剩余的更新，等待其结束后断开后端
+     */
+    private void shutdown(ScheduledExecutorService oldExecutor, SyncBackend oldBackend) {
+        if (oldExecutor != null) {
+            oldExecutor.execute(() -> flush(oldBackend));
+            oldExecutor.shutdown();
+            try {
+                if (!oldExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    plugin.getLogger().warning("跨服同步未能在5秒内发送完剩余的更新");
+                    oldExecutor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (oldBackend != null) {
+            oldBackend.close();
+        }
+    }
+
+    /**
+     * 是否已开启同步
+     */
+    public boolean isEnabled() {
+        return backend != null;
+    }
+
+    /**
+     * 同步冷却（主线程调用，只写入待发送表）
+     *
+     * @param playerId    玩家UUID
+     * @param cooldownKey 冷却键
+     * @param expireTime  过期时间戳
+     */
+    public void publishCooldown(UUID playerId, String cooldownKey, long expireTime) {
+        if (backend != null) {
+            pending.put(playerId + "\t" + COOLDOWN_PREFIX + cooldownKey, Long.toString(expireTime));
+        }
+    }
+
+    /**
+     * 同步个性化设置（主线程调用，只写入待发送表）
+     *
+     * @param playerId   玩家UUID
+     * @param serialized 序列化后的设置，为空表示清除
+     */
+    public void publishOverrides(UUID playerId, String serialized) {
+        if (backend != null) {
+            pending.put(playerId + "\t" + OVERRIDES_FIELD, serialized);
+        }
+    }
+
+    /**
+     * 读取玩家的状态快照并应用到本地（在登录验证阶段的异步线程中调用）
+     *
+     * @param playerId 玩家UUID
+     */
+    public void load(UUID playerId) {
+        SyncBackend current = backend;
+        if (current == null) {
+            return;
+        }
+        try {
+            Map<String, String> snapshot = current.load(keyPrefix + playerId);
+            for (Map.Entry<String, String> entry : snapshot.entrySet()) {
+                try {
+                    apply(playerId, entry.getKey(), entry.getValue(), false);
+                } catch (NumberFormatException e) {
+                    // 忽略无法解析的字段，不影响其他字段与登录流程
+                    plugin.getLogger().warning("玩家 " + playerId + " 的同步数据 " + entry.getKey()
+                            + " 无法解析: " + entry.getValue());
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("读取玩家 " + playerId + " 的同步数据失败: " + e.getMessage());
+        }
+    }
+
+    public long getPublished() {
+        return published.sum();
+    }
+
+    public long getReceived() {
+        return received.sum();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private SyncBackend createBackend(ConfigManager config) {
+        if (config.getSyncBackend().equalsIgnoreCase("loopback")) {
+            return new LoopbackBackend(config.getSyncChannel());
+        }
+        return new RedisBackend(config.getSyncRedisHost(), config.getSyncRedisPort(),
+                config.getSyncRedisPassword(), config.getSyncRedisDatabase(), config.getSyncRedisTimeout(),
+                config.getSyncChannel(), plugin.getLogger());
+    }
+
+    /**
+     * 同步线程：取出待发送的更新，合并为一条广播并写入快照
+     * 消息格式: 第一行为服务器标识，之后每行一条 "UUID\t字段\t值"
+     *
+     * @param current 发送使用的后端（重载后旧后端在断开前仍会发送一次）
+     */
+    private void flush(SyncBackend current) {
+        if (current == null || pending.isEmpty()) {
+            return;
+        }
+
+        StringBuilder payload = new StringBuilder(256).append(serverId);
+        Map<String, Map<String, String>> snapshots = new HashMap<>();
+        Map<String, String> batch = new HashMap<>();
+        Iterator<Map.Entry<String, String>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> entry = iterator.next();
+            // remove(key, value) 失败说明取出期间又有新值写入，留到下一批发送
+            if (!pending.remove(entry.getKey(), entry.getValue())) {
+                continue;
+            }
+            batch.put(entry.getKey(), entry.getValue());
+
+            String key = entry.getKey();
+            int separator = key.indexOf('\t');
+            payload.append('\n').append(key).append('\t').append(entry.getValue());
+            snapshots.computeIfAbsent(keyPrefix + key.substring(0, separator), k -> new HashMap<>())
+                    .put(key.substring(separator + 1), entry.getValue());
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            current.persist(snapshots, stateTtlMillis);
+            current.publish(payload.toString());
+            published.add(batch.size());
+            if (failing) {
+                plugin.getLogger().info("跨服同步已恢复");
+                failing = false;
+            }
+        } catch (IOException e) {
+            // 放回待发送表，期间写入的新值优先
+            for (Map.Entry<String, String> entry : batch.entrySet()) {
+                pending.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+            if (!failing) {
+                plugin.getLogger().warning("跨服同步发送失败: " + e.getMessage() + "，将在下次同步时重试");
+                failing = true;
+            }
+        }
+    }
+
+    /**
+     * 收到广播（在后端的线程中调用）
+     */
+    private void receive(String payload) {
+        int lineEnd = payload.indexOf('\n');
+        if (lineEnd < 0 || payload.substring(0, lineEnd).equals(serverId)) {
+            return;
+        }
+
+        for (String line : payload.substring(lineEnd + 1).split("\n")) {
+            String[] parts = line.split("\t", 3);
+            if (parts.length < 3) {
+                continue;
+            }
+            try {
+                apply(UUID.fromString(parts[0]), parts[1], parts[2], true);
+                received.increment();
+            } catch (IllegalArgumentException e) {
+                // 忽略无法解析的记录
+            }
+        }
+    }
+
+    /**
+     * 应用一条同步记录
+     *
+     * @param live 是否为实时广播（否则为登录阶段读取的快照）
+     */
+    private void apply(UUID playerId, String field, String value, boolean live) {
+        if (field.startsWith(COOLDOWN_PREFIX)) {
+            plugin.getCooldownManager().applyCooldown(playerId, field.substring(COOLDOWN_PREFIX.length()),
+                    Long.parseLong(value));
+        } else if (field.equals(OVERRIDES_FIELD)) {
+            plugin.getOverrideManager().applyRemote(playerId, value, live);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.hxstar.fixeditem.menu;
+
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * 菜单
+ * 静态布局在加载时构建一次，所有玩家共用；打开时复制布局，再替换含占位符的按钮
+ */
+public final class Menu {
+
+    private final String id;
+    private final String title;
+    private final ItemStack[] contents;
+    private final MenuButton[] buttons;
+    private final int[] dynamicSlots;
+
+    /**
+     * @param id           菜单ID
+     * @param title        标题（已着色）
+     * @param contents     静态布局，长度即菜单大小
+     * @param buttons      按钮，按槽位索引（空槽位为null）
+     * @param dynamicSlots 含占位符的按钮所在槽位
+     */
+    public Menu(String id, String title, ItemStack[] contents, MenuButton[] buttons, int[] dynamicSlots) {
+        this.id = id;
+        this.title = title;
+        this.contents = contents;
+        this.buttons = buttons;
+        this.dynamicSlots = dynamicSlots;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getSize() {
+        return contents.length;
+    }
+
+    /**
+     * 获取静态布局（共用的数组，不要修改）
+     */
+    public ItemStack[] getContents() {
+        return contents;
+    }
+
+    /**
+     * 获取槽位上的按钮
+     *
+     * @param slot 菜单槽位
+     * @return 按钮，没有按钮或槽位超出范围时返回null
+     */
+    public MenuButton getButton(int slot) {
+        return slot >= 0 && slot < buttons.length ? buttons[slot] : null;
+    }
+
+    /**
+     * 获取含占位符的按钮所在槽位
+     */
+    public int[] getDynamicSlots() {
+        return dynamicSlots;
+    }
+}
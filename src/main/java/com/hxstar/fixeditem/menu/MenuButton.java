@@ -0,0 +1,89 @@
+package com.hxstar.fixeditem.menu;
+
+import com.hxstar.fixeditem.action.Action;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+
+/**
+ * 菜单按钮
+ * 物品在加载时构建完成；名称或描述含有占位符的按钮在打开菜单时按玩家重新渲染
+ */
+public final class MenuButton {
+
+    private final String id;
+    private final ItemStack item;
+
+    // 含占位符时保存未渲染的名称与描述
+    private final String displayName;
+    private final List<String> lore;
+    private final boolean dynamic;
+
+    private final Action[] leftActions;
+    private final Action[] rightActions;
+
+    private final int cooldown;
+    private final String cooldownKey;
+
+    public MenuButton(String menuId, String id, ItemStack item, String displayName, List<String> lore, boolean dynamic,
+                      Action[] leftActions, Action[] rightActions, int cooldown) {
+        this.id = id;
+        this.item = item;
+        this.displayName = displayName;
+        this.lore = lore;
+        this.dynamic = dynamic;
+        this.leftActions = leftActions;
+        this.rightActions = rightActions;
+        this.cooldown = cooldown;
+        this.cooldownKey = "menu_" + menuId + "_" + id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 获取加载时构建的物品（不要修改）
+     */
+    public ItemStack getItem() {
+        return item;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public List<String> getLore() {
+        return lore;
+    }
+
+    /**
+     * 名称或描述是否含有占位符（需要在打开菜单时按玩家渲染）
+     */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    /**
+     * 获取点击动作
+     *
+     * @param rightClick 是否为右键
+     */
+    public Action[] getActions(boolean rightClick) {
+        return rightClick ? rightActions : leftActions;
+    }
+
+    /**
+     * 获取点击冷却（秒）
+     */
+    public int getCooldown() {
+        return cooldown;
+    }
+
+    /**
+     * 获取冷却键，如 "menu_main_survival"
+     */
+    public String getCooldownKey() {
+        return cooldownKey;
+    }
+}
@@ -0,0 +1,35 @@
+package com.hxstar.fixeditem.menu;
+
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+/**
+ * 菜单界面的持有者
+ * 用于在背包事件中识别插件菜单，并找到对应的菜单定义
+ */
+public final class MenuHolder implements InventoryHolder {
+
+    private final Menu menu;
+    private final Inventory inventory;
+
+    /**
+     * 创建菜单界面并复制静态布局
+     *
+     * @param menu 菜单
+     */
+    public MenuHolder(Menu menu) {
+        this.menu = menu;
+        this.inventory = Bukkit.createInventory(this, menu.getSize(), menu.getTitle());
+        inventory.setContents(menu.getContents());
+    }
+
+    public Menu getMenu() {
+        return menu;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return inventory;
+    }
+}
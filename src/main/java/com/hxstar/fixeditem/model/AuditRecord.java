@@ -0,0 +1,85 @@
+package com.hxstar.fixeditem.model;
+
+import java.util.UUID;
+
+/**
+ * 审计日志记录
+ * 在主线程只保存原始字段，由后台线程格式化后写入文件
+ */
+public class AuditRecord {
+
+    /**
+     * 记录类型
+     */
+    public enum Type {
+        CLICK("click"),
+        COOLDOWN("cooldown"),
+        PROTECTION("protection");
+
+        private final String displayName;
+
+        Type(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final long time;
+    private final Type type;
+    private final UUID playerId;
+    private final String playerName;
+    private final String itemId;
+    private final String detail;
+    private final String[] actions;
+
+    public AuditRecord(Type type, UUID playerId, String playerName, String itemId, String detail,
+                       String[] actions) {
+        this.time = System.currentTimeMillis();
+        this.type = type;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.itemId = itemId;
+        this.detail = detail;
+        this.actions = actions;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    /**
+     * 物品ID，无法确定物品时为null
+     */
+    public String getItemId() {
+        return itemId;
+    }
+
+    /**
+     * 附加信息（CLICK 为 left/right，COOLDOWN 为剩余毫秒，PROTECTION 为拦截原因）
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * 执行的动作，仅 CLICK 有值（命令为 "[console] 命令" 或 "[player] 命令"，已替换占位符）
+     */
+    public String[] getActions() {
+        return actions;
+    }
+}
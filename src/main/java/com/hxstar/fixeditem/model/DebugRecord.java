@@ -0,0 +1,72 @@
+package com.hxstar.fixeditem.model;
+
+import java.util.UUID;
+
+/**
+ * 调试日志记录
+ * 在主线程只保存原始字段，由后台线程格式化后写入文件
+ */
+public class DebugRecord {
+
+    /**
+     * 记录类型
+     */
+    public enum Type {
+        SYNC("sync"),
+        CLICK("click"),
+        COOLDOWN("cooldown");
+
+        private final String displayName;
+
+        Type(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final long time;
+    private final Type type;
+    private final UUID playerId;
+    private final String playerName;
+    private final String itemId;
+    private final int value;
+
+    public DebugRecord(Type type, UUID playerId, String playerName, String itemId, int value) {
+        this.time = System.currentTimeMillis();
+        this.type = type;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.itemId = itemId;
+        this.value = value;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    /**
+     * 附加数值（SYNC 为槽位，CLICK 为 0 左键 / 1 右键，COOLDOWN 为剩余毫秒）
+     */
+    public int getValue() {
+        return value;
+    }
+}
@@ -1,5 +1,6 @@
 package com.hxstar.fixeditem.model;
 
+import com.hxstar.fixeditem.action.Action;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 
@@ -13,26 +14,36 @@ import java.util.List;
 public class FixedItemData {
 
     private final String itemId;
+
+    // 冷却键（预先拼接，点击时不再创建字符串）
+    private final String leftCooldownKey;
+    private final String rightCooldownKey;
     private int slot;
     private Material material;
     private String displayName;
     private List<String> lore;
     private int customModelData;
     private boolean glowing;
-
-    // 左键命令配置
+    private String permission;
+    private boolean defaultItem;
+    private boolean dynamic;
+    private int stamp;
+    private ItemAnimation animation;
+    private boolean dynamicName;
+    private int[] dynamicLoreLines;
+    private int loreRefreshTicks;
+
+    // 左键动作配置
     private boolean leftClickEnabled;
-    private List<String> leftClickCommands;
-    private boolean leftClickAsConsole;
+    private Action[] leftClickActions;
     private int leftClickCooldown;
     private Sound leftClickSound;
     private float leftClickSoundVolume;
     private float leftClickSoundPitch;
 
-    // 右键命令配置
+    // 右键动作配置
     private boolean rightClickEnabled;
-    private List<String> rightClickCommands;
-    private boolean rightClickAsConsole;
+    private Action[] rightClickActions;
     private int rightClickCooldown;
     private Sound rightClickSound;
     private float rightClickSoundVolume;
@@ -46,24 +57,28 @@ public class FixedItemData {
 
     public FixedItemData(String itemId) {
         this.itemId = itemId;
+        this.leftCooldownKey = itemId + "_left";
+        this.rightCooldownKey = itemId + "_right";
         this.slot = 8;
         this.material = Material.NETHER_STAR;
         this.displayName = "固定物品";
         this.lore = new ArrayList<>();
         this.customModelData = 0;
         this.glowing = false;
+        this.permission = "";
+        this.defaultItem = true;
+        this.dynamic = false;
+        this.dynamicLoreLines = new int[0];
 
         this.leftClickEnabled = false;
-        this.leftClickCommands = new ArrayList<>();
-        this.leftClickAsConsole = false;
+        this.leftClickActions = new Action[0];
         this.leftClickCooldown = 0;
         this.leftClickSound = null;
         this.leftClickSoundVolume = 1.0f;
         this.leftClickSoundPitch = 1.0f;
 
         this.rightClickEnabled = true;
-        this.rightClickCommands = new ArrayList<>();
-        this.rightClickAsConsole = false;
+        this.rightClickActions = new Action[0];
         this.rightClickCooldown = 3;
         this.rightClickSound = Sound.UI_BUTTON_CLICK;
         this.rightClickSoundVolume = 1.0f;
@@ -81,6 +96,16 @@ public class FixedItemData {
         return itemId;
     }
 
+    /**
+     * 获取冷却键
+     *
+     * @param leftClick 是否为左键
+     * @return 如 "menu_left"
+     */
+    public String getCooldownKey(boolean leftClick) {
+        return leftClick ? leftCooldownKey : rightCooldownKey;
+    }
+
     public int getSlot() {
         return slot;
     }
@@ -129,28 +154,110 @@ public class FixedItemData {
         this.glowing = glowing;
     }
 
-    public boolean isLeftClickEnabled() {
-        return leftClickEnabled;
+    public String getPermission() {
+        return permission;
     }
 
-    public void setLeftClickEnabled(boolean leftClickEnabled) {
-        this.leftClickEnabled = leftClickEnabled;
+    public void setPermission(String permission) {
+        this.permission = permission;
+    }
+
+    /**
+     * 是否属于默认布局
+     * 为 false 时只给予通过 /hxfixeditem override 单独添加了该物品的玩家
+     */
+    public boolean isDefaultItem() {
+        return defaultItem;
+    }
+
+    public void setDefaultItem(boolean defaultItem) {
+        this.defaultItem = defaultItem;
+    }
+
+    /**
+     * 名称或描述中是否包含 PlaceholderAPI 占位符
+     */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    public void setDynamic(boolean dynamic) {
+        this.dynamic = dynamic;
+    }
+
+    /**
+     * 名称中是否包含 PlaceholderAPI 占位符
+     */
+    public boolean isDynamicName() {
+        return dynamicName;
+    }
+
+    public void setDynamicName(boolean dynamicName) {
+        this.dynamicName = dynamicName;
+    }
+
+    /**
+     * 获取包含 PlaceholderAPI 占位符的描述行号
+     */
+    public int[] getDynamicLoreLines() {
+        return dynamicLoreLines;
     }
 
-    public List<String> getLeftClickCommands() {
-        return leftClickCommands;
+    public void setDynamicLoreLines(int[] dynamicLoreLines) {
+        this.dynamicLoreLines = dynamicLoreLines;
     }
 
-    public void setLeftClickCommands(List<String> leftClickCommands) {
-        this.leftClickCommands = leftClickCommands;
+    /**
+     * 获取动态描述的刷新间隔（tick，0 表示不刷新）
+     */
+    public int getLoreRefreshTicks() {
+        return loreRefreshTicks;
     }
 
-    public boolean isLeftClickAsConsole() {
-        return leftClickAsConsole;
+    public void setLoreRefreshTicks(int loreRefreshTicks) {
+        this.loreRefreshTicks = loreRefreshTicks;
     }
 
-    public void setLeftClickAsConsole(boolean leftClickAsConsole) {
-        this.leftClickAsConsole = leftClickAsConsole;
+    /**
+     * 外观版本戳
+     * 由材质、名称、描述、模型数据和发光效果计算，外观不变时跨重载、跨重启保持不变
+     */
+    public int getStamp() {
+        return stamp;
+    }
+
+    public void setStamp(int stamp) {
+        this.stamp = stamp;
+    }
+
+    /**
+     * 获取名称与描述动画（未配置时为null）
+     */
+    public ItemAnimation getAnimation() {
+        return animation;
+    }
+
+    public void setAnimation(ItemAnimation animation) {
+        this.animation = animation;
+    }
+
+    public boolean isLeftClickEnabled() {
+        return leftClickEnabled;
+    }
+
+    public void setLeftClickEnabled(boolean leftClickEnabled) {
+        this.leftClickEnabled = leftClickEnabled;
+    }
+
+    /**
+     * 获取左键动作（加载时已解析）
+     */
+    public Action[] getLeftClickActions() {
+        return leftClickActions;
+    }
+
+    public void setLeftClickActions(Action[] leftClickActions) {
+        this.leftClickActions = leftClickActions;
     }
 
     public int getLeftClickCooldown() {
@@ -169,20 +276,15 @@ public class FixedItemData {
         this.rightClickEnabled = rightClickEnabled;
     }
 
-    public List<String> getRightClickCommands() {
-        return rightClickCommands;
-    }
-
-    public void setRightClickCommands(List<String> rightClickCommands) {
-        this.rightClickCommands = rightClickCommands;
-    }
-
-    public boolean isRightClickAsConsole() {
-        return rightClickAsConsole;
+    /**
+     * 获取右键动作（加载时已解析）
+     */
+    public Action[] getRightClickActions() {
+        return rightClickActions;
     }
 
-    public void setRightClickAsConsole(boolean rightClickAsConsole) {
-        this.rightClickAsConsole = rightClickAsConsole;
+    public void setRightClickActions(Action[] rightClickActions) {
+        this.rightClickActions = rightClickActions;
     }
 
     public int getRightClickCooldown() {
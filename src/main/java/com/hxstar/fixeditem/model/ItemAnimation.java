@@ -0,0 +1,53 @@
+package com.hxstar.fixeditem.model;
+
+import java.util.List;
+
+/**
+ * 物品动画数据
+ * 名称与描述的每一帧都在加载配置时计算好，播放时只按帧号取用
+ */
+public class ItemAnimation {
+
+    private final int interval;
+    private final String[] names;
+    private final List<String>[] lores;
+
+    /**
+     * @param interval 每帧间隔（tick）
+     * @param names    每一帧的名称（已转换颜色代码）
+     * @param lores    每一帧的描述（已转换颜色代码）
+     */
+    public ItemAnimation(int interval, String[] names, List<String>[] lores) {
+        this.interval = interval;
+        this.names = names;
+        this.lores = lores;
+    }
+
+    /**
+     * 获取每帧间隔（tick）
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * 获取总帧数
+     */
+    public int getFrameCount() {
+        return names.length;
+    }
+
+    /**
+     * 获取指定帧的名称
+     */
+    public String getName(int frame) {
+        return names[frame];
+    }
+
+    /**
+     * 获取指定帧的描述
+     */
+    public List<String> getLore(int frame) {
+        return lores[frame];
+    }
+}
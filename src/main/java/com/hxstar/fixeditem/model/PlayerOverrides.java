@@ -0,0 +1,174 @@
+package com.hxstar.fixeditem.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 玩家的固定物品个性化设置
+ * - 自选槽位: 物品ID -> 槽位
+ * - 隐藏物品: 不再给予的物品
+ * - 额外物品: 不在默认布局中（或没有权限）但单独给予的物品
+ *
+ * 不可变对象，每次修改返回新实例，主线程与存储线程可以安全共享
+ */
+public final class PlayerOverrides {
+
+    public static final PlayerOverrides EMPTY = new PlayerOverrides(
+            Collections.emptyMap(), Collections.emptySet(), Collections.emptySet());
+
+    private final Map<String, Integer> slots;
+    private final Set<String> hidden;
+    private final Set<String> extra;
+
+    private PlayerOverrides(Map<String, Integer> slots, Set<String> hidden, Set<String> extra) {
+        this.slots = slots;
+        this.hidden = hidden;
+        this.extra = extra;
+    }
+
+    /**
+     * 获取玩家为物品选择的槽位
+     *
+     * @return 槽位，未设置时返回null
+     */
+    public Integer getSlot(String itemId) {
+        return slots.get(itemId);
+    }
+
+    public boolean isHidden(String itemId) {
+        return hidden.contains(itemId);
+    }
+
+    public boolean isExtra(String itemId) {
+        return extra.contains(itemId);
+    }
+
+    public Map<String, Integer> getSlots() {
+        return Collections.unmodifiableMap(slots);
+    }
+
+    public Set<String> getHidden() {
+        return Collections.unmodifiableSet(hidden);
+    }
+
+    public Set<String> getExtra() {
+        return Collections.unmodifiableSet(extra);
+    }
+
+    public boolean isEmpty() {
+        return slots.isEmpty() && hidden.isEmpty() && extra.isEmpty();
+    }
+
+    /**
+     * 设置物品槽位
+     *
+     * @param itemId 物品ID
+     * @param slot   槽位，为null时恢复默认槽位
+     */
+    public PlayerOverrides withSlot(String itemId, Integer slot) {
+        Map<String, Integer> newSlots = new HashMap<>(slots);
+        if (slot == null) {
+            newSlots.remove(itemId);
+        } else {
+            newSlots.put(itemId, slot);
+        }
+        return new PlayerOverrides(newSlots, hidden, extra);
+    }
+
+    /**
+     * 隐藏或显示物品（隐藏时同时取消额外给予）
+     */
+    public PlayerOverrides withHidden(String itemId, boolean value) {
+        Set<String> newHidden = new HashSet<>(hidden);
+        Set<String> newExtra = extra;
+        if (value) {
+            newHidden.add(itemId);
+            newExtra = new HashSet<>(extra);
+            newExtra.remove(itemId);
+        } else {
+            newHidden.remove(itemId);
+        }
+        return new PlayerOverrides(slots, newHidden, newExtra);
+    }
+
+    /**
+     * 额外给予或取消给予物品（给予时同时取消隐藏）
+     */
+    public PlayerOverrides withExtra(String itemId, boolean value) {
+        Set<String> newExtra = new HashSet<>(extra);
+        Set<String> newHidden = hidden;
+        if (value) {
+            newExtra.add(itemId);
+            newHidden = new HashSet<>(hidden);
+            newHidden.remove(itemId);
+        } else {
+            newExtra.remove(itemId);
+        }
+        return new PlayerOverrides(slots, newHidden, newExtra);
+    }
+
+    /**
+     * 清除某个物品的所有设置
+     */
+    public PlayerOverrides without(String itemId) {
+        return withSlot(itemId, null).withHidden(itemId, false).withExtra(itemId, false);
+    }
+
+    /**
+     * 序列化为单行文本
+     * 格式: slot:物品ID=槽位;hide:物品ID;extra:物品ID
+     */
+    public String serialize() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : slots.entrySet()) {
+            append(builder, "slot:").append(entry.getKey()).append('=').append(entry.getValue());
+        }
+        for (String itemId : hidden) {
+            append(builder, "hide:").append(itemId);
+        }
+        for (String itemId : extra) {
+            append(builder, "extra:").append(itemId);
+        }
+        return builder.toString();
+    }
+
+    private static StringBuilder append(StringBuilder builder, String prefix) {
+        if (builder.length() > 0) {
+            builder.append(';');
+        }
+        return builder.append(prefix);
+    }
+
+    /**
+     * 从 {@link #serialize()} 的结果解析，无法识别的条目会被忽略
+     */
+    public static PlayerOverrides parse(String text) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<String, Integer> slots = new HashMap<>();
+        Set<String> hidden = new HashSet<>();
+        Set<String> extra = new HashSet<>();
+        for (String entry : text.split(";")) {
+            if (entry.startsWith("slot:")) {
+                int separator = entry.lastIndexOf('=');
+                if (separator > 5) {
+                    try {
+                        slots.put(entry.substring(5, separator), Integer.parseInt(entry.substring(separator + 1)));
+                    } catch (NumberFormatException ignored) {
+                        // 忽略损坏的条目
+                    }
+                }
+            } else if (entry.startsWith("hide:")) {
+                hidden.add(entry.substring(5));
+            } else if (entry.startsWith("extra:")) {
+                extra.add(entry.substring(6));
+            }
+        }
+        return new PlayerOverrides(slots, hidden, extra);
+    }
+}
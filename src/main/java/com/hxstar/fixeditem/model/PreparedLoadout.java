@@ -0,0 +1,55 @@
+package com.hxstar.fixeditem.model;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 预加载的固定物品集合
+ * 在玩家登录前于异步线程构建，构建完成后不再修改，进服时由主线程一次性应用
+ */
+public class PreparedLoadout {
+
+    private final UUID playerId;
+    private final int generation;
+    private final long createdAt;
+    private final Map<String, ItemStack> items;
+
+    public PreparedLoadout(UUID playerId, int generation, Map<String, ItemStack> items) {
+        this.playerId = playerId;
+        this.generation = generation;
+        this.createdAt = System.currentTimeMillis();
+        this.items = Collections.unmodifiableMap(items);
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * 构建时的配置版本号
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * 获取预先构建的物品
+     *
+     * @param itemId 物品ID
+     * @return 物品模板，未预加载则返回null
+     */
+    public ItemStack getItem(String itemId) {
+        return items.get(itemId);
+    }
+
+    public int size() {
+        return items.size();
+    }
+}
@@ -0,0 +1,150 @@
+package com.hxstar.fixeditem.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.UUID;
+
+/**
+ * 批量分发任务
+ * 记录待处理的玩家队列与进度，由 RolloutManager 在每 tick 的时间预算内逐步处理
+ */
+public class RolloutJob {
+
+    /**
+     * 任务操作类型
+     */
+    public enum Operation {
+        GIVE,
+        REFRESH,
+        REMOVE_ALL,
+        REMOVE_ITEM
+    }
+
+    private final int id;
+    private final String label;
+    private final Operation operation;
+    private final String itemId;
+    private final boolean persistent;
+    private final long createdAt;
+
+    // 待处理玩家（保持提交顺序，支持 O(1) 移除）
+    private final LinkedHashSet<UUID> pending;
+
+    private int total;
+    private int processed;
+    private int skipped;
+    private boolean cancelled;
+
+    public RolloutJob(int id, String label, Operation operation, String itemId, boolean persistent) {
+        this.id = id;
+        this.label = label;
+        this.operation = operation;
+        this.itemId = itemId;
+        this.persistent = persistent;
+        this.createdAt = System.currentTimeMillis();
+        this.pending = new LinkedHashSet<>();
+    }
+
+    /**
+     * 加入待处理玩家
+     *
+     * @return 是否为新加入的玩家
+     */
+    public boolean add(UUID playerId) {
+        if (pending.add(playerId)) {
+            total++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 取出下一个待处理玩家
+     *
+     * @return 玩家UUID，队列为空时返回null
+     */
+    public UUID poll() {
+        Iterator<UUID> iterator = pending.iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        UUID next = iterator.next();
+        iterator.remove();
+        return next;
+    }
+
+    /**
+     * 从队列中移除玩家（插队处理或玩家退出时调用）
+     */
+    public boolean remove(UUID playerId) {
+        return pending.remove(playerId);
+    }
+
+    public boolean contains(UUID playerId) {
+        return pending.contains(playerId);
+    }
+
+    public void markProcessed() {
+        processed++;
+    }
+
+    public void markSkipped() {
+        skipped++;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        pending.clear();
+    }
+
+    /**
+     * 任务是否已完成（常驻任务永远不会完成）
+     */
+    public boolean isFinished() {
+        return !persistent && (cancelled || pending.isEmpty());
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,315 @@
+package com.hxstar.fixeditem.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 追加写入的键值存储（键为玩家UUID，值为单行文本）
+ *
+ * 文件格式: 每条记录一行 "UUID\t值\n"，同一UUID以最后一条记录为准，值为空表示删除。
+ * - 打开时顺序扫描一次文件，在内存中建立 UUID -> 最新记录偏移量 的索引（只保存偏移量，不保存值）
+ * - 读取时按偏移量定位到单条记录
+ * - 写入只追加到文件末尾，不修改已有内容；写入中途崩溃留下的不完整记录会在下次打开时截掉
+ * - 过期记录超过一半时定期压缩：只保留每个UUID的最新记录写入临时文件，再原子替换原文件
+ *
+ * 所有文件操作都在单独的存储线程中串行执行，调用方不会被磁盘IO阻塞
+ */
+public class AppendOnlyStore {
+
+    // 记录数少于此值时不压缩
+    private static final int MIN_COMPACT_RECORDS = 256;
+
+    private final File file;
+    private final Logger logger;
+    private final ScheduledExecutorService executor;
+
+    // 以下字段只在存储线程中访问
+    private final Map<UUID, Long> index;
+    private RandomAccessFile data;
+    private long records;
+
+    // 统计（供其他线程读取）
+    private volatile int liveCount;
+    private volatile long recordCount;
+
+    /**
+     * @param file       数据文件
+     * @param logger     日志
+     * @param threadName 存储线程名称
+     */
+    public AppendOnlyStore(File file, Logger logger, String threadName) {
+        this.file = file;
+        this.logger = logger;
+        this.index = new HashMap<>();
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 打开文件并建立索引（异步执行，之后提交的读写会排在其后）
+     */
+    public void open() {
+        executor.execute(() -> {
+            try {
+                File parent = file.getParentFile();
+                if (parent != null && !parent.exists()) {
+                    parent.mkdirs();
+                }
+                data = new RandomAccessFile(file, "rw");
+                scan();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "无法打开数据文件 " + file.getName(), e);
+            }
+        });
+    }
+
+    /**
+     * 定期检查并压缩文件
+     *
+     * @param intervalMillis 检查间隔（毫秒）
+     */
+    public void scheduleCompaction(long intervalMillis) {
+        if (intervalMillis > 0) {
+            executor.scheduleWithFixedDelay(this::compactIfNeeded, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 读取UUID的最新值
+     *
+     * @param key UUID
+     * @return 值，不存在时为null
+     */
+    public CompletableFuture<String> read(UUID key) {
+        return CompletableFuture.supplyAsync(() -> {
+            Long offset = index.get(key);
+            if (offset == null || data == null) {
+                return null;
+            }
+            try {
+                String line = readLine(offset);
+                int separator = line.indexOf('\t');
+                return separator < 0 ? null : line.substring(separator + 1);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "读取数据文件 " + file.getName() + " 失败", e);
+                return null;
+            }
+        }, executor);
+    }
+
+    /**
+     * 写入UUID的值（追加一条记录）
+     *
+     * @param key   UUID
+     * @param value 值（不能包含换行），为null或空时删除
+     */
+    public void write(UUID key, String value) {
+        String line = key + "\t" + (value == null ? "" : value) + "\n";
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        executor.execute(() -> {
+            if (data == null) {
+                return;
+            }
+            try {
+                long offset = data.length();
+                data.seek(offset);
+                data.write(bytes);
+                records++;
+                if (value == null || value.isEmpty()) {
+                    index.remove(key);
+                } else {
+                    index.put(key, offset);
+                }
+                updateStats();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "写入数据文件 " + file.getName() + " 失败", e);
+            }
+        });
+    }
+
+    /**
+     * 关闭存储，等待已提交的写入完成
+     */
+    public void close() {
+        executor.execute(() -> {
+            try {
+                if (data != null) {
+                    data.close();
+                    data = null;
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "关闭数据文件 " + file.getName() + " 失败", e);
+            }
+        });
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("数据文件 " + file.getName() + " 未能在10秒内完成写入");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 获取有效记录数（UUID数量）
+     */
+    public int getLiveCount() {
+        return liveCount;
+    }
+
+    /**
+     * 获取文件中的记录总数（含已被覆盖的旧记录）
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * 顺序扫描文件建立索引
+     */
+    private void scan() throws IOException {
+        index.clear();
+        records = 0;
+
+        long length = data.length();
+        long offset = 0;
+        long lineStart = 0;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file), 65536)) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                if (b == '\n') {
+                    apply(lineStart, line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    lineStart = offset;
+                } else {
+                    line.write(b);
+                }
+            }
+        }
+
+        // 末尾没有换行的记录是写入中途中断留下的，截掉
+        if (lineStart < length) {
+            logger.warning("数据文件 " + file.getName() + " 末尾有不完整的记录，已截断");
+            data.setLength(lineStart);
+        }
+        updateStats();
+    }
+
+    /**
+     * 将扫描到的记录应用到索引
+     */
+    private void apply(long offset, String line) {
+        int separator = line.indexOf('\t');
+        if (separator < 0) {
+            return;
+        }
+        UUID key;
+        try {
+            key = UUID.fromString(line.substring(0, separator));
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+
+        records++;
+        if (separator == line.length() - 1) {
+            index.remove(key);
+        } else {
+            index.put(key, offset);
+        }
+    }
+
+    /**
+     * 读取指定偏移量处的一行
+     */
+    private String readLine(long offset) throws IOException {
+        data.seek(offset);
+        ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+        byte[] buffer = new byte[256];
+        int read;
+        while ((read = data.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    line.write(buffer, 0, i);
+                    return line.toString(StandardCharsets.UTF_8);
+                }
+            }
+            line.write(buffer, 0, read);
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 过期记录超过一半时压缩文件
+     */
+    private void compactIfNeeded() {
+        if (data == null || records < MIN_COMPACT_RECORDS || records <= index.size() * 2L) {
+            return;
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        Map<UUID, Long> newIndex = new HashMap<>();
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp), 65536)) {
+                long offset = 0;
+                for (Map.Entry<UUID, Long> entry : index.entrySet()) {
+                    byte[] bytes = (readLine(entry.getValue()) + "\n").getBytes(StandardCharsets.UTF_8);
+                    out.write(bytes);
+                    newIndex.put(entry.getKey(), offset);
+                    offset += bytes.length;
+                }
+            }
+
+            long before = records;
+            data.close();
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            data = new RandomAccessFile(file, "rw");
+            index.clear();
+            index.putAll(newIndex);
+            records = index.size();
+            updateStats();
+            logger.info("数据文件 " + file.getName() + " 已压缩: " + before + " -> " + records + " 条记录");
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "压缩数据文件 " + file.getName() + " 失败", e);
+            temp.delete();
+            try {
+                if (data == null || !data.getFD().valid()) {
+                    data = new RandomAccessFile(file, "rw");
+                }
+            } catch (IOException reopen) {
+                logger.log(Level.SEVERE, "无法重新打开数据文件 " + file.getName(), reopen);
+                data = null;
+            }
+        }
+    }
+
+    private void updateStats() {
+        liveCount = index.size();
+        recordCount = records;
+    }
+}
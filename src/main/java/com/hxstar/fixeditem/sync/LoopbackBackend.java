@@ -0,0 +1,73 @@
+package com.hxstar.fixeditem.sync;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 进程内的同步后端
+ * 同一 JVM 中使用相同频道名的实例共享广播与快照，不经过网络。
+ * 用于单服测试或在同一进程中模拟多台服务器；快照不会过期
+ */
+public class LoopbackBackend implements SyncBackend {
+
+    // 频道 -> 订阅者
+    private static final Map<String, List<LoopbackBackend>> SUBSCRIBERS = new ConcurrentHashMap<>();
+
+    // 频道 -> (键 -> 快照)
+    private static final Map<String, Map<String, Map<String, String>>> SNAPSHOTS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private volatile Consumer<String> listener;
+
+    /**
+     * @param channel 频道名
+     */
+    public LoopbackBackend(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void start(Consumer<String> listener) {
+        this.listener = listener;
+        SUBSCRIBERS.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public void publish(String payload) {
+        for (LoopbackBackend subscriber : SUBSCRIBERS.getOrDefault(channel, Collections.emptyList())) {
+            Consumer<String> target = subscriber.listener;
+            if (target != null) {
+                target.accept(payload);
+            }
+        }
+    }
+
+    @Override
+    public void persist(Map<String, Map<String, String>> entries, long ttlMillis) {
+        Map<String, Map<String, String>> snapshots = SNAPSHOTS.computeIfAbsent(channel, k -> new ConcurrentHashMap<>());
+        for (Map.Entry<String, Map<String, String>> entry : entries.entrySet()) {
+            snapshots.computeIfAbsent(entry.getKey(), k -> new ConcurrentHashMap<>()).putAll(entry.getValue());
+        }
+    }
+
+    @Override
+    public Map<String, String> load(String key) {
+        Map<String, Map<String, String>> snapshots = SNAPSHOTS.get(channel);
+        Map<String, String> snapshot = snapshots != null ? snapshots.get(key) : null;
+        return snapshot != null ? new HashMap<>(snapshot) : new HashMap<>();
+    }
+
+    @Override
+    public void close() {
+        List<LoopbackBackend> subscribers = SUBSCRIBERS.get(channel);
+        if (subscribers != null) {
+            subscribers.remove(this);
+        }
+        listener = null;
+    }
+}
@@ -0,0 +1,374 @@
+package com.hxstar.fixeditem.sync;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Redis 兼容的同步后端（直接使用 RESP 协议，不依赖客户端库）
+ * - 广播使用 PUBLISH / SUBSCRIBE，订阅占用一个单独的连接与线程，断开后自动重连
+ * - 快照使用 Hash：HSET 写入字段，PEXPIRE 刷新有效期，HGETALL 读取
+ * - 命令连接在出错时关闭，下次调用时重新建立
+ *
+ * 兼容 Redis、KeyDB、Dragonfly 等实现了上述命令的服务
+ */
+public class RedisBackend implements SyncBackend {
+
+    // 订阅连接断开后的重连间隔（毫秒）
+    private static final long MIN_RECONNECT_DELAY = 1000L;
+    private static final long MAX_RECONNECT_DELAY = 30000L;
+
+    private final String host;
+    private final int port;
+    private final String password;
+    private final int database;
+    private final int timeoutMillis;
+    private final String channel;
+    private final Logger logger;
+
+    // 命令连接（由 synchronized 保护）
+    private Connection commands;
+
+    private Thread subscriber;
+    private volatile Connection subscription;
+    private volatile boolean running;
+
+    /**
+     * @param host          地址
+     * @param port          端口
+     * @param password      密码，为空表示不认证
+     * @param database      数据库编号
+     * @param timeoutMillis 连接与读取超时（毫秒）
+     * @param channel       广播频道
+     * @param logger        日志
+     */
+    public RedisBackend(String host, int port, String password, int database, int timeoutMillis,
+                        String channel, Logger logger) {
+        this.host = host;
+        this.port = port;
+        this.password = password;
+        this.database = database;
+        this.timeoutMillis = timeoutMillis;
+        this.channel = channel;
+        this.logger = logger;
+    }
+
+    @Override
+    public void start(Consumer<String> listener) {
+        running = true;
+        subscriber = new Thread(() -> subscribeLoop(listener), "HxFixedItem-Sync-Subscriber");
+        subscriber.setDaemon(true);
+        subscriber.start();
+    }
+
+    @Override
+    public synchronized void publish(String payload) throws IOException {
+        execute("PUBLISH", channel, payload);
+    }
+
+    @Override
+    public synchronized void persist(Map<String, Map<String, String>> entries, long ttlMillis) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        // 流水线：先写出全部命令，再依次读取回复
+        Connection connection = connection();
+        try {
+            int replies = 0;
+            for (Map.Entry<String, Map<String, String>> entry : entries.entrySet()) {
+                List<String> args = new ArrayList<>(2 + entry.getValue().size() * 2);
+                args.add("HSET");
+                args.add(entry.getKey());
+                for (Map.Entry<String, String> field : entry.getValue().entrySet()) {
+                    args.add(field.getKey());
+                    args.add(field.getValue());
+                }
+                connection.write(args.toArray(new String[0]));
+                replies++;
+                if (ttlMillis > 0) {
+                    connection.write("PEXPIRE", entry.getKey(), Long.toString(ttlMillis));
+                    replies++;
+                }
+            }
+            connection.flush();
+            for (int i = 0; i < replies; i++) {
+                connection.read();
+            }
+        } catch (IOException e) {
+            closeCommands();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized Map<String, String> load(String key) throws IOException {
+        Object reply = execute("HGETALL", key);
+        Map<String, String> result = new HashMap<>();
+        if (reply instanceof List) {
+            List<?> values = (List<?>) reply;
+            for (int i = 0; i + 1 < values.size(); i += 2) {
+                result.put((String) values.get(i), (String) values.get(i + 1));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Connection current = subscription;
+        if (current != null) {
+            current.close();
+        }
+        if (subscriber != null) {
+            subscriber.interrupt();
+            subscriber = null;
+        }
+        synchronized (this) {
+            closeCommands();
+        }
+    }
+
+    /**
+     * 执行一条命令并返回回复（调用方持有锁）
+     */
+    private Object execute(String... args) throws IOException {
+        Connection connection = connection();
+        try {
+            connection.write(args);
+            connection.flush();
+            return connection.read();
+        } catch (IOException e) {
+            closeCommands();
+            throw e;
+        }
+    }
+
+    private Connection connection() throws IOException {
+        if (commands == null) {
+            commands = open(timeoutMillis);
+        }
+        return commands;
+    }
+
+    private void closeCommands() {
+        if (commands != null) {
+            commands.close();
+            commands = null;
+        }
+    }
+
+    /**
+     * 建立连接并完成认证与选库
+     *
+     * @param readTimeout 读取超时（毫秒），0 表示不超时
+     */
+    private Connection open(int readTimeout) throws IOException {
+        Connection connection = new Connection(host, port, timeoutMillis, readTimeout);
+        try {
+            if (password != null && !password.isEmpty()) {
+                connection.write("AUTH", password);
+                connection.flush();
+                connection.read();
+            }
+            if (database != 0) {
+                connection.write("SELECT", Integer.toString(database));
+                connection.flush();
+                connection.read();
+            }
+            return connection;
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 订阅线程：保持订阅，断开后按指数退避重连
+     */
+    private void subscribeLoop(Consumer<String> listener) {
+        long delay = MIN_RECONNECT_DELAY;
+        boolean warned = false;
+        while (running) {
+            try {
+                Connection connection = open(0);
+                subscription = connection;
+                connection.write("SUBSCRIBE", channel);
+                connection.flush();
+                connection.read();
+                if (warned) {
+                    logger.info("已重新连接同步服务 " + host + ":" + port);
+                    warned = false;
+                }
+                delay = MIN_RECONNECT_DELAY;
+
+                while (running) {
+                    Object message = connection.read();
+                    if (message instanceof List) {
+                        List<?> parts = (List<?>) message;
+                        if (parts.size() == 3 && "message".equals(parts.get(0))) {
+                            listener.accept((String) parts.get(2));
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                if (!running) {
+                    break;
+                }
+                if (!warned) {
+                    logger.warning("同步服务 " + host + ":" + port + " 连接断开: " + e.getMessage() + "，将自动重连");
+                    warned = true;
+                }
+            } catch (RuntimeException e) {
+                logger.warning("处理同步消息时出错: " + e.getMessage());
+            } finally {
+                Connection current = subscription;
+                if (current != null) {
+                    current.close();
+                    subscription = null;
+                }
+            }
+
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                break;
+            }
+            delay = Math.min(delay * 2, MAX_RECONNECT_DELAY);
+        }
+    }
+
+    /**
+     * RESP 连接
+     */
+    private static final class Connection {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+
+        private Connection(String host, int port, int connectTimeout, int readTimeout) throws IOException {
+            this.socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.setKeepAlive(true);
+                socket.connect(new InetSocketAddress(host, port), connectTimeout);
+                socket.setSoTimeout(readTimeout);
+                this.in = new BufferedInputStream(socket.getInputStream(), 8192);
+                this.out = new BufferedOutputStream(socket.getOutputStream(), 8192);
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+
+        /**
+         * 写入一条命令（数组形式的批量字符串）
+         */
+        private void write(String... args) throws IOException {
+            writeHeader('*', args.length);
+            for (String arg : args) {
+                byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+                writeHeader('$', bytes.length);
+                out.write(bytes);
+                out.write('\r');
+                out.write('\n');
+            }
+        }
+
+        private void writeHeader(char type, int length) throws IOException {
+            out.write(type);
+            out.write(Integer.toString(length).getBytes(StandardCharsets.US_ASCII));
+            out.write('\r');
+            out.write('\n');
+        }
+
+        private void flush() throws IOException {
+            out.flush();
+        }
+
+        /**
+         * 读取一条回复
+         *
+         * @return 简单字符串与批量字符串为 String，整数为 Long，数组为 List，空值为 null
+         * @throws IOException 连接出错或服务端返回错误
+         */
+        private Object read() throws IOException {
+            int type = in.read();
+            if (type == -1) {
+                throw new EOFException("连接已关闭");
+            }
+            String line = readLine();
+            switch (type) {
+                case '+':
+                    return line;
+                case '-':
+                    throw new IOException(line);
+                case ':':
+                    return Long.parseLong(line);
+                case '$': {
+                    int length = Integer.parseInt(line);
+                    if (length < 0) {
+                        return null;
+                    }
+                    byte[] bytes = in.readNBytes(length);
+                    if (bytes.length < length) {
+                        throw new EOFException("连接已关闭");
+                    }
+                    readLine();
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+                case '*': {
+                    int count = Integer.parseInt(line);
+                    if (count < 0) {
+                        return null;
+                    }
+                    List<Object> values = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        values.add(read());
+                    }
+                    return values;
+                }
+                default:
+                    throw new IOException("无法识别的回复类型: " + (char) type);
+            }
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(32);
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b == '\r') {
+                    if (in.read() != '\n') {
+                        throw new IOException("回复格式错误");
+                    }
+                    return line.toString(StandardCharsets.UTF_8);
+                }
+                line.write(b);
+            }
+            throw new EOFException("连接已关闭");
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 关闭时的错误可以忽略
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.hxstar.fixeditem.sync;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 跨服同步的消息后端
+ * 提供一个广播频道与按键保存的状态快照：
+ * - 广播用于把更新实时推送给其他服务器
+ * - 快照用于玩家进入另一台服务器时读取最新状态（包括该服务器启动前产生的更新）
+ *
+ * 除 {@link #start(Consumer)} 与 {@link #close()} 外，所有方法都可能阻塞在网络IO上，
+ * 只能在同步线程或登录验证阶段的异步线程中调用，不能在主线程调用
+ */
+public interface SyncBackend {
+
+    /**
+     * 连接后端并订阅广播频道（不阻塞，连接失败时由后端自行重试）
+     *
+     * @param listener 收到广播时的回调，在后端的线程中调用（包括本服务器发出的广播）
+     */
+    void start(Consumer<String> listener);
+
+    /**
+     * 广播一条消息
+     *
+     * @param payload 消息内容
+     */
+    void publish(String payload) throws IOException;
+
+    /**
+     * 写入状态快照
+     *
+     * @param entries   键 -> (字段 -> 值)
+     * @param ttlMillis 快照的有效期（毫秒），每次写入后重新计算
+     */
+    void persist(Map<String, Map<String, String>> entries, long ttlMillis) throws IOException;
+
+    /**
+     * 读取状态快照
+     *
+     * @param key 键
+     * @return 字段 -> 值，不存在时返回空Map
+     */
+    Map<String, String> load(String key) throws IOException;
+
+    /**
+     * 断开连接并停止订阅
+     */
+    void close();
+}
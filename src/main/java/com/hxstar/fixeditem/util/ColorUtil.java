@@ -1,22 +1,41 @@
 package com.hxstar.fixeditem.util;
 
-import net.md_5.bungee.api.ChatColor;
-
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.awt.Color;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 颜色工具类
  * 支持传统 & 颜色代码和 HEX 颜色代码
  * HEX 格式支持: &#RRGGBB 或 {#RRGGBB} 或 <#RRGGBB>
+ *
+ * 所有格式在一次扫描中完成转换，HEX 颜色直接输出为 §x§R§R§G§G§B§B，
+ * 不经过正则与 ChatColor 对象。重复出现的短文本（物品名称、描述、语言消息）
+ * 会被缓存，命中时直接返回上次的结果。
  */
 public class ColorUtil {
 
-    // HEX 颜色正则表达式模式
-    private static final Pattern HEX_PATTERN_AMPERSAND = Pattern.compile("&#([A-Fa-f0-9]{6})");
-    private static final Pattern HEX_PATTERN_BRACKET = Pattern.compile("\\{#([A-Fa-f0-9]{6})}");
-    private static final Pattern HEX_PATTERN_ANGLE = Pattern.compile("<#([A-Fa-f0-9]{6})>");
-    private static final Pattern HEX_PATTERN_PLAIN = Pattern.compile("#([A-Fa-f0-9]{6})");
+    private static final char COLOR_CHAR = '§';
+
+    // 传统颜色代码字符（与 ChatColor.translateAlternateColorCodes 一致）
+    private static final String LEGACY_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    // 缓存上限：超过后整体清空，避免动态文本（如含占位符结果的描述）无限增长
+    private static final int CACHE_MAX_ENTRIES = 512;
+    // 只缓存不超过此长度的文本
+    private static final int CACHE_MAX_LENGTH = 256;
+
+    private static final Map<String, String> COLORIZE_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, String> STRIP_CACHE = new ConcurrentHashMap<>();
+
+    // 彩虹色，预先转换为颜色代码
+    private static final String[] RAINBOW_CODES = {
+            hexColor(0xFF0000), hexColor(0xFF7F00), hexColor(0xFFFF00), hexColor(0x00FF00),
+            hexColor(0x0000FF), hexColor(0x4B0082), hexColor(0x9400D3)
+    };
 
     /**
      * 将文本中的颜色代码转换为 Minecraft 颜色
@@ -31,69 +50,136 @@ public class ColorUtil {
         if (text == null || text.isEmpty()) {
             return text;
         }
+        // 不含任何颜色代码起始字符时无需转换
+        if (text.indexOf('&') < 0 && text.indexOf('#') < 0) {
+            return text;
+        }
 
-        // 先处理 HEX 颜色
-        text = translateHexColors(text);
-
-        // 再处理传统 & 颜色代码
-        text = ChatColor.translateAlternateColorCodes('&', text);
+        boolean cacheable = text.length() <= CACHE_MAX_LENGTH;
+        if (cacheable) {
+            String cached = COLORIZE_CACHE.get(text);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-        return text;
+        String result = translate(text);
+        if (cacheable) {
+            put(COLORIZE_CACHE, text, result);
+        }
+        return result;
     }
 
     /**
-     * 转换所有 HEX 颜色格式
+     * 单次扫描转换所有颜色格式
      *
      * @param text 要转换的文本
      * @return 转换后的文本
      */
-    private static String translateHexColors(String text) {
-        // 处理 &#RRGGBB 格式
-        text = translateHexPattern(text, HEX_PATTERN_AMPERSAND);
-
-        // 处理 {#RRGGBB} 格式
-        text = translateHexPattern(text, HEX_PATTERN_BRACKET);
+    private static String translate(String text) {
+        int length = text.length();
+        StringBuilder builder = new StringBuilder(length + 16);
 
-        // 处理 <#RRGGBB> 格式
-        text = translateHexPattern(text, HEX_PATTERN_ANGLE);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int hexLength = hexColorLength(text, i);
+
+            if (hexLength > 0) {
+                // &#RRGGBB 为 2 位前缀，{#RRGGBB} 与 <#RRGGBB> 前缀同为 2 位
+                appendHex(builder, text, i + 2);
+                i += hexLength - 1;
+            } else if (c == '&' && i + 1 < length && LEGACY_CODES.indexOf(text.charAt(i + 1)) >= 0) {
+                builder.append(COLOR_CHAR).append(Character.toLowerCase(text.charAt(i + 1)));
+                i++;
+            } else {
+                builder.append(c);
+            }
+        }
 
-        return text;
+        return builder.toString();
     }
 
     /**
-     * 使用指定模式转换 HEX 颜色
+     * 判断指定位置是否为 HEX 颜色代码
      *
-     * @param text    要转换的文本
-     * @param pattern HEX 颜色模式
-     * @return 转换后的文本
+     * @param text  文本
+     * @param index 起始位置
+     * @return 颜色代码的总长度，不是颜色代码时返回 0
      */
-    private static String translateHexPattern(String text, Pattern pattern) {
-        Matcher matcher = pattern.matcher(text);
-        StringBuffer buffer = new StringBuffer();
+    private static int hexColorLength(String text, int index) {
+        char c = text.charAt(index);
+        if (c != '&' && c != '{' && c != '<') {
+            return 0;
+        }
+        if (index + 8 > text.length() || text.charAt(index + 1) != '#' || !isHex(text, index + 2)) {
+            return 0;
+        }
+        if (c == '&') {
+            return 8;
+        }
 
-        while (matcher.find()) {
-            String hexCode = matcher.group(1);
-            String replacement = translateHexCode(hexCode);
-            matcher.appendReplacement(buffer, replacement);
+        char close = c == '{' ? '}' : '>';
+        if (index + 9 > text.length() || text.charAt(index + 8) != close) {
+            return 0;
         }
-        matcher.appendTail(buffer);
+        return 9;
+    }
 
-        return buffer.toString();
+    /**
+     * 判断从指定位置开始的 6 个字符是否都是 HEX 字符
+     *
+     * @param text  文本
+     * @param start 起始位置
+     * @return 是否为 6 位 HEX
+     */
+    private static boolean isHex(String text, int start) {
+        if (start + 6 > text.length()) {
+            return false;
+        }
+        for (int i = start; i < start + 6; i++) {
+            if (Character.digit(text.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 输出 §x§R§R§G§G§B§B 格式的 HEX 颜色
+     *
+     * @param builder 输出
+     * @param text    文本
+     * @param start   6 位 HEX 的起始位置
+     */
+    private static void appendHex(StringBuilder builder, String text, int start) {
+        builder.append(COLOR_CHAR).append('x');
+        for (int i = start; i < start + 6; i++) {
+            builder.append(COLOR_CHAR).append(text.charAt(i));
+        }
     }
 
     /**
-     * 将 HEX 代码转换为 Minecraft 颜色代码
+     * 将 RGB 值转换为 Minecraft 颜色代码
      *
-     * @param hexCode 6位 HEX 代码 (不含 #)
+     * @param rgb RGB 值
      * @return Minecraft 颜色代码字符串
      */
-    private static String translateHexCode(String hexCode) {
-        try {
-            // 使用 BungeeCord API 的 ChatColor.of() 方法
-            return ChatColor.of("#" + hexCode).toString();
-        } catch (Exception e) {
-            // 如果转换失败，返回空字符串
-            return "";
+    private static String hexColor(int rgb) {
+        StringBuilder builder = new StringBuilder(14);
+        appendHex(builder, rgb);
+        return builder.toString();
+    }
+
+    /**
+     * 输出 RGB 值对应的 HEX 颜色
+     *
+     * @param builder 输出
+     * @param rgb     RGB 值
+     */
+    private static void appendHex(StringBuilder builder, int rgb) {
+        builder.append(COLOR_CHAR).append('x');
+        for (int shift = 20; shift >= 0; shift -= 4) {
+            builder.append(COLOR_CHAR).append(HEX_DIGITS[(rgb >> shift) & 0xF]);
         }
     }
 
@@ -108,16 +194,62 @@ public class ColorUtil {
             return text;
         }
 
-        // 先移除 HEX 颜色
-        text = HEX_PATTERN_AMPERSAND.matcher(text).replaceAll("");
-        text = HEX_PATTERN_BRACKET.matcher(text).replaceAll("");
-        text = HEX_PATTERN_ANGLE.matcher(text).replaceAll("");
-        text = HEX_PATTERN_PLAIN.matcher(text).replaceAll("");
+        boolean cacheable = text.length() <= CACHE_MAX_LENGTH;
+        if (cacheable) {
+            String cached = STRIP_CACHE.get(text);
+            if (cached != null) {
+                return cached;
+            }
+        }
 
-        // 再移除传统颜色代码
-        text = ChatColor.stripColor(ChatColor.translateAlternateColorCodes('&', text));
+        int length = text.length();
+        StringBuilder builder = new StringBuilder(length);
 
-        return text;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int hexLength = hexColorLength(text, i);
+
+            if (hexLength > 0) {
+                i += hexLength - 1;
+            } else if (c == '#' && isHex(text, i + 1)) {
+                // 同时移除不带前缀的 #RRGGBB
+                i += 6;
+            } else if ((c == '&' || c == COLOR_CHAR) && i + 1 < length
+                    && LEGACY_CODES.indexOf(text.charAt(i + 1)) >= 0) {
+                i++;
+            } else {
+                builder.append(c);
+            }
+        }
+
+        String result = builder.toString();
+        if (cacheable) {
+            put(STRIP_CACHE, text, result);
+        }
+        return result;
+    }
+
+    /**
+     * 写入缓存，超过上限时先清空
+     *
+     * @param cache 缓存
+     * @param key   原文本
+     * @param value 转换结果
+     */
+    private static void put(Map<String, String> cache, String key, String value) {
+        if (cache.size() >= CACHE_MAX_ENTRIES) {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+
+    /**
+     * 清空颜色转换缓存
+     * 重载配置后调用，释放旧配置文本占用的缓存
+     */
+    public static void clearCache() {
+        COLORIZE_CACHE.clear();
+        STRIP_CACHE.clear();
     }
 
     /**
@@ -136,36 +268,132 @@ public class ColorUtil {
         int[] startRGB = hexToRGB(startHex);
         int[] endRGB = hexToRGB(endHex);
 
-        StringBuilder result = new StringBuilder();
         int length = text.length();
+        StringBuilder result = new StringBuilder(length * 15);
 
         for (int i = 0; i < length; i++) {
             char c = text.charAt(i);
 
             // 计算当前位置的颜色
-            double ratio = (double) i / (length - 1);
+            double ratio = length > 1 ? (double) i / (length - 1) : 0;
             int r = (int) (startRGB[0] + (endRGB[0] - startRGB[0]) * ratio);
             int g = (int) (startRGB[1] + (endRGB[1] - startRGB[1]) * ratio);
             int b = (int) (startRGB[2] + (endRGB[2] - startRGB[2]) * ratio);
 
-            String hexColor = String.format("%02X%02X%02X", r, g, b);
-            result.append(translateHexCode(hexColor)).append(c);
+            appendHex(result, (r << 16) | (g << 8) | b);
+            result.append(c);
         }
 
         return result.toString();
     }
 
+    /**
+     * 预先计算渐变流动动画的所有帧
+     * 先构建一张首尾相接的调色表（每项是已转换好的颜色代码），每一帧只按下标取表拼接，不再逐字符计算颜色
+     *
+     * @param text   文本（其中的颜色代码会被移除）
+     * @param colors 渐变经过的颜色 (如 "FFD700")，至少 1 个
+     * @param style  附加在每个颜色后的格式代码 (如 "&l")，可为空
+     * @param steps  帧数，也是调色表长度
+     * @return 每一帧的文本
+     */
+    public static String[] gradientFrames(String text, List<String> colors, String style, int steps) {
+        int[] stops = new int[colors.size() + 1];
+        for (int i = 0; i < colors.size(); i++) {
+            int[] rgb = hexToRGB(colors.get(i));
+            stops[i] = (rgb[0] << 16) | (rgb[1] << 8) | rgb[2];
+        }
+        // 回到第一个颜色，使动画首尾衔接
+        stops[colors.size()] = stops[0];
+
+        String[] palette = new String[steps];
+        int segments = stops.length - 1;
+        for (int i = 0; i < steps; i++) {
+            double position = (double) i * segments / steps;
+            int segment = Math.min((int) position, segments - 1);
+            palette[i] = hexColor(mix(stops[segment], stops[segment + 1], position - segment));
+        }
+        return sweep(text, palette, style);
+    }
+
+    /**
+     * 预先计算彩虹流动动画的所有帧
+     *
+     * @param text  文本（其中的颜色代码会被移除）
+     * @param style 附加在每个颜色后的格式代码 (如 "&l")，可为空
+     * @param steps 帧数，也是调色表长度
+     * @return 每一帧的文本
+     */
+    public static String[] rainbowFrames(String text, String style, int steps) {
+        String[] palette = new String[steps];
+        for (int i = 0; i < steps; i++) {
+            palette[i] = hexColor(Color.HSBtoRGB((float) i / steps, 1.0f, 1.0f) & 0xFFFFFF);
+        }
+        return sweep(text, palette, style);
+    }
+
+    /**
+     * 用调色表生成流动动画：第 f 帧第 i 个字符使用 palette[(i - f) mod n]，颜色逐帧向右移动
+     *
+     * @param text    文本
+     * @param palette 调色表
+     * @param style   格式代码
+     * @return 每一帧的文本
+     */
+    private static String[] sweep(String text, String[] palette, String style) {
+        String plain = stripColors(text);
+        String format = style == null || style.isEmpty() ? "" : colorize(style);
+        if (!format.isEmpty()) {
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = palette[i] + format;
+            }
+        }
+
+        int steps = palette.length;
+        String[] frames = new String[steps];
+        for (int frame = 0; frame < steps; frame++) {
+            StringBuilder builder = new StringBuilder(plain.length() * (15 + format.length()));
+            int index = 0;
+            for (int i = 0; i < plain.length(); i++) {
+                char c = plain.charAt(i);
+                if (c != ' ') {
+                    builder.append(palette[Math.floorMod(index - frame, steps)]);
+                    index++;
+                }
+                builder.append(c);
+            }
+            frames[frame] = builder.toString();
+        }
+        return frames;
+    }
+
+    /**
+     * 线性混合两个颜色
+     *
+     * @param from  起始颜色
+     * @param to    结束颜色
+     * @param ratio 比例 (0-1)
+     * @return 混合后的颜色
+     */
+    private static int mix(int from, int to, double ratio) {
+        int r = (int) (((from >> 16) & 0xFF) + (((to >> 16) & 0xFF) - ((from >> 16) & 0xFF)) * ratio);
+        int g = (int) (((from >> 8) & 0xFF) + (((to >> 8) & 0xFF) - ((from >> 8) & 0xFF)) * ratio);
+        int b = (int) ((from & 0xFF) + ((to & 0xFF) - (from & 0xFF)) * ratio);
+        return (r << 16) | (g << 8) | b;
+    }
+
     /**
      * 将 HEX 代码转换为 RGB 数组
      *
-     * @param hex HEX 代码 (不含 #)
+     * @param hex HEX 代码 (可带 #)
      * @return RGB 数组 [R, G, B]
      */
     private static int[] hexToRGB(String hex) {
+        int start = hex.startsWith("#") ? 1 : 0;
         return new int[]{
-                Integer.parseInt(hex.substring(0, 2), 16),
-                Integer.parseInt(hex.substring(2, 4), 16),
-                Integer.parseInt(hex.substring(4, 6), 16)
+                Integer.parseInt(hex.substring(start, start + 2), 16),
+                Integer.parseInt(hex.substring(start + 2, start + 4), 16),
+                Integer.parseInt(hex.substring(start + 4, start + 6), 16)
         };
     }
 
@@ -180,13 +408,13 @@ public class ColorUtil {
             return text;
         }
 
-        String[] rainbowColors = {"FF0000", "FF7F00", "FFFF00", "00FF00", "0000FF", "4B0082", "9400D3"};
-        StringBuilder result = new StringBuilder();
+        StringBuilder result = new StringBuilder(text.length() * 15);
         int colorIndex = 0;
 
-        for (char c : text.toCharArray()) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
             if (c != ' ') {
-                result.append(translateHexCode(rainbowColors[colorIndex % rainbowColors.length]));
+                result.append(RAINBOW_CODES[colorIndex % RAINBOW_CODES.length]);
                 colorIndex++;
             }
             result.append(c);
@@ -0,0 +1,173 @@
+package com.hxstar.fixeditem.util;
+
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * 日志文件后台线程
+ * 由主线程写入环形缓冲区，后台线程批量取出记录写入滚动日志文件：
+ * - 缓冲区追平后刷新一次文件，缓冲区为空时休眠一段时间
+ * - 有记录因缓冲区已满被丢弃时交给丢弃处理器说明
+ * - 停止后写完剩余记录再关闭文件
+ *
+ * @param <T> 记录类型
+ */
+public class LogFileWorker<T> {
+
+    // 停止时等待后台线程写完剩余记录的最长时间（毫秒）
+    private static final long STOP_TIMEOUT_MILLIS = 5000L;
+
+    private final String threadName;
+    private final String logName;
+    private final Logger logger;
+    private final int batchSize;
+    private final long idleParkNanos;
+    private final RecordWriter<T> recordWriter;
+    private final DropHandler dropHandler;
+
+    private Thread thread;
+    private volatile boolean running;
+
+    /**
+     * @param threadName    后台线程名称
+     * @param logName       日志名称（用于错误提示，如 "审计日志"）
+     * @param logger        日志
+     * @param batchSize     每批最多写入的记录数
+     * @param idleParkNanos 缓冲区为空时的等待时间（纳秒）
+     * @param recordWriter  记录的格式化与写入
+     * @param dropHandler   丢弃记录的处理，不需要时为null
+     */
+    public LogFileWorker(String threadName, String logName, Logger logger, int batchSize, long idleParkNanos,
+                         RecordWriter<T> recordWriter, DropHandler dropHandler) {
+        this.threadName = threadName;
+        this.logName = logName;
+        this.logger = logger;
+        this.batchSize = batchSize;
+        this.idleParkNanos = idleParkNanos;
+        this.recordWriter = recordWriter;
+        this.dropHandler = dropHandler;
+    }
+
+    /**
+     * 启动后台线程（已在运行时先停止）
+     *
+     * @param source 记录来源
+     * @param writer 日志文件，由后台线程负责关闭
+     */
+    public void start(RingBuffer<T> source, RotatingFileWriter writer) {
+        stop();
+        running = true;
+        thread = new Thread(() -> drainLoop(source, writer), threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 停止后台线程，并等待其写完缓冲区中剩余的记录
+     */
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    private void drainLoop(RingBuffer<T> source, RotatingFileWriter writer) {
+        StringBuilder line = new StringBuilder(256);
+        long reportedDropped = 0L;
+        boolean dirty = false;
+        try {
+            while (running) {
+                int written = source.drain(record -> write(writer, line, record), batchSize);
+                reportedDropped = reportDropped(writer, source, reportedDropped);
+                if (written > 0) {
+                    dirty = true;
+                }
+                // 缓冲区追平后刷新，持续写满整批时交给 BufferedWriter 自行刷新
+                if (written < batchSize && dirty) {
+                    flush(writer);
+                    dirty = false;
+                }
+                if (written == 0) {
+                    LockSupport.parkNanos(idleParkNanos);
+                }
+            }
+            while (source.drain(record -> write(writer, line, record), batchSize) > 0) {
+                // 写完剩余记录
+            }
+            reportDropped(writer, source, reportedDropped);
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warning("关闭" + logName + "文件失败: " + e.getMessage());
+            }
+        }
+    }
+
+    private long reportDropped(RotatingFileWriter writer, RingBuffer<T> source, long reported) {
+        long dropped = source.getDropped();
+        if (dropHandler == null || dropped == reported) {
+            return dropped;
+        }
+        try {
+            dropHandler.onDropped(writer, dropped - reported);
+        } catch (IOException e) {
+            logger.warning("写入" + logName + "失败: " + e.getMessage());
+        }
+        return dropped;
+    }
+
+    private void flush(RotatingFileWriter writer) {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            logger.warning("写入" + logName + "失败: " + e.getMessage());
+        }
+    }
+
+    private void write(RotatingFileWriter writer, StringBuilder line, T record) {
+        line.setLength(0);
+        try {
+            recordWriter.write(writer, line, record);
+        } catch (IOException e) {
+            logger.warning("写入" + logName + "失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 记录的格式化与写入（在后台线程中调用）
+     *
+     * @param <T> 记录类型
+     */
+    @FunctionalInterface
+    public interface RecordWriter<T> {
+
+        /**
+         * @param writer 日志文件
+         * @param line   已清空的可复用缓冲
+         * @param record 记录
+         */
+        void write(RotatingFileWriter writer, StringBuilder line, T record) throws IOException;
+    }
+
+    /**
+     * 记录因缓冲区已满被丢弃时的处理（在后台线程中调用）
+     */
+    @FunctionalInterface
+    public interface DropHandler {
+
+        /**
+         * @param writer 日志文件
+         * @param count  自上次处理以来新丢弃的记录数
+         */
+        void onDropped(RotatingFileWriter writer, long count) throws IOException;
+    }
+}
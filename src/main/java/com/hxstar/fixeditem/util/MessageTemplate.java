@@ -0,0 +1,155 @@
+package com.hxstar.fixeditem.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译消息模板
+ * 在加载时把消息拆分为 文本片段 + 占位符槽位，渲染时只需一次 StringBuilder 拼接
+ * 占位符格式: {name}，name 仅由字母、数字、- 和 _ 组成
+ */
+public final class MessageTemplate {
+
+    private static final String[] NO_PLACEHOLDERS = new String[0];
+
+    // 原始文本
+    private final String source;
+
+    // 文本片段，长度为 placeholders.length + 1
+    private final String[] segments;
+
+    // 占位符（含大括号），如 {player}
+    private final String[] placeholders;
+
+    // 所有文本片段的总长度，用于预估渲染结果长度
+    private final int literalLength;
+
+    private MessageTemplate(String source, String[] segments, String[] placeholders) {
+        this.source = source;
+        this.segments = segments;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 编译模板
+     *
+     * @param text 已着色的消息文本
+     * @return 编译后的模板
+     */
+    public static MessageTemplate compile(String text) {
+        if (text == null) {
+            text = "";
+        }
+
+        List<String> segmentList = null;
+        List<String> placeholderList = null;
+        int segmentStart = 0;
+        int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) != '{') {
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < length && isNameChar(text.charAt(end))) {
+                end++;
+            }
+            if (end == i + 1 || end >= length || text.charAt(end) != '}') {
+                continue;
+            }
+
+            if (segmentList == null) {
+                segmentList = new ArrayList<>();
+                placeholderList = new ArrayList<>();
+            }
+            segmentList.add(text.substring(segmentStart, i));
+            placeholderList.add(text.substring(i, end + 1));
+            segmentStart = end + 1;
+            i = end;
+        }
+
+        if (segmentList == null) {
+            return new MessageTemplate(text, new String[]{text}, NO_PLACEHOLDERS);
+        }
+
+        segmentList.add(text.substring(segmentStart));
+        return new MessageTemplate(text, segmentList.toArray(new String[0]), placeholderList.toArray(new String[0]));
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
+    /**
+     * 渲染模板
+     *
+     * @param replacements 占位符和值的交替数组 (placeholder1, value1, placeholder2, value2, ...)
+     * @return 渲染后的消息，未提供值的占位符保持原样
+     */
+    public String render(String... replacements) {
+        if (placeholders.length == 0 || replacements == null || replacements.length < 2) {
+            return source;
+        }
+
+        StringBuilder builder = new StringBuilder(literalLength + placeholders.length * 16);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(segments[i]);
+            builder.append(lookup(placeholders[i], replacements));
+        }
+        builder.append(segments[placeholders.length]);
+        return builder.toString();
+    }
+
+    /**
+     * 使用映射渲染模板
+     *
+     * @param values 占位符映射 (占位符 -> 值)
+     * @return 渲染后的消息
+     */
+    public String render(Map<String, String> values) {
+        if (placeholders.length == 0 || values == null) {
+            return source;
+        }
+
+        StringBuilder builder = new StringBuilder(literalLength + placeholders.length * 16);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(segments[i]);
+            builder.append(values.getOrDefault(placeholders[i], placeholders[i]));
+        }
+        builder.append(segments[placeholders.length]);
+        return builder.toString();
+    }
+
+    private static String lookup(String placeholder, String[] replacements) {
+        if (replacements != null) {
+            for (int i = 0; i < replacements.length - 1; i += 2) {
+                if (placeholder.equals(replacements[i])) {
+                    return replacements[i + 1];
+                }
+            }
+        }
+        return placeholder;
+    }
+
+    /**
+     * 是否包含占位符
+     */
+    public boolean hasPlaceholders() {
+        return placeholders.length > 0;
+    }
+
+    /**
+     * 返回未替换占位符的原始文本
+     */
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,80 @@
+package com.hxstar.fixeditem.util;
+
+/**
+ * 数字格式化工具类
+ * 用于热点路径上替代 String.format
+ */
+public class NumberUtil {
+
+    /**
+     * 将毫秒格式化为保留一位小数的秒数（四舍五入）
+     * 等价于 String.format("%.1f", millis / 1000.0)，但不解析格式串、不受系统区域影响
+     *
+     * @param millis 毫秒
+     * @return 如 "1.5"
+     */
+    public static String formatSeconds(long millis) {
+        boolean negative = millis < 0;
+        long tenths = (Math.abs(millis) + 50) / 100;
+
+        StringBuilder builder = new StringBuilder(8);
+        if (negative && tenths != 0) {
+            builder.append('-');
+        }
+        builder.append(tenths / 10).append('.').append((char) ('0' + tenths % 10));
+        return builder.toString();
+    }
+
+    /**
+     * 将纳秒格式化为便于阅读的耗时
+     *
+     * @param nanos 纳秒
+     * @return 如 "850ns"、"12.3µs"、"4.56ms"
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000L) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000L) {
+            return formatFixed(nanos, 100L, 1) + "µs";
+        }
+        return formatFixed(nanos / 1_000L, 10L, 2) + "ms";
+    }
+
+    /**
+     * 将字节数格式化为便于阅读的大小
+     *
+     * @param bytes 字节数
+     * @return 如 "512B"、"3.4KB"、"1.25MB"
+     */
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024L) {
+            return bytes + "B";
+        }
+        if (bytes < 1024L * 1024L) {
+            return formatFixed(bytes * 1000L / 1024L, 100L, 1) + "KB";
+        }
+        return formatFixed(bytes * 1000L / (1024L * 1024L), 10L, 2) + "MB";
+    }
+
+    /**
+     * 将以千分之一为单位的非负数格式化为指定小数位数（四舍五入）
+     *
+     * @param thousandths 千分之一单位的数值
+     * @param divisor     对应小数位数的除数（1 位小数为 100，2 位小数为 10）
+     * @param decimals    小数位数
+     */
+    private static String formatFixed(long thousandths, long divisor, int decimals) {
+        long scaled = (thousandths + divisor / 2) / divisor;
+        long unit = decimals == 1 ? 10L : 100L;
+
+        StringBuilder builder = new StringBuilder(10);
+        builder.append(scaled / unit).append('.');
+        long fraction = scaled % unit;
+        if (decimals == 2 && fraction < 10) {
+            builder.append('0');
+        }
+        builder.append(fraction);
+        return builder.toString();
+    }
+}
@@ -1,21 +1,39 @@
 package com.hxstar.fixeditem.util;
 
+import com.hxstar.fixeditem.manager.MetricsManager;
+import com.hxstar.fixeditem.manager.MetricsManager.Metric;
+import com.hxstar.fixeditem.manager.PlaceholderCache;
 import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 
+import java.util.UUID;
+
 /**
  * PlaceholderAPI 工具类
  * 处理占位符解析
+ * 主线程中在线玩家文本里的每个 %占位符% 单独解析，结果按玩家缓存，同一占位符在有效期内只调用一次 PlaceholderAPI
  */
 public class PlaceholderUtil {
 
     private static boolean papiEnabled = false;
 
+    // 性能统计（记录 PlaceholderAPI 调用次数与耗时）
+    private static MetricsManager metricsManager;
+
+    // 占位符缓存
+    private static PlaceholderCache placeholderCache;
+
     /**
      * 初始化 - 检查 PlaceholderAPI 是否可用
+     *
+     * @param metrics 性能统计管理器
+     * @param cache   占位符缓存
      */
-    public static void init() {
+    public static void init(MetricsManager metrics, PlaceholderCache cache) {
+        metricsManager = metrics;
+        placeholderCache = cache;
         papiEnabled = Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null;
         if (papiEnabled) {
             Bukkit.getLogger().info("[HxFixedItem] 已检测到 PlaceholderAPI，占位符功能已启用");
@@ -31,20 +49,113 @@ public class PlaceholderUtil {
 
     /**
      * 解析占位符
+     * 可传入在线玩家，也可在异步预加载阶段传入离线玩家
      *
      * @param player 玩家
      * @param text   要解析的文本
      * @return 解析后的文本
      */
-    public static String parsePlaceholders(Player player, String text) {
+    public static String parsePlaceholders(OfflinePlayer player, String text) {
         if (text == null || text.isEmpty()) {
             return text;
         }
 
-        if (papiEnabled && player != null) {
-            return PlaceholderAPI.setPlaceholders(player, text);
+        if (papiEnabled && player != null && text.indexOf('%') >= 0) {
+            PlaceholderCache cache = placeholderCache;
+            // 缓存供主线程的在线玩家共用，异步线程或离线玩家的解析结果不可靠，不读写缓存
+            if (cache == null || !(player instanceof Player) || !Bukkit.isPrimaryThread()) {
+                return setPlaceholders(player, text);
+            }
+            return parseCached(cache, player, text);
         }
 
         return text;
     }
+
+    /**
+     * 逐个解析文本中的占位符，优先使用缓存
+     * 占位符格式与 PlaceholderAPI 一致: %扩展标识_参数%，不含空格
+     */
+    private static String parseCached(PlaceholderCache cache, OfflinePlayer player, String text) {
+        UUID playerId = player.getUniqueId();
+        StringBuilder builder = new StringBuilder(text.length() + 16);
+        int length = text.length();
+        int index = 0;
+
+        while (index < length) {
+            int open = text.indexOf('%', index);
+            int close = open < 0 ? -1 : text.indexOf('%', open + 1);
+            if (close < 0) {
+                builder.append(text, index, length);
+                break;
+            }
+
+            String token = text.substring(open + 1, close);
+            if (!isToken(token)) {
+                // 不是占位符，保留第一个 %，从第二个 % 开始继续查找
+                builder.append(text, index, close);
+                index = close;
+                continue;
+            }
+
+            builder.append(text, index, open);
+            String value = cache.get(playerId, token);
+            if (value == null) {
+                value = setPlaceholders(player, text.substring(open, close + 1));
+                cache.put(playerId, token, value);
+            }
+            builder.append(value);
+            index = close + 1;
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * 检查是否为合法的占位符名称（含下划线且不含空白）
+     */
+    private static boolean isToken(String token) {
+        if (token.indexOf('_') <= 0) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (Character.isWhitespace(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 调用 PlaceholderAPI 解析并记录耗时
+     */
+    private static String setPlaceholders(OfflinePlayer player, String text) {
+        MetricsManager metrics = metricsManager;
+        if (metrics == null) {
+            return PlaceholderAPI.setPlaceholders(player, text);
+        }
+        long start = metrics.start(Metric.PLACEHOLDER);
+        try {
+            return PlaceholderAPI.setPlaceholders(player, text);
+        } finally {
+            metrics.stop(Metric.PLACEHOLDER, start);
+        }
+    }
+
+    /**
+     * 替换内置占位符: {player}, {uuid}, {world}, {x}, {y}, {z}
+     *
+     * @param player 玩家
+     * @param text   要处理的文本
+     * @return 处理后的文本
+     */
+    public static String applyBuiltinPlaceholders(Player player, String text) {
+        return text
+                .replace("{player}", player.getName())
+                .replace("{uuid}", player.getUniqueId().toString())
+                .replace("{world}", player.getWorld().getName())
+                .replace("{x}", String.valueOf(player.getLocation().getBlockX()))
+                .replace("{y}", String.valueOf(player.getLocation().getBlockY()))
+                .replace("{z}", String.valueOf(player.getLocation().getBlockZ()));
+    }
 }
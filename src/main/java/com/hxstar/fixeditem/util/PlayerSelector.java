@@ -0,0 +1,129 @@
+package com.hxstar.fixeditem.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 玩家选择器
+ * 用于批量命令选择目标玩家:
+ * - @a                                   所有在线玩家
+ * - @world:<世界>                         指定世界中的玩家
+ * - @perm:<权限>                          拥有指定权限的玩家
+ * - @region:<世界>,<x1>,<y1>,<z1>,<x2>,<y2>,<z2>  指定长方体区域内的玩家
+ */
+public class PlayerSelector {
+
+    /**
+     * 选择器的补全建议
+     */
+    public static final List<String> SUGGESTIONS = List.of("@a", "@world:", "@perm:", "@region:");
+
+    /**
+     * 检查参数是否为选择器
+     *
+     * @param argument 命令参数
+     * @return 以 @ 开头时返回true
+     */
+    public static boolean isSelector(String argument) {
+        return argument != null && argument.startsWith("@");
+    }
+
+    /**
+     * 按选择器筛选在线玩家
+     *
+     * @param selector 选择器
+     * @return 匹配的玩家
+     * @throws IllegalArgumentException 选择器格式无效或世界不存在
+     */
+    public static List<Player> select(String selector) {
+        String type = selector;
+        String value = "";
+        int separator = selector.indexOf(':');
+        if (separator > 0) {
+            type = selector.substring(0, separator);
+            value = selector.substring(separator + 1);
+        }
+
+        List<Player> players = new ArrayList<>();
+        switch (type.toLowerCase()) {
+            case "@a":
+                players.addAll(Bukkit.getOnlinePlayers());
+                break;
+            case "@world":
+                World world = requireWorld(value);
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    if (player.getWorld().equals(world)) {
+                        players.add(player);
+                    }
+                }
+                break;
+            case "@perm":
+                if (value.isEmpty()) {
+                    throw new IllegalArgumentException("缺少权限节点");
+                }
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    if (player.hasPermission(value)) {
+                        players.add(player);
+                    }
+                }
+                break;
+            case "@region":
+                selectRegion(value, players);
+                break;
+            default:
+                throw new IllegalArgumentException("未知的选择器: " + type);
+        }
+        return players;
+    }
+
+    /**
+     * 选择长方体区域内的玩家
+     */
+    private static void selectRegion(String value, List<Player> players) {
+        String[] parts = value.split(",");
+        if (parts.length != 7) {
+            throw new IllegalArgumentException("区域格式应为 <世界>,<x1>,<y1>,<z1>,<x2>,<y2>,<z2>");
+        }
+        World world = requireWorld(parts[0]);
+
+        double[] coordinates = new double[6];
+        for (int i = 0; i < 6; i++) {
+            try {
+                coordinates[i] = Double.parseDouble(parts[i + 1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("无效的坐标: " + parts[i + 1]);
+            }
+        }
+        double minX = Math.min(coordinates[0], coordinates[3]);
+        double minY = Math.min(coordinates[1], coordinates[4]);
+        double minZ = Math.min(coordinates[2], coordinates[5]);
+        double maxX = Math.max(coordinates[0], coordinates[3]) + 1;
+        double maxY = Math.max(coordinates[1], coordinates[4]) + 1;
+        double maxZ = Math.max(coordinates[2], coordinates[5]) + 1;
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (!player.getWorld().equals(world)) {
+                continue;
+            }
+            Location location = player.getLocation();
+            if (location.getX() >= minX && location.getX() < maxX
+                    && location.getY() >= minY && location.getY() < maxY
+                    && location.getZ() >= minZ && location.getZ() < maxZ) {
+                players.add(player);
+            }
+        }
+    }
+
+    private static World requireWorld(String name) {
+        World world = name.isEmpty() ? null : Bukkit.getWorld(name.trim());
+        if (world == null) {
+            throw new IllegalArgumentException("世界不存在: " + name);
+        }
+        return world;
+    }
+}
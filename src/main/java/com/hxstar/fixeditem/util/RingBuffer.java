@@ -0,0 +1,125 @@
+package com.hxstar.fixeditem.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 有界无锁环形缓冲区（多生产者、单消费者）
+ * 生产者通过一次 CAS 占位后写入，不会阻塞；缓冲区满时直接丢弃并计数。
+ * {@link #poll()} 与 {@link #drain(Consumer, int)} 只能由同一个消费线程调用
+ *
+ * @param <E> 元素类型
+ */
+public class RingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+
+    // 每个位置的序号：等于写入位置时可写，等于写入位置+1时可读
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    // 读取位置（仅消费线程访问）
+    private long head;
+
+    /**
+     * @param requestedCapacity 期望容量，会向上取整为 2 的幂
+     */
+    public RingBuffer(int requestedCapacity) {
+        int size = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 写入元素（任意线程）
+     *
+     * @return 是否写入成功，缓冲区已满时返回false
+     */
+    public boolean offer(E element) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                dropped.increment();
+                return false;
+            }
+        }
+
+        elements.lazySet(index, element);
+        sequences.set(index, position + 1);
+        return true;
+    }
+
+    /**
+     * 取出元素（仅消费线程）
+     *
+     * @return 元素，缓冲区为空时返回null
+     */
+    public E poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.set(index, head + capacity);
+        head++;
+        return element;
+    }
+
+    /**
+     * 批量取出元素（仅消费线程）
+     *
+     * @param consumer 处理函数
+     * @param limit    最多取出的数量
+     * @return 实际取出的数量
+     */
+    public int drain(Consumer<E> consumer, int limit) {
+        int count = 0;
+        E element;
+        while (count < limit && (element = poll()) != null) {
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 获取当前积压的数量（近似值）
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 获取因缓冲区已满而被丢弃的数量
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+}
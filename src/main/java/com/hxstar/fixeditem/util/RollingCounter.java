@@ -0,0 +1,66 @@
+package com.hxstar.fixeditem.util;
+
+/**
+ * 滚动计数器
+ * 按秒分桶统计最近 60 秒的计数，用于计算每秒速率
+ */
+public class RollingCounter {
+
+    private static final int WINDOW_SECONDS = 60;
+
+    private final long[] buckets = new long[WINDOW_SECONDS];
+    private long currentSecond;
+    private long total;
+
+    /**
+     * 增加计数
+     *
+     * @param amount 数量
+     */
+    public synchronized void add(long amount) {
+        advance(System.currentTimeMillis() / 1000L);
+        buckets[(int) (currentSecond % WINDOW_SECONDS)] += amount;
+        total += amount;
+    }
+
+    /**
+     * 获取上一个完整秒的计数
+     */
+    public synchronized long getLastSecond() {
+        advance(System.currentTimeMillis() / 1000L);
+        return buckets[(int) ((currentSecond + WINDOW_SECONDS - 1) % WINDOW_SECONDS)];
+    }
+
+    /**
+     * 获取最近 60 秒的平均每秒计数
+     */
+    public synchronized double getAveragePerSecond() {
+        advance(System.currentTimeMillis() / 1000L);
+        long sum = 0;
+        for (long bucket : buckets) {
+            sum += bucket;
+        }
+        return sum / (double) WINDOW_SECONDS;
+    }
+
+    /**
+     * 获取累计计数
+     */
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * 清空已经滑出窗口的分桶
+     */
+    private void advance(long second) {
+        if (second <= currentSecond) {
+            return;
+        }
+        long gap = Math.min(second - currentSecond, WINDOW_SECONDS);
+        for (long i = 1; i <= gap; i++) {
+            buckets[(int) ((currentSecond + i) % WINDOW_SECONDS)] = 0;
+        }
+        currentSecond = second;
+    }
+}
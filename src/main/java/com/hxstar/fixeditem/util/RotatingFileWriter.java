@@ -0,0 +1,153 @@
+package com.hxstar.fixeditem.util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 按大小与时间滚动的文本文件写入器
+ * 当前文件超过大小上限或跨过时间周期后依次重命名为 name.1、name.2 …，超出保留数量的旧文件会被删除。
+ * 开启压缩时滚动出的文件会压缩为 name.1.gz、name.2.gz …
+ * 非线程安全，应只由一个后台线程使用
+ */
+public class RotatingFileWriter {
+
+    private final File file;
+    private final long maxBytes;
+    private final int maxFiles;
+    private final long intervalMillis;
+    private final boolean compress;
+
+    // 时间周期按本地时区对齐（例如按天滚动时在零点切换）
+    private final long zoneOffsetMillis;
+
+    private BufferedWriter writer;
+    private long size;
+    private long period;
+
+    /**
+     * @param file     当前写入的文件
+     * @param maxBytes 单个文件的大小上限（字节），0 表示不滚动
+     * @param maxFiles 保留的历史文件数量
+     */
+    public RotatingFileWriter(File file, long maxBytes, int maxFiles) {
+        this(file, maxBytes, maxFiles, 0L, false);
+    }
+
+    /**
+     * @param file           当前写入的文件
+     * @param maxBytes       单个文件的大小上限（字节），0 表示不按大小滚动
+     * @param maxFiles       保留的历史文件数量
+     * @param intervalMillis 滚动周期（毫秒），0 表示不按时间滚动
+     * @param compress       是否压缩滚动出的文件
+     */
+    public RotatingFileWriter(File file, long maxBytes, int maxFiles, long intervalMillis, boolean compress) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.maxFiles = Math.max(0, maxFiles);
+        this.intervalMillis = Math.max(0L, intervalMillis);
+        this.compress = compress;
+        this.zoneOffsetMillis = ZoneId.systemDefault().getRules()
+                .getOffset(Instant.now()).getTotalSeconds() * 1000L;
+    }
+
+    /**
+     * 写入一行文本
+     */
+    public void writeLine(String line) throws IOException {
+        if (writer == null) {
+            open();
+        }
+
+        long bytes = line.getBytes(StandardCharsets.UTF_8).length + 1L;
+        if (size > 0 && ((maxBytes > 0 && size + bytes > maxBytes)
+                || (intervalMillis > 0 && periodOf(System.currentTimeMillis()) != period))) {
+            rotate();
+        }
+
+        writer.write(line);
+        writer.write('\n');
+        size += bytes;
+    }
+
+    public void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void open() throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        size = file.exists() ? file.length() : 0L;
+        // 已有内容的文件按最后修改时间归属周期，插件重启后也能在跨周期时滚动
+        period = periodOf(size > 0 ? file.lastModified() : System.currentTimeMillis());
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 滚动文件：name -> name.1 -> name.2 …
+     */
+    private void rotate() throws IOException {
+        close();
+
+        if (maxFiles == 0) {
+            Files.deleteIfExists(file.toPath());
+        } else {
+            Files.deleteIfExists(archive(maxFiles).toPath());
+            for (int i = maxFiles - 1; i >= 1; i--) {
+                File source = archive(i);
+                if (source.exists()) {
+                    Files.move(source.toPath(), archive(i + 1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (compress) {
+                gzip(file, archive(1));
+                Files.delete(file.toPath());
+            } else {
+                Files.move(file.toPath(), archive(1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        open();
+    }
+
+    private File archive(int index) {
+        return new File(file.getParentFile(), file.getName() + "." + index + (compress ? ".gz" : ""));
+    }
+
+    private long periodOf(long time) {
+        return intervalMillis > 0 ? Math.floorDiv(time + zoneOffsetMillis, intervalMillis) : 0L;
+    }
+
+    /**
+     * 压缩文件，先写入临时文件再重命名，避免中断时留下不完整的压缩文件
+     */
+    private static void gzip(File source, File target) throws IOException {
+        File temp = new File(target.getPath() + ".tmp");
+        try (InputStream in = Files.newInputStream(source.toPath());
+             OutputStream out = new GZIPOutputStream(new FileOutputStream(temp), 65536)) {
+            in.transferTo(out);
+        }
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,130 @@
+package com.hxstar.fixeditem.util;
+
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.InventoryView;
+
+/**
+ * 槽位映射工具类
+ * 预先计算每种界面布局下 原始槽位(rawSlot) -> 玩家背包槽位 的映射表
+ *
+ * 玩家背包槽位编号:
+ * - 0-8   快捷栏
+ * - 9-35  主背包
+ * - 36-39 盔甲栏 (36 靴子, 37 护腿, 38 胸甲, 39 头盔)
+ * - 40    副手
+ */
+public class SlotMapper {
+
+    /**
+     * 玩家背包槽位总数（含盔甲栏与副手）
+     */
+    public static final int PLAYER_SLOTS = 41;
+
+    /**
+     * 主背包与快捷栏槽位数（0-35，不含盔甲栏与副手）
+     */
+    public static final int STORAGE_SLOTS = 36;
+
+    /**
+     * 副手槽位
+     */
+    public static final int OFF_HAND_SLOT = 40;
+
+    // 容器界面上方容器的最大格数（大箱子为 54）
+    private static final int MAX_TOP_SIZE = 63;
+
+    // 玩家自身背包界面（含 2x2 合成、盔甲栏、副手）
+    private static final int[] CRAFTING_TABLE = buildCraftingTable();
+
+    // 其他界面：上方容器 + 27 格主背包 + 9 格快捷栏，按上方容器大小索引
+    private static final int[][] CONTAINER_TABLES = buildContainerTables();
+
+    private static final int[] EMPTY_TABLE = new int[0];
+
+    /**
+     * 获取界面对应的映射表，每个事件只需调用一次
+     *
+     * @param view 界面
+     * @return 映射表，下标为原始槽位，值为玩家背包槽位（-1 表示不属于玩家背包）
+     */
+    public static int[] getTable(InventoryView view) {
+        if (view == null) {
+            return EMPTY_TABLE;
+        }
+
+        InventoryType type = view.getType();
+        if (type == InventoryType.CRAFTING || type == InventoryType.CREATIVE) {
+            return CRAFTING_TABLE;
+        }
+
+        int topSize = view.getTopInventory() != null ? view.getTopInventory().getSize() : 0;
+        if (topSize < 0 || topSize > MAX_TOP_SIZE) {
+            return EMPTY_TABLE;
+        }
+        return CONTAINER_TABLES[topSize];
+    }
+
+    /**
+     * 使用映射表转换原始槽位
+     *
+     * @param table   {@link #getTable(InventoryView)} 返回的映射表
+     * @param rawSlot 原始槽位
+     * @return 玩家背包槽位，-1 表示不属于玩家背包
+     */
+    public static int toPlayerSlot(int[] table, int rawSlot) {
+        if (rawSlot < 0 || rawSlot >= table.length) {
+            return -1;
+        }
+        return table[rawSlot];
+    }
+
+    /**
+     * 检查槽位是否为有效的玩家背包槽位
+     */
+    public static boolean isValidPlayerSlot(int slot) {
+        return slot >= 0 && slot < PLAYER_SLOTS;
+    }
+
+    /**
+     * 构建玩家自身背包界面的映射表
+     * 原始槽位: 0 合成结果, 1-4 合成格, 5-8 盔甲(头盔->靴子), 9-35 主背包, 36-44 快捷栏, 45 副手
+     */
+    private static int[] buildCraftingTable() {
+        int[] table = new int[46];
+        for (int raw = 0; raw <= 4; raw++) {
+            table[raw] = -1;
+        }
+        for (int raw = 5; raw <= 8; raw++) {
+            table[raw] = 44 - raw; // 5 -> 39 头盔, 8 -> 36 靴子
+        }
+        for (int raw = 9; raw <= 35; raw++) {
+            table[raw] = raw;
+        }
+        for (int raw = 36; raw <= 44; raw++) {
+            table[raw] = raw - 36;
+        }
+        table[45] = OFF_HAND_SLOT;
+        return table;
+    }
+
+    /**
+     * 按上方容器大小构建所有容器界面的映射表
+     */
+    private static int[][] buildContainerTables() {
+        int[][] tables = new int[MAX_TOP_SIZE + 1][];
+        for (int topSize = 0; topSize <= MAX_TOP_SIZE; topSize++) {
+            int[] table = new int[topSize + 36];
+            for (int raw = 0; raw < topSize; raw++) {
+                table[raw] = -1; // 在上方容器中
+            }
+            for (int i = 0; i < 27; i++) {
+                table[topSize + i] = i + 9; // 主背包
+            }
+            for (int i = 0; i < 9; i++) {
+                table[topSize + 27 + i] = i; // 快捷栏
+            }
+            tables[topSize] = table;
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,118 @@
+package com.hxstar.fixeditem.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * 哈希时间轮（单线程使用，由外部每 tick 调用一次 advance）
+ * - 任务按到期 tick 放入对应的槽位（到期 tick 对槽位数取模），添加与到期均为 O(1)
+ * - 每次推进只检查当前槽位，超过一圈的任务留在槽位中等待后续轮次
+ * - 不支持移除任务，取消由任务自身标记，到期时由调用方忽略
+ *
+ * @param <T> 任务类型
+ */
+public class TimingWheel<T> {
+
+    private final Node<T>[] slots;
+    private final int mask;
+
+    // 当前 tick
+    private long tick;
+    private int size;
+
+    /**
+     * @param slotCount 槽位数量（向上取整为2的幂）
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int slotCount) {
+        int capacity = Integer.highestOneBit(Math.max(2, slotCount) - 1) << 1;
+        this.slots = (Node<T>[]) new Node[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 添加任务
+     *
+     * @param task       任务
+     * @param delayTicks 延迟（tick），小于1时按1处理
+     */
+    public void schedule(T task, long delayTicks) {
+        long deadline = tick + Math.max(1L, delayTicks);
+        int index = (int) (deadline & mask);
+        slots[index] = new Node<>(task, deadline, slots[index]);
+        size++;
+    }
+
+    /**
+     * 推进一个 tick，并按添加顺序执行当前槽位中已到期的任务
+     * 任务执行期间添加的新任务最早在下一 tick 到期
+     *
+     * @param consumer 到期任务的处理
+     * @return 到期的任务数
+     */
+    public int advance(Consumer<T> consumer) {
+        tick++;
+        if (size == 0) {
+            return 0;
+        }
+
+        int index = (int) (tick & mask);
+        // 槽位链表按添加顺序的逆序排列：到期任务反转后恢复为添加顺序，未到期任务保持原顺序
+        Node<T> expired = null;
+        Node<T> keptHead = null;
+        Node<T> keptTail = null;
+        int count = 0;
+        for (Node<T> node = slots[index]; node != null; ) {
+            Node<T> next = node.next;
+            if (node.deadline <= tick) {
+                node.next = expired;
+                expired = node;
+                count++;
+            } else {
+                node.next = null;
+                if (keptTail == null) {
+                    keptHead = node;
+                } else {
+                    keptTail.next = node;
+                }
+                keptTail = node;
+            }
+            node = next;
+        }
+        slots[index] = keptHead;
+        size -= count;
+
+        for (Node<T> node = expired; node != null; node = node.next) {
+            consumer.accept(node.task);
+        }
+        return count;
+    }
+
+    /**
+     * 清空所有任务
+     */
+    public void clear() {
+        Arrays.fill(slots, null);
+        size = 0;
+    }
+
+    /**
+     * 获取等待中的任务数
+     */
+    public int size() {
+        return size;
+    }
+
+    private static final class Node<T> {
+
+        private final T task;
+        private final long deadline;
+        private Node<T> next;
+
+        private Node(T task, long deadline, Node<T> next) {
+            this.task = task;
+            this.deadline = deadline;
+            this.next = next;
+        }
+    }
+}